@@ -0,0 +1,80 @@
+package com.banking.account;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application once per trial against an in-memory H2 database so the
+ * repository-backed paths can be measured without Postgres, Kafka or Redis.
+ * The cache and the outbox relay are off so every call reaches the repository.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApplicationState {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = startApplication();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Starts the benchmark application with additional command-line style overrides,
+     * for benchmarks that compare configurations via {@code @Param}. An override replaces
+     * the default for the same key rather than being appended to it.
+     */
+    public static ConfigurableApplicationContext startApplication(String... overrides) {
+        return startApplication(AccountServiceApplication.class, WebApplicationType.NONE, overrides);
+    }
+
+    /**
+     * Starts the given application class with the same defaults, e.g. with an embedded server
+     * for benchmarks that go through HTTP.
+     */
+    public static ConfigurableApplicationContext startApplication(Class<?> application,
+                                                                  WebApplicationType webApplicationType,
+                                                                  String... overrides) {
+        Map<String, String> args = new LinkedHashMap<>();
+        Stream.concat(Stream.of(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.liquibase.enabled=false",
+                        "--spring.kafka.bootstrap-servers=localhost:9092",
+                        "--spring.kafka.admin.auto-create=false",
+                        "--outbox.relay.enabled=false",
+                        "--account.cache.enabled=false",
+                        "--account.id.node-id=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.banking.account=WARN"),
+                        Stream.of(overrides))
+                .forEach(arg -> args.put(arg.substring(0, arg.indexOf('=')), arg));
+        return new SpringApplicationBuilder(application)
+                .web(webApplicationType)
+                .run(args.values().toArray(String[]::new));
+    }
+}
@@ -0,0 +1,113 @@
+package com.banking.account.controller;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.exception.GlobalExceptionHandler;
+import com.banking.account.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Polling an unchanged account and an unchanged customer list through the MVC stack, with
+ * and without the ETag from the previous response in If-None-Match. The 304 path runs a
+ * version-only query and writes no body; the 200 path loads, maps and serializes the
+ * accounts. Setup prints the body bytes each 304 saves. The cache is off, so both paths
+ * reach the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConditionalGetBenchmark {
+
+    private static final String CUSTOMER_ID = "CUST900001";
+
+    private ConfigurableApplicationContext application;
+    private MockMvc mockMvc;
+    private String accountId;
+    private String accountETag;
+    private String customerETag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = BenchmarkApplicationState.startApplication();
+        AccountService accountService = application.getBean(AccountService.class);
+        for (int i = 0; i < 3; i++) {
+            AccountResponse account = accountService.createAccount(CreateAccountRequest.builder()
+                    .customerId(CUSTOMER_ID)
+                    .accountType("SAVINGS")
+                    .currency("USD")
+                    .customerName("Conditional Get")
+                    .email("conditional.get" + i + "@example.com")
+                    .phoneNumber("+11234567890")
+                    .build());
+            accountId = account.getAccountId();
+        }
+        mockMvc = MockMvcBuilders.standaloneSetup(application.getBean(AccountController.class))
+                .setControllerAdvice(application.getBean(GlobalExceptionHandler.class))
+                .build();
+
+        MockHttpServletResponse account = perform(get("/api/v1/accounts/{id}", accountId));
+        MockHttpServletResponse customer = perform(get("/api/v1/accounts/customer/{id}", CUSTOMER_ID));
+        accountETag = account.getHeader(HttpHeaders.ETAG);
+        customerETag = customer.getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse accountNotModified = perform(get("/api/v1/accounts/{id}", accountId)
+                .header(HttpHeaders.IF_NONE_MATCH, accountETag));
+        MockHttpServletResponse customerNotModified = perform(get("/api/v1/accounts/customer/{id}", CUSTOMER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, customerETag));
+        if (accountNotModified.getStatus() != 304 || customerNotModified.getStatus() != 304) {
+            throw new IllegalStateException("Expected 304, got " + accountNotModified.getStatus() + " and "
+                    + customerNotModified.getStatus());
+        }
+        System.out.printf("%nBody bytes: account 200=%d 304=%d, customer (3 accounts) 200=%d 304=%d%n",
+                account.getContentAsByteArray().length, accountNotModified.getContentAsByteArray().length,
+                customer.getContentAsByteArray().length, customerNotModified.getContentAsByteArray().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getAccount() throws Exception {
+        return perform(get("/api/v1/accounts/{id}", accountId));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getAccountNotModified() throws Exception {
+        return perform(get("/api/v1/accounts/{id}", accountId).header(HttpHeaders.IF_NONE_MATCH, accountETag));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getAccountsByCustomer() throws Exception {
+        return perform(get("/api/v1/accounts/customer/{id}", CUSTOMER_ID));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getAccountsByCustomerNotModified() throws Exception {
+        return perform(get("/api/v1/accounts/customer/{id}", CUSTOMER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, customerETag));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,78 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.CreateAccountRequest;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link AccountController#createAccount} pays before reaching the service:
+ * reading the JSON body into a {@link CreateAccountRequest} and running its bean validation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CreateAccountRequestBindingBenchmark {
+
+    private static final byte[] BODY = """
+            {
+              "customerId": "CUST123456",
+              "accountType": "SAVINGS",
+              "currency": "USD",
+              "customerName": "John Doe",
+              "email": "john.doe@example.com",
+              "phoneNumber": "+11234567890"
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ObjectReader requestReader;
+    private CreateAccountRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        requestReader = Jackson2ObjectMapperBuilder.json().build().readerFor(CreateAccountRequest.class);
+        request = requestReader.readValue(BODY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public CreateAccountRequest bind() throws IOException {
+        return requestReader.readValue(BODY);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateAccountRequest>> validate() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateAccountRequest>> bindAndValidate() throws IOException {
+        CreateAccountRequest bound = requestReader.readValue(BODY);
+        return validator.validate(bound);
+    }
+}
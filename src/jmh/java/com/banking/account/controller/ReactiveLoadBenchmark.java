@@ -0,0 +1,227 @@
+package com.banking.account.controller;
+
+import com.banking.account.AccountServiceApplication;
+import com.banking.account.BenchmarkApplicationState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Get-by-id over real HTTP against the servlet application (platform and virtual threads)
+ * and the reactive one (-P benchmark,reactive; without the reactive profile that param
+ * fails at setup). Both read the same kind of H2 database through a pool of ten
+ * connections, with the cache off, so the difference is the web stack and the blocking or
+ * non-blocking data access. getAccounts keeps CONCURRENCY requests in flight.
+ *
+ * Memory per open connection is measured once per trial and printed: STALLED_UPLOADS
+ * clients send the headers of an account creation and only part of its body, which holds
+ * a request thread per connection in the servlet stack and nothing but buffers in the
+ * reactive one. Heap is measured after a full GC (virtual thread stacks live there), RSS
+ * from /proc covers platform thread stacks. On JDK 21 a virtual thread blocked in Tomcat's
+ * body read is pinned, so the virtual-thread run still adds a carrier thread per upload.
+ * The client shares the JVM with the server. H2 runs inside the server JVM, so the reactive
+ * numbers include r2dbc-h2 executing statements on the event loop; against PostgreSQL the
+ * driver does not block it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReactiveLoadBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+    private static final int CONCURRENCY = 64;
+    private static final int STALLED_UPLOADS = 150;
+    private static final String REACTIVE_APPLICATION =
+            "com.banking.account.reactive.ReactiveAccountServiceApplication";
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\"accountId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String SCHEMA = """
+            CREATE TABLE accounts (account_id VARCHAR(20) PRIMARY KEY, customer_id VARCHAR(20) NOT NULL,
+                account_type VARCHAR(20) NOT NULL, currency VARCHAR(3) NOT NULL, status VARCHAR(20) NOT NULL,
+                customer_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL, phone_number VARCHAR(255),
+                created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, version BIGINT DEFAULT 0);
+            CREATE UNIQUE INDEX idx_email ON accounts(email);
+            """;
+
+    @Param({"mvc", "mvc-virtual-threads", "reactive"})
+    public String stack;
+
+    private ConfigurableApplicationContext application;
+    private HttpClient client;
+    private Path schema;
+    private int port;
+    private final List<URI> accountUris = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = switch (stack) {
+            case "mvc" -> startServlet(false);
+            case "mvc-virtual-threads" -> startServlet(true);
+            case "reactive" -> startReactive();
+            default -> throw new IllegalArgumentException("Unknown stack: " + stack);
+        };
+        port = Integer.parseInt(application.getEnvironment().getRequiredProperty("local.server.port"));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/v1/accounts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(i)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = ACCOUNT_ID.matcher(response.body());
+            if (response.statusCode() != 201 || !matcher.find()) {
+                throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+            }
+            accountUris.add(uri("/api/v1/accounts/" + matcher.group(1)));
+        }
+        measureStalledUploads();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+        if (schema != null) {
+            Files.deleteIfExists(schema);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public long getAccounts() {
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(accountUris.get(next++ & (ACCOUNTS - 1))).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        long bytes = 0;
+        for (CompletableFuture<HttpResponse<byte[]>> response : responses) {
+            HttpResponse<byte[]> completed = response.join();
+            if (completed.statusCode() != 200) {
+                throw new IllegalStateException("GET failed: " + completed.statusCode());
+            }
+            bytes += completed.body().length;
+        }
+        return bytes;
+    }
+
+    private ConfigurableApplicationContext startServlet(boolean virtualThreads) {
+        return BenchmarkApplicationState.startApplication(AccountServiceApplication.class,
+                WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--logging.level.com.banking.account.exception=OFF");
+    }
+
+    private ConfigurableApplicationContext startReactive() throws Exception {
+        schema = Files.createTempFile("reactive-benchmark-schema", ".sql");
+        Files.writeString(schema, SCHEMA);
+        Class<?> reactiveApplication = Class.forName(REACTIVE_APPLICATION);
+        return BenchmarkApplicationState.startApplication(reactiveApplication,
+                WebApplicationType.REACTIVE,
+                "--spring.profiles.active=" + reactiveApplication.getField("PROFILE").get(null),
+                "--server.port=0",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///reactive-benchmark;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.r2dbc.pool.initial-size=10",
+                "--spring.r2dbc.pool.max-size=10",
+                "--spring.sql.init.mode=always",
+                "--spring.sql.init.schema-locations=" + schema.toUri(),
+                "--account.reactive.table=accounts",
+                "--account.reactive.events.enabled=false",
+                "--logging.level.com.banking.account.exception=OFF");
+    }
+
+    private void measureStalledUploads() throws Exception {
+        long heapBefore = usedHeapAfterGc();
+        long rssBefore = residentSetBytes();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        byte[] body = createBody(ACCOUNTS).getBytes(StandardCharsets.UTF_8);
+        byte[] head = ("POST /api/v1/accounts HTTP/1.1\r\nHost: localhost\r\n"
+                + "Content-Type: application/json\r\nContent-Length: " + body.length + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        List<Socket> sockets = new ArrayList<>(STALLED_UPLOADS);
+        try {
+            for (int i = 0; i < STALLED_UPLOADS; i++) {
+                Socket socket = new Socket("localhost", port);
+                OutputStream out = socket.getOutputStream();
+                out.write(head);
+                out.write(body, 0, body.length / 2);
+                out.flush();
+                sockets.add(socket);
+            }
+            // Let the server accept and dispatch every connection before measuring
+            Thread.sleep(2000);
+            long heap = usedHeapAfterGc() - heapBefore;
+            long rss = residentSetBytes() - rssBefore;
+            int threads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+            System.out.printf("%n%s, %d stalled uploads: heap %d B/connection, RSS %d B/connection,"
+                            + " +%d platform threads%n", stack, STALLED_UPLOADS, heap / STALLED_UPLOADS,
+                    rss / STALLED_UPLOADS, threads);
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+        Thread.sleep(1000);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String createBody(int i) {
+        return """
+                {"customerId":"CUST%d","accountType":"SAVINGS","currency":"USD",\
+                "customerName":"Load Account %d","email":"load.account%d@example.com","phoneNumber":"+11234567890"}\
+                """.formatted(700000 + i, i, i);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long residentSetBytes() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+            }
+        }
+        return 0;
+    }
+}
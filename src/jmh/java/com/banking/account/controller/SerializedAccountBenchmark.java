@@ -0,0 +1,97 @@
+package com.banking.account.controller;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.cache.SerializedAccount;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.exception.GlobalExceptionHandler;
+import com.banking.account.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Get-by-id of cached, unchanged accounts through the MVC stack, with the serialized tier
+ * of AccountCache on and off. Both runs hit the local tier (Redis off, single-instance);
+ * with it off every request maps nothing but still serializes the AccountResponse through
+ * Jackson, with it on the cached bytes are written as they are. getAccountJson leaves out
+ * MockMvc's own request and response handling, which otherwise dominates allocation. Run
+ * with the gc profiler for allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializedAccountBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    @Param({"true", "false"})
+    public boolean serialized;
+
+    private ConfigurableApplicationContext application;
+    private MockMvc mockMvc;
+    private AccountService accountService;
+    private final List<String> accountIds = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = BenchmarkApplicationState.startApplication(
+                "--account.cache.enabled=true",
+                "--account.cache.redis.enabled=false",
+                "--account.cache.local.single-instance=true",
+                "--account.cache.serialized.enabled=" + serialized);
+        accountService = application.getBean(AccountService.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.createAccount(CreateAccountRequest.builder()
+                    .customerId("CUST" + (800000 + i))
+                    .accountType("SAVINGS")
+                    .currency("USD")
+                    .customerName("Serialized Account " + i)
+                    .email("serialized.account" + i + "@example.com")
+                    .phoneNumber("+11234567890")
+                    .build()).getAccountId());
+        }
+        mockMvc = MockMvcBuilders.standaloneSetup(application.getBean(AccountController.class))
+                .setControllerAdvice(application.getBean(GlobalExceptionHandler.class))
+                .build();
+        for (String accountId : accountIds) {
+            getAccount(accountId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getAccount() throws Exception {
+        return getAccount(accountIds.get(next++ & (ACCOUNTS - 1)));
+    }
+
+    @Benchmark
+    public SerializedAccount getAccountJson() {
+        return accountService.getAccountJson(accountIds.get(next++ & (ACCOUNTS - 1)), null);
+    }
+
+    private MockHttpServletResponse getAccount(String accountId) throws Exception {
+        return mockMvc.perform(get("/api/v1/accounts/{id}", accountId)).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,87 @@
+package com.banking.account.kafka;
+
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.BinaryAccountEventSerializer;
+import com.banking.account.kafka.serialization.JsonAccountEventSerializer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding done for every event staged by {@link AccountEventOutbox} and sent
+ * by {@link AccountEventProducer}: the legacy JSON String, the JSON bytes now sent, and the
+ * compact binary format. Encoded sizes (bytes/event) are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AccountEventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JsonAccountEventSerializer jsonSerializer;
+    private BinaryAccountEventSerializer binarySerializer;
+    private AccountEvent event;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        event = AccountEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .accountId("ACC1A2B3C4D")
+                .customerId("CUST123456")
+                .accountType("SAVINGS")
+                .currency("USD")
+                .status("ACTIVE")
+                .customerName("John Doe")
+                .email("john.doe@example.com")
+                .phoneNumber("+11234567890")
+                .createdAt(LocalDateTime.now())
+                .eventType(AccountEvent.AccountEventType.ACCOUNT_CREATED)
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+        jsonSerializer = new JsonAccountEventSerializer(objectMapper);
+        binarySerializer = new BinaryAccountEventSerializer();
+        jsonPayload = jsonSerializer.serialize(event);
+        binaryPayload = binarySerializer.serialize(event);
+        System.out.printf("%nbytes/event: json=%d, binary=%d%n", jsonPayload.length, binaryPayload.length);
+    }
+
+    @Benchmark
+    public String serializeToJsonString() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(event);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(event);
+    }
+
+    @Benchmark
+    public AccountEvent deserializeJson() {
+        return jsonSerializer.deserialize(jsonPayload);
+    }
+
+    @Benchmark
+    public AccountEvent deserializeBinary() {
+        return binarySerializer.deserialize(binaryPayload);
+    }
+}
@@ -0,0 +1,182 @@
+package com.banking.account.kafka;
+
+import com.banking.account.config.KafkaProducerProfile;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import com.banking.account.kafka.serialization.BinaryAccountEventSerializer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends binary account events to an embedded single-partition broker with each
+ * {@link KafkaProducerProfile}:
+ * <ul>
+ *   <li>publishStream keeps up to {@value #MAX_IN_FLIGHT} sends outstanding, so its score is
+ *       the sustained events/s of one partition: use it as
+ *       kafka.topic.partition-events-per-second. Send-to-ack percentiles of these events
+ *       are printed at teardown.</li>
+ *   <li>publishRelayBatch sends {@value #BATCH} events, flushes and waits for all acks, as
+ *       the outbox relay does per batch.</li>
+ *   <li>publishOne waits for each ack before the next send: the latency a lone event sees.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class ProducerProfileBenchmark {
+
+    private static final String TOPIC = "account-events-benchmark";
+    private static final int BATCH = 500;
+    private static final int MAX_IN_FLIGHT = 20_000;
+    private static final int ACCOUNTS = 10_000;
+
+    @Param({"low-latency", "balanced", "high-throughput"})
+    public String profile;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private Timer sendToAck;
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private byte[] payload;
+    private byte[] contentType;
+    private String[] accountIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerFactory = new DefaultKafkaProducerFactory<>(config);
+        KafkaProducerProfile.fromName(profile).applyTo(producerFactory);
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        meterRegistry = new SimpleMeterRegistry();
+        sendToAck = Timer.builder("send.to.ack")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+
+        AccountEventSerializer serializer = new BinaryAccountEventSerializer();
+        payload = serializer.serialize(AccountEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .accountId("ACC1A2B3C4D")
+                .customerId("CUST123456")
+                .accountType("SAVINGS")
+                .currency("USD")
+                .status("ACTIVE")
+                .customerName("John Doe")
+                .email("john.doe@example.com")
+                .phoneNumber("+11234567890")
+                .createdAt(LocalDateTime.now())
+                .eventType(AccountEvent.AccountEventType.ACCOUNT_CREATED)
+                .eventTimestamp(LocalDateTime.now())
+                .build());
+        contentType = serializer.contentType().getBytes(StandardCharsets.UTF_8);
+        accountIds = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = "ACC" + i;
+        }
+        // Connect and fetch metadata outside the measurement
+        kafkaTemplate.send(record()).join();
+    }
+
+    /**
+     * Waits for the stream's outstanding sends so they are not counted in the next iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void drain() throws InterruptedException {
+        inFlight.acquire(MAX_IN_FLIGHT);
+        inFlight.release(MAX_IN_FLIGHT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HistogramSnapshot snapshot = sendToAck.takeSnapshot();
+        if (snapshot.count() > 0) {
+            printPercentiles(snapshot);
+        }
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    private void printPercentiles(HistogramSnapshot snapshot) {
+        StringBuilder percentiles = new StringBuilder();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.append(String.format(" p%s=%.2fms", value.percentile() * 100,
+                    value.value(TimeUnit.MILLISECONDS)));
+        }
+        System.out.printf("%n%s send-to-ack over %d streamed events:%s max=%.2fms%n",
+                profile, snapshot.count(), percentiles, snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void publishStream() throws InterruptedException {
+        inFlight.acquire();
+        long start = System.nanoTime();
+        kafkaTemplate.send(record()).whenComplete((result, ex) -> {
+            sendToAck.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            inFlight.release();
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void publishRelayBatch() {
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            acks[i] = kafkaTemplate.send(record());
+        }
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(acks).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object publishOne() {
+        return kafkaTemplate.send(record()).join();
+    }
+
+    private ProducerRecord<String, byte[]> record() {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC, accountIds[next++ % ACCOUNTS], payload);
+        record.headers().add(AccountEventSerializer.CONTENT_TYPE_HEADER, contentType);
+        return record;
+    }
+}
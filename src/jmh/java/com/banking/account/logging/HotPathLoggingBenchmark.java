@@ -0,0 +1,89 @@
+package com.banking.account.logging;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getAccount throughput with service logging at INFO, comparing the default synchronous
+ * console appender with the async-logging profile, without and with hot-path sampling.
+ * Console output goes to a file under target/ so the real write cost is included without
+ * flooding the JMH output. Compare account.logging.dropped in async mode before trusting
+ * a higher score: dropped lines are cheaper than written ones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HotPathLoggingBenchmark {
+
+    private static final int ACCOUNTS = 100;
+
+    @Param({"sync", "async", "async-sampled"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private PrintStream originalOut;
+    private PrintStream logOut;
+    private final List<String> accountIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        originalOut = System.out;
+        logOut = new PrintStream(new BufferedOutputStream(
+                new FileOutputStream("target/jmh-logging-" + logging + ".log")), false);
+        System.setOut(logOut);
+
+        context = BenchmarkApplicationState.startApplication(
+                "--spring.profiles.active=" + (logging.equals("sync") ? "default" : "async-logging"),
+                "--logging.level.com.banking.account=INFO",
+                "--account.logging.hot-path.sample-rate=" + (logging.equals("async-sampled") ? "0.01" : "1.0"));
+        accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.createAccount(CreateAccountRequest.builder()
+                    .customerId("CUST" + i)
+                    .accountType("SAVINGS")
+                    .currency("USD")
+                    .customerName("Logging Customer " + i)
+                    .email("logging" + i + "@example.com")
+                    .phoneNumber("+14155550100")
+                    .build()).getAccountId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+        logOut.close();
+        System.out.printf("%n%s: dropped log events discarded=%d overflow=%d%n", logging,
+                CountingAsyncAppender.discardedCount(), CountingAsyncAppender.overflowCount());
+    }
+
+    @Benchmark
+    public Object getAccount() {
+        return accountService.getAccount(accountIds.get(ThreadLocalRandom.current().nextInt(ACCOUNTS)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.account.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the hot-path timers as configured for Prometheus: a plain timer, one
+ * publishing a percentile histogram, and the baseline of just reading the clock. Run with
+ * all cores recording into the same timer, which is the contended case in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private Timer plainTimer;
+    private Timer histogramTimer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        plainTimer = Timer.builder("benchmark.plain").register(registry);
+        histogramTimer = Timer.builder("benchmark.histogram")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    @Benchmark
+    public void clockOnly(Blackhole blackhole) {
+        long start = System.nanoTime();
+        Blackhole.consumeCPU(16);
+        blackhole.consume(System.nanoTime() - start);
+    }
+
+    @Benchmark
+    public void plainTimer() {
+        long start = System.nanoTime();
+        Blackhole.consumeCPU(16);
+        plainTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void histogramTimer() {
+        long start = System.nanoTime();
+        Blackhole.consumeCPU(16);
+        histogramTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,228 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.service.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Lookups of {@code accounts} accounts, three per customer, by randomly chosen keys: from
+ * an {@link AccountReadModel} on each {@link AccountStore}, and through AccountService and
+ * JPA with the cache off ({@code store=jpa}, rows in an in-process H2 database). Setup
+ * prints the retained heap and off-heap memory per million accounts, and for the stores the
+ * time to write a snapshot; ReadModelCatchUpBenchmark times restoring one. Run with the gc
+ * profiler to compare allocation and GC time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Xmx3g")
+public class AccountReadModelBenchmark {
+
+    private static final int ACCOUNTS_PER_CUSTOMER = 3;
+    private static final int KEYS = 1 << 16;
+
+    @Param({"1000000"})
+    public int accounts;
+
+    @Param({"heap", "off-heap", "jpa"})
+    public String store;
+
+    private ConfigurableApplicationContext application;
+    private Function<String, AccountResponse> byId;
+    private Function<String, List<AccountResponse>> byCustomer;
+    private Function<String, List<AccountResponse>> byEmail;
+    private Path snapshotDirectory;
+    private final String[] accountIds = new String[KEYS];
+    private final String[] customerIds = new String[KEYS];
+    private final String[] emails = new String[KEYS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (store.equals("jpa")) {
+            setUpJpa();
+        } else {
+            setUpReadModel();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < KEYS; i++) {
+            int account = random.nextInt(accounts);
+            accountIds[i] = accountId(account);
+            customerIds[i] = customerId(account);
+            emails[i] = email(account);
+        }
+    }
+
+    private void setUpReadModel() throws IOException {
+        long heapBefore = usedHeap();
+        AccountStore accountStore = AccountStore.create(store, 65536);
+        AccountReadModel readModel = new AccountReadModel(new SimpleMeterRegistry(), Long.MAX_VALUE, accountStore);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < accounts; i++) {
+            readModel.apply(event(i, now), 0, i);
+        }
+        readModel.recordLag(0, System.currentTimeMillis());
+        printFootprint(usedHeap() - heapBefore, accountStore.offHeapBytes());
+
+        snapshotDirectory = Files.createTempDirectory("read-model-benchmark");
+        Path snapshot = snapshotDirectory.resolve("accounts.snapshot");
+        long start = System.nanoTime();
+        readModel.writeSnapshot(snapshot);
+        System.out.printf("Snapshot: %.1f MB, written in %d ms%n",
+                Files.size(snapshot) / 1e6, (System.nanoTime() - start) / 1_000_000);
+
+        byId = readModel::getAccount;
+        byCustomer = readModel::getAccountsByCustomer;
+        byEmail = readModel::getAccountsByEmail;
+    }
+
+    private void setUpJpa() {
+        long heapBefore = usedHeap();
+        application = BenchmarkApplicationState.startApplication();
+        JdbcTemplate jdbcTemplate = application.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < accounts; from += 10_000) {
+            int batchStart = from;
+            jdbcTemplate.batchUpdate("INSERT INTO accounts (account_id, customer_id, account_type, currency, status,"
+                            + " customer_name, email, phone_number, created_at, updated_at, version)"
+                            + " VALUES (?, ?, ?, 'USD', 'ACTIVE', ?, ?, ?, ?, ?, 0)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int index) throws SQLException {
+                            int i = batchStart + index;
+                            statement.setString(1, accountId(i));
+                            statement.setString(2, customerId(i));
+                            statement.setString(3, accountType(i));
+                            statement.setString(4, customerName(i));
+                            statement.setString(5, email(i));
+                            statement.setString(6, phoneNumber(i));
+                            statement.setTimestamp(7, now);
+                            statement.setTimestamp(8, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return Math.min(10_000, accounts - batchStart);
+                        }
+                    });
+        }
+        // Includes the application context and H2's copy of the rows, not only the rows
+        printFootprint(usedHeap() - heapBefore, 0);
+
+        AccountService accountService = application.getBean(AccountService.class);
+        byId = accountService::getAccount;
+        byCustomer = accountService::getAccountsByCustomer;
+        byEmail = accountService::getAccountByCustomerEmail;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (application != null) {
+            application.close();
+        }
+        if (snapshotDirectory != null) {
+            Files.deleteIfExists(snapshotDirectory.resolve("accounts.snapshot"));
+            Files.deleteIfExists(snapshotDirectory);
+        }
+    }
+
+    private void printFootprint(long heapBytes, long offHeapBytes) {
+        System.out.printf("%n%s: accounts=%d, retained heap=%.1f MB, off-heap=%.1f MB"
+                        + " (%.1f MB per million accounts, %d bytes per account)%n",
+                store, accounts, heapBytes / 1e6, offHeapBytes / 1e6,
+                (heapBytes + offHeapBytes) / 1e6 * 1_000_000 / accounts, (heapBytes + offHeapBytes) / accounts);
+    }
+
+    @Benchmark
+    public AccountResponse getAccount() {
+        return byId.apply(accountIds[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public List<AccountResponse> getAccountsByCustomer() {
+        return byCustomer.apply(customerIds[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public List<AccountResponse> getAccountsByEmail() {
+        return byEmail.apply(emails[next++ & (KEYS - 1)]);
+    }
+
+    static AccountEvent event(int i, LocalDateTime timestamp) {
+        return AccountEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .accountId(accountId(i))
+                .customerId(customerId(i))
+                .accountType(accountType(i))
+                .currency("USD")
+                .status("ACTIVE")
+                .customerName(customerName(i))
+                .email(email(i))
+                .phoneNumber(phoneNumber(i))
+                .createdAt(timestamp)
+                .eventType(AccountEvent.AccountEventType.ACCOUNT_CREATED)
+                .eventTimestamp(timestamp)
+                .build();
+    }
+
+    static String accountId(int i) {
+        return String.format("ACC%013d", i);
+    }
+
+    private static String customerId(int i) {
+        return "CUST" + i / ACCOUNTS_PER_CUSTOMER;
+    }
+
+    private static String customerName(int i) {
+        return "Customer " + i / ACCOUNTS_PER_CUSTOMER;
+    }
+
+    private static String accountType(int i) {
+        return i % 2 == 0 ? "SAVINGS" : "CURRENT";
+    }
+
+    private static String email(int i) {
+        return "customer" + i + "@example.com";
+    }
+
+    private static String phoneNumber(int i) {
+        return "+1" + (2_000_000_000L + i);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
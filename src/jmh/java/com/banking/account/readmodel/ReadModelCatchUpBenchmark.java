@@ -0,0 +1,170 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import com.banking.account.kafka.serialization.AccountEventSerializers;
+import com.banking.account.kafka.serialization.BinaryAccountEventSerializer;
+import com.banking.account.kafka.serialization.JsonAccountEventSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from start until an {@link AccountReadModelConsumer} can serve reads, against an
+ * embedded three-partition broker holding {@code eventsPerAccount} binary events per
+ * account (a create, then status changes): rebuilding from the whole topic
+ * ({@code source=topic}) versus restoring a snapshot taken at 90% of the topic and
+ * replaying the rest ({@code source=snapshot}).
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = "-Xmx3g")
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadModelCatchUpBenchmark {
+
+    private static final String TOPIC = "account-events-read-model-benchmark";
+    private static final int PARTITIONS = 3;
+
+    @Param({"500000"})
+    public int accounts;
+
+    @Param({"3"})
+    public int eventsPerAccount;
+
+    @Param({"topic", "snapshot"})
+    public String source;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaConsumerFactory<String, byte[]> consumerFactory;
+    private AccountEventSerializers serializers;
+    private Path baseline;
+    private Path workDirectory;
+    private AccountReadModel readModel;
+    private AccountReadModelConsumer consumer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+        consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        serializers = new AccountEventSerializers(
+                List.of(new JsonAccountEventSerializer(objectMapper), new BinaryAccountEventSerializer()),
+                new SimpleMeterRegistry(), "binary");
+
+        int events = accounts * eventsPerAccount;
+        int snapshotAt = events / 10 * 9;
+        publish(0, snapshotAt);
+        baseline = Files.createTempDirectory("read-model-baseline");
+        AccountReadModel model = new AccountReadModel(new SimpleMeterRegistry(), Long.MAX_VALUE, new HeapAccountStore());
+        AccountReadModelConsumer baselineConsumer = consumer(model, baseline);
+        baselineConsumer.start();
+        awaitServable(model);
+        // Stopping writes the snapshot
+        baselineConsumer.stop();
+        publish(snapshotAt, events);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() throws IOException {
+        workDirectory = Files.createTempDirectory("read-model-catch-up");
+        if (source.equals("snapshot")) {
+            FileSystemUtils.copyRecursively(baseline, workDirectory);
+        }
+        readModel = new AccountReadModel(new SimpleMeterRegistry(), Long.MAX_VALUE, new HeapAccountStore());
+        consumer = consumer(readModel, workDirectory);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws Exception {
+        consumer.stop();
+        if (readModel.size() != accounts) {
+            throw new IllegalStateException("Read model holds " + readModel.size() + " of " + accounts + " accounts");
+        }
+        FileSystemUtils.deleteRecursively(workDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(baseline);
+        broker.destroy();
+    }
+
+    @Benchmark
+    public int catchUp() throws InterruptedException {
+        consumer.start();
+        awaitServable(readModel);
+        return readModel.size();
+    }
+
+    private AccountReadModelConsumer consumer(AccountReadModel model, Path snapshotDirectory) {
+        return new AccountReadModelConsumer(model, serializers, consumerFactory, new SimpleMeterRegistry(),
+                TOPIC, snapshotDirectory.toString(), TimeUnit.HOURS.toMillis(1), 100, 20, 5000);
+    }
+
+    private static void awaitServable(AccountReadModel model) throws InterruptedException {
+        while (!model.isServable()) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void publish(int from, int to) {
+        DefaultKafkaProducerFactory<String, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 10,
+                ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024));
+        KafkaTemplate<String, byte[]> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        byte[] contentType = serializers.active().contentType().getBytes(StandardCharsets.UTF_8);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = from; i < to; i++) {
+            int account = i % accounts;
+            int round = i / accounts;
+            AccountEvent event = AccountReadModelBenchmark.event(account, now);
+            if (round % 2 == 1) {
+                event.setEventType(AccountEvent.AccountEventType.ACCOUNT_SUSPENDED);
+                event.setStatus("SUSPENDED");
+            } else if (round > 0) {
+                event.setEventType(AccountEvent.AccountEventType.ACCOUNT_REACTIVATED);
+            }
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC,
+                    AccountReadModelBenchmark.accountId(account), serializers.serialize(event));
+            record.headers().add(AccountEventSerializer.CONTENT_TYPE_HEADER, contentType);
+            kafkaTemplate.send(record);
+        }
+        kafkaTemplate.flush();
+        producerFactory.destroy();
+    }
+}
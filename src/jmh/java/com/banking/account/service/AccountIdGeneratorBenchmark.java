@@ -0,0 +1,42 @@
+package com.banking.account.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of account ID generation with all cores hammering one generator, against the
+ * previous UUID-substring scheme.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class AccountIdGeneratorBenchmark {
+
+    private AccountIdGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new AccountIdGenerator(1);
+    }
+
+    @Benchmark
+    public String timeOrderedId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String uuidSubstringId() {
+        return "ACC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,96 @@
+package com.banking.account.service;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.event.AccountEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private AccountService accountService;
+    private AccountService accountServiceTarget;
+    private Account account;
+    private String existingAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkApplicationState application) {
+        accountService = application.getBean(AccountService.class);
+        accountServiceTarget = AopTestUtils.getUltimateTargetObject(accountService);
+
+        existingAccountId = accountService.createAccount(createRequest()).getAccountId();
+
+        LocalDateTime now = LocalDateTime.now();
+        account = Account.builder()
+                .accountId("ACC1A2B3C4D")
+                .customerId("CUST123456")
+                .accountType(AccountType.SAVINGS)
+                .currency("USD")
+                .status(AccountStatus.ACTIVE)
+                .customerName("John Doe")
+                .email("john.doe@example.com")
+                .phoneNumber("+11234567890")
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public AccountResponse mapToResponse() {
+        return accountServiceTarget.mapToResponse(account);
+    }
+
+    @Benchmark
+    public AccountEvent buildAccountEvent() {
+        return accountServiceTarget.buildAccountEvent(account, AccountEvent.AccountEventType.ACCOUNT_CREATED);
+    }
+
+    @Benchmark
+    public String generateAccountId() {
+        return accountServiceTarget.generateAccountId();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public AccountResponse getAccount() {
+        return accountService.getAccount(existingAccountId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public AccountResponse createAccount() {
+        return accountService.createAccount(createRequest());
+    }
+
+    private CreateAccountRequest createRequest() {
+        return CreateAccountRequest.builder()
+                .customerId("CUST123456")
+                .accountType("SAVINGS")
+                .currency("USD")
+                .customerName("John Doe")
+                .email("bench-" + sequence.incrementAndGet() + "@example.com")
+                .phoneNumber("+11234567890")
+                .build();
+    }
+}
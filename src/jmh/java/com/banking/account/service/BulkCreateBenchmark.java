@@ -0,0 +1,77 @@
+package com.banking.account.service;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.BulkAccountResult;
+import com.banking.account.dto.CreateAccountRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rows per second of account creation: one createAccount call (and transaction) per row,
+ * as a client calling POST /api/v1/accounts per row does, against createAccounts, which
+ * inserts a chunk of rows with one email query, one JDBC batch and one outbox batch.
+ *
+ * Both run against H2, so the gap understates the one against Postgres, where every
+ * single-row round trip also crosses the network.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BulkCreateBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkApplicationState application) {
+        accountService = application.getBean(AccountService.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<AccountResponse> singleRowCreates() {
+        List<AccountResponse> created = new ArrayList<>(ROWS);
+        for (CreateAccountRequest request : requests()) {
+            created.add(accountService.createAccount(request));
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<BulkAccountResult> bulkCreate() {
+        return accountService.createAccounts(requests());
+    }
+
+    private List<CreateAccountRequest> requests() {
+        List<CreateAccountRequest> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence.incrementAndGet();
+            requests.add(CreateAccountRequest.builder()
+                    .customerId("CUST" + (100000 + n % 1000))
+                    .accountType("SAVINGS")
+                    .currency("USD")
+                    .customerName("John Doe")
+                    .email("bulk-bench-" + n + "@example.com")
+                    .phoneNumber("+11234567890")
+                    .build());
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,116 @@
+package com.banking.account.service;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.CreateAccountRequest;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires a burst of concurrent getAccount calls, one task per simulated connection, with
+ * and without virtual-thread mode. Platform mode runs the burst on a 200-thread pool
+ * (Tomcat's default max threads); virtual mode uses one virtual thread per request with
+ * the datasource concurrency limit in front of Hikari. The score is the time for the
+ * whole burst to drain; per-request p50/p99 are reported as secondary results (JMH sums
+ * event counters over the measurement iterations, so divide them by Cnt).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class ConcurrentReadBurstBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int ACCOUNTS = 100;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"5000"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private ExecutorService executor;
+    private final List<String> accountIds = new ArrayList<>();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Latency {
+        public long p50Micros;
+        public long p99Micros;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            p50Micros = 0;
+            p99Micros = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationState.startApplication(
+                "--spring.threads.virtual.enabled=" + virtualThreads);
+        accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.createAccount(CreateAccountRequest.builder()
+                    .customerId("CUST" + i)
+                    .accountType("SAVINGS")
+                    .currency("USD")
+                    .customerName("Burst Customer " + i)
+                    .email("burst-" + i + "@example.com")
+                    .build()).getAccountId());
+        }
+        executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst(Latency latency) throws InterruptedException {
+        long[] latencies = new long[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int request = i;
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    accountService.getAccount(accountIds.get(request % ACCOUNTS));
+                } finally {
+                    latencies[request] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        Arrays.sort(latencies);
+        latency.p50Micros = TimeUnit.NANOSECONDS.toMicros(latencies[concurrency / 2]);
+        latency.p99Micros = TimeUnit.NANOSECONDS.toMicros(latencies[(int) (concurrency * 0.99) - 1]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.account.service;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.exception.AccountAlreadyExistsException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * createAccount latency with and without the email Bloom filter, over a table that
+ * already holds {@code existingAccounts} rows. A new email skips the existsByEmail query
+ * when the filter is on; a registered email still pays for it. H2 runs in-process, so
+ * the saving shown here is the query execution only; against Postgres each skipped query
+ * also saves a network round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EmailUniquenessBenchmark {
+
+    private static final int BULK_CHUNK = 10_000;
+
+    @Param({"false", "true"})
+    public boolean emailFilter;
+
+    @Param({"50000"})
+    public int existingAccounts;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationState.startApplication("--account.email-filter.enabled=" + emailFilter);
+        accountService = context.getBean(AccountService.class);
+        for (int from = 0; from < existingAccounts; from += BULK_CHUNK) {
+            List<CreateAccountRequest> chunk = new ArrayList<>(BULK_CHUNK);
+            for (int i = from; i < Math.min(from + BULK_CHUNK, existingAccounts); i++) {
+                chunk.add(request("existing-" + i + "@example.com"));
+            }
+            accountService.createAccounts(chunk);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponse createNewEmail() {
+        return accountService.createAccount(request("new-" + sequence.incrementAndGet() + "@example.com"));
+    }
+
+    @Benchmark
+    public Object createExistingEmail() {
+        String email = "existing-" + ThreadLocalRandom.current().nextInt(existingAccounts) + "@example.com";
+        try {
+            return accountService.createAccount(request(email));
+        } catch (AccountAlreadyExistsException e) {
+            return e;
+        }
+    }
+
+    private static CreateAccountRequest request(String email) {
+        return CreateAccountRequest.builder()
+                .customerId("CUST123456")
+                .accountType("SAVINGS")
+                .currency("USD")
+                .customerName("Jane Doe")
+                .email(email)
+                .phoneNumber("+11234567890")
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.banking.account.service;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.dto.CreateAccountRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of concurrent getAccount calls whose keys follow a Zipf distribution (a few hot
+ * corporate accounts take most of the traffic), with and without single-flight. The cache
+ * is off, so every call that is not coalesced reaches the database. The score is the time
+ * for the burst to drain; the secondary results are the findById queries and the calls
+ * served as followers of another load (JMH sums them over iterations, so divide by Cnt).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class SkewedReadCoalescingBenchmark {
+
+    private static final int THREADS = 200;
+    private static final int ACCOUNTS = 1000;
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    @Param({"false", "true"})
+    public boolean singleFlight;
+
+    @Param({"5000"})
+    public int requests;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private final List<String> accountIds = new ArrayList<>();
+    private int[] keys;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        public long dbQueries;
+        public long coalesced;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            dbQueries = 0;
+            coalesced = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationState.startApplication("--account.single-flight.enabled=" + singleFlight);
+        accountService = context.getBean(AccountService.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.createAccount(CreateAccountRequest.builder()
+                    .customerId("CUST" + i)
+                    .accountType("CURRENT")
+                    .currency("USD")
+                    .customerName("Corporate Customer " + i)
+                    .email("corporate-" + i + "@example.com")
+                    .phoneNumber("+14155550100")
+                    .build()).getAccountId());
+        }
+        keys = zipfKeys(requests, ACCOUNTS, ZIPF_EXPONENT, new Random(42));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst(Queries queries) throws InterruptedException {
+        long queriesBefore = findByIdCount();
+        double followersBefore = followerCount();
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            String accountId = accountIds.get(keys[i]);
+            executor.execute(() -> {
+                try {
+                    accountService.getAccount(accountId);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        queries.dbQueries = findByIdCount() - queriesBefore;
+        queries.coalesced = (long) (followerCount() - followersBefore);
+    }
+
+    private long findByIdCount() {
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "AccountRepository").tag("method", "findById").timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private double followerCount() {
+        var counter = meterRegistry.find("account.single.flight.calls")
+                .tag("operation", "get").tag("role", "follower").functionCounter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static int[] zipfKeys(int count, int keySpace, double exponent, Random random) {
+        double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for (int k = 0; k < keySpace; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            double target = random.nextDouble() * sum;
+            int low = 0;
+            int high = keySpace - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            keys[i] = low;
+        }
+        return keys;
+    }
+}
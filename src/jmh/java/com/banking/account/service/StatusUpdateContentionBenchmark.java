@@ -0,0 +1,166 @@
+package com.banking.account.service;
+
+import com.banking.account.BenchmarkApplicationState;
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.UpdateAccountStatusRequest;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.banking.account.kafka.AccountEventOutbox;
+import com.banking.account.repository.AccountRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Many threads flipping one account between ACTIVE and SUSPENDED. "conditional" is
+ * AccountService.updateAccountStatus; "read-modify-write" is the previous findById, check
+ * and save, which loses to concurrent writers with an optimistic-lock failure. Every
+ * request either applies its change, finds the account already in the requested status
+ * (rejected) or fails with a conflict. After each burst the account's version must equal
+ * its starting version plus the applied changes; a mismatch is printed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class StatusUpdateContentionBenchmark {
+
+    private static final int THREADS = 32;
+
+    @Param({"read-modify-write", "conditional"})
+    public String mode;
+
+    @Param({"2000"})
+    public int requests;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private AccountRepository accountRepository;
+    private AccountEventOutbox eventOutbox;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private String accountId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long applied;
+        public long rejected;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            applied = 0;
+            rejected = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The read-modify-write losers are logged by Hibernate's batch executor before they surface
+        context = BenchmarkApplicationState.startApplication("--logging.level.org.hibernate.orm.jdbc.batch=OFF");
+        accountService = context.getBean(AccountService.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        eventOutbox = context.getBean(AccountEventOutbox.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        accountId = accountService.createAccount(CreateAccountRequest.builder()
+                .customerId("CUST1")
+                .accountType("CURRENT")
+                .currency("USD")
+                .customerName("Contended Customer")
+                .email("contended@example.com")
+                .build()).getAccountId();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void flip(Outcomes outcomes) throws InterruptedException {
+        long versionBefore = currentVersion();
+        AtomicLong applied = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            AccountStatus target = i % 2 == 0 ? AccountStatus.SUSPENDED : AccountStatus.ACTIVE;
+            executor.execute(() -> {
+                try {
+                    if ("conditional".equals(mode)) {
+                        accountService.updateAccountStatus(accountId,
+                                UpdateAccountStatusRequest.builder().status(target.name()).build());
+                    } else {
+                        readModifyWrite(target);
+                    }
+                    applied.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } catch (AccountVersionConflictException | ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        outcomes.applied = applied.get();
+        outcomes.rejected = rejected.get();
+        outcomes.conflicts = conflicts.get();
+        long versionAfter = currentVersion();
+        if (versionAfter - versionBefore != applied.get()) {
+            System.out.printf("%nversion moved by %d but %d updates reported success%n",
+                    versionAfter - versionBefore, applied.get());
+        }
+    }
+
+    private void readModifyWrite(AccountStatus target) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            if (account.getStatus() == target) {
+                throw new IllegalStateException("Account is already in " + target + " status");
+            }
+            account.setStatus(target);
+            Account saved = accountRepository.save(account);
+            eventOutbox.enqueue(AccountEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .accountId(saved.getAccountId())
+                    .status(saved.getStatus().name())
+                    .eventType(AccountEvent.AccountEventType.ACCOUNT_UPDATED)
+                    .eventTimestamp(LocalDateTime.now())
+                    .build());
+        });
+    }
+
+    private long currentVersion() {
+        return accountRepository.findById(accountId).orElseThrow().getVersion();
+    }
+}
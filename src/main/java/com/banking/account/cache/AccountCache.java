@@ -0,0 +1,613 @@
+package com.banking.account.cache;
+
+import com.banking.account.dto.AccountResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier read-through cache for account reads: a bounded Caffeine tier in front of Redis.
+ *
+ * Writers call {@link #evictAfterCommit(String, String, String)}; the entries are dropped once
+ * the transaction commits and the invalidation is broadcast to the other instances over Redis
+ * pub/sub. Without Redis (account.cache.redis.enabled=false) no other instance would hear of
+ * an eviction and could serve the old value for the local TTL, so the local and serialized
+ * tiers are off and reads are only coalesced. account.cache.local.single-instance turns the
+ * local tiers on without Redis where one instance serves all reads and writes. A reader that loaded from the database before the commit cannot re-populate the
+ * cache with the old value: every load takes a stamp from a striped generation counter and
+ * the put is discarded if an invalidation bumped that stripe in the meantime.
+ *
+ * Redis is guarded the same way across instances. Next to every cached key Redis holds a
+ * fence counter; an invalidation increments the fence and deletes the value in one script,
+ * and a loader reads the fence together with the value before it goes to the database. The
+ * loaded value is written back by a script that sets it only if the fence is unchanged, so a
+ * load that raced a commit on any instance never lands in Redis.
+ *
+ * Below the local tier, concurrent misses for the same key share one Redis read and one
+ * database load through a {@link SingleFlight}; lookups by email, which are not cached, are
+ * coalesced the same way. Invalidations also detach running loads so readers arriving after
+ * a commit never join a load that started before it. Coalescing stays on when caching is
+ * disabled.
+ *
+ * Accounts are also kept as serialized JSON bytes (account.cache.serialized), so a read of
+ * an unchanged account is written to the response without mapping or serializing it again.
+ * Those entries carry the version they were serialized from, are dropped with the account's
+ * other entries, and are guarded against stale puts by the same generation stamps.
+ *
+ * With read replicas, a miss just after a commit can still load the old row from a lagging
+ * replica and cache it. Setting account.cache.reinvalidate-after-ms to the replica's maximum
+ * lag repeats every invalidation once that delay has passed, bounding such entries to it.
+ */
+@Component
+@Slf4j
+public class AccountCache {
+
+    private static final String ACCOUNT_KEY = "account:";
+    private static final String CUSTOMER_KEY = "customer:";
+    private static final String EMAIL_KEY = "email:";
+    private static final String FENCE_KEY = "fence:";
+    private static final int GENERATION_STRIPES = 1024;
+    // KEYS: value and fence key pairs; ARGV[1]: TTL in ms
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>("""
+            for i = 1, #KEYS, 2 do
+              redis.call('DEL', KEYS[i])
+              redis.call('INCR', KEYS[i + 1])
+              redis.call('PEXPIRE', KEYS[i + 1], ARGV[1])
+            end
+            return #KEYS / 2
+            """, Long.class);
+    // KEYS: value and fence key pairs; ARGV[1]: TTL in ms, then the fence read before the load
+    // ("" when there was none) and the value for each pair
+    private static final RedisScript<Long> SET_IF_FENCE_UNCHANGED = new DefaultRedisScript<>("""
+            local written = 0
+            for i = 1, #KEYS, 2 do
+              local fence = redis.call('GET', KEYS[i + 1]) or ''
+              if fence == ARGV[i + 1] then
+                redis.call('SET', KEYS[i], ARGV[i + 2], 'PX', ARGV[1])
+                written = written + 1
+              end
+            end
+            return written
+            """, Long.class);
+    private static final TypeReference<List<AccountResponse>> ACCOUNT_LIST = new TypeReference<>() {};
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final String keyPrefix;
+    private final String invalidationChannel;
+
+    private final Cache<String, Object> local;
+    private final Cache<String, SerializedAccount> serialized;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final SingleFlight<String, Object> accountLoads;
+    private final SingleFlight<String, Object> customerLoads;
+    private final SingleFlight<String, Object> emailLoads;
+    private final long reinvalidateAfterMs;
+    private final ScheduledExecutorService reinvalidator;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder serializedHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder stalePutsDiscarded = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    public AccountCache(StringRedisTemplate redisTemplate,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${account.cache.enabled:true}") boolean enabled,
+                        @Value("${account.cache.local.maximum-size:100000}") long localMaximumSize,
+                        @Value("${account.cache.local.ttl-seconds:60}") long localTtlSeconds,
+                        @Value("${account.cache.local.single-instance:false}") boolean singleInstance,
+                        @Value("${account.cache.redis.enabled:false}") boolean redisEnabled,
+                        @Value("${account.cache.redis.ttl-seconds:300}") long redisTtlSeconds,
+                        @Value("${account.cache.redis.key-prefix:account-service:}") String keyPrefix,
+                        @Value("${account.cache.redis.invalidation-channel:account-cache-invalidation}") String invalidationChannel,
+                        @Value("${account.single-flight.enabled:true}") boolean singleFlightEnabled,
+                        @Value("${account.single-flight.max-in-flight:10000}") int singleFlightMaxInFlight,
+                        @Value("${account.single-flight.wait-timeout-ms:2000}") long singleFlightWaitTimeoutMs,
+                        @Value("${account.cache.reinvalidate-after-ms:0}") long reinvalidateAfterMs,
+                        @Value("${account.cache.serialized.enabled:true}") boolean serializedEnabled,
+                        @Value("${account.cache.serialized.maximum-bytes:67108864}") long serializedMaximumBytes) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = enabled && redisEnabled;
+        this.enabled = this.redisEnabled || enabled && singleInstance;
+        if (enabled && !this.enabled) {
+            log.info("Account cache tiers are off: account.cache.redis.enabled is false, so evictions "
+                    + "would not reach other instances; reads are only coalesced");
+        }
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.keyPrefix = keyPrefix;
+        this.invalidationChannel = invalidationChannel;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .removalListener((String key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        this.serialized = this.enabled && serializedEnabled
+                ? Caffeine.newBuilder()
+                        .maximumWeight(serializedMaximumBytes)
+                        // The bytes plus a rough allowance for the key, record and array headers
+                        .weigher((String key, SerializedAccount value) -> value.json().length + 2 * key.length() + 64)
+                        .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                        .build()
+                : null;
+        Duration waitTimeout = Duration.ofMillis(singleFlightWaitTimeoutMs);
+        this.accountLoads = new SingleFlight<>("get", singleFlightEnabled, singleFlightMaxInFlight,
+                waitTimeout, meterRegistry);
+        this.customerLoads = new SingleFlight<>("get_by_customer", singleFlightEnabled, singleFlightMaxInFlight,
+                waitTimeout, meterRegistry);
+        this.emailLoads = new SingleFlight<>("get_by_email", singleFlightEnabled, singleFlightMaxInFlight,
+                waitTimeout, meterRegistry);
+        this.reinvalidateAfterMs = reinvalidateAfterMs;
+        this.reinvalidator = this.enabled && reinvalidateAfterMs > 0
+                ? Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "account-cache-reinvalidation");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        registerMetrics(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (reinvalidator != null) {
+            reinvalidator.shutdownNow();
+        }
+    }
+
+    public AccountResponse getAccount(String accountId, Supplier<AccountResponse> loader) {
+        return get(ACCOUNT_KEY + accountId, AccountResponse.class, null, loader, accountLoads);
+    }
+
+    /**
+     * The account as serialized JSON: from the serialized tier when it holds a copy, otherwise
+     * through {@link #getAccount} and then serialized once for the following reads. A copy
+     * of any version other than {@code currentVersion}, when the caller has just read it,
+     * is not used.
+     */
+    public SerializedAccount getAccountJson(String accountId, Long currentVersion, Supplier<AccountResponse> loader) {
+        if (serialized == null) {
+            return serialize(getAccount(accountId, loader));
+        }
+        String key = ACCOUNT_KEY + accountId;
+        SerializedAccount cached = serialized.getIfPresent(key);
+        if (cached != null && (currentVersion == null || currentVersion.equals(cached.version()))) {
+            serializedHits.increment();
+            return cached;
+        }
+        long stamp = generations.get(stripe(key));
+        SerializedAccount loaded = serialize(getAccount(accountId, loader));
+        if (loaded.version() != null) {
+            putSerialized(key, loaded, stamp);
+        }
+        return loaded;
+    }
+
+    /**
+     * Multi-get of accounts: local tier first, then one Redis MGET for the rest, then a
+     * single call to {@code loader} for whatever is still missing. Loaded values are
+     * written back to Redis in one pipelined round trip. IDs that do not exist are simply
+     * absent from the returned map.
+     */
+    public Map<String, AccountResponse> getAccounts(Collection<String> accountIds,
+                                                    Function<Collection<String>, Map<String, AccountResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(accountIds);
+        }
+
+        Map<String, AccountResponse> found = new HashMap<>();
+        Map<String, Long> stamps = new LinkedHashMap<>();
+        for (String accountId : accountIds) {
+            String key = ACCOUNT_KEY + accountId;
+            AccountResponse cached = (AccountResponse) local.getIfPresent(key);
+            if (cached != null) {
+                localHits.increment();
+                found.put(accountId, cached);
+            } else {
+                stamps.put(accountId, generations.get(stripe(key)));
+            }
+        }
+        if (stamps.isEmpty()) {
+            return found;
+        }
+
+        Map<String, String> fences = new HashMap<>();
+        if (redisEnabled) {
+            readRedis(stamps.keySet(), fences).forEach((accountId, remote) -> {
+                redisHits.increment();
+                putLocal(ACCOUNT_KEY + accountId, remote, stamps.remove(accountId));
+                found.put(accountId, remote);
+            });
+            if (stamps.isEmpty()) {
+                return found;
+            }
+        }
+
+        misses.add(stamps.size());
+        Map<String, AccountResponse> loaded = loader.apply(List.copyOf(stamps.keySet()));
+        Map<String, RedisWrite> toRedis = new HashMap<>();
+        loaded.forEach((accountId, value) -> {
+            found.put(accountId, value);
+            String key = ACCOUNT_KEY + accountId;
+            if (putLocal(key, value, stamps.get(accountId)) && fences.containsKey(key)) {
+                toRedis.put(key, new RedisWrite(value, fences.get(key)));
+            }
+        });
+        if (!toRedis.isEmpty()) {
+            writeRedis(toRedis);
+        }
+        return found;
+    }
+
+    public List<AccountResponse> getAccountsByCustomer(String customerId, Supplier<List<AccountResponse>> loader) {
+        return get(CUSTOMER_KEY + customerId, null, ACCOUNT_LIST, loader, customerLoads);
+    }
+
+    /**
+     * Email lookups are not cached, only coalesced: concurrent lookups of the same email
+     * share one query.
+     */
+    @SuppressWarnings("unchecked")
+    public List<AccountResponse> getAccountsByEmail(String email, Supplier<List<AccountResponse>> loader) {
+        return (List<AccountResponse>) emailLoads.execute(EMAIL_KEY + email, loader::get);
+    }
+
+    /**
+     * Drops the cached account and its customer's account list once the current
+     * transaction commits, or immediately when there is no transaction, and detaches
+     * running loads of the account, the customer and the email.
+     */
+    public void evictAfterCommit(String accountId, String customerId, String email) {
+        evictKeysAfterCommit(ACCOUNT_KEY + accountId, CUSTOMER_KEY + customerId, EMAIL_KEY + email);
+    }
+
+    /**
+     * Bulk variant for newly created accounts: drops the account lists of several
+     * customers and detaches lookups of the new emails after commit, with a single Redis
+     * round trip.
+     */
+    public void evictCreatedAfterCommit(Collection<String> customerIds, Collection<String> emails) {
+        evictKeysAfterCommit(Stream.concat(
+                        customerIds.stream().map(id -> CUSTOMER_KEY + id),
+                        emails.stream().map(email -> EMAIL_KEY + email))
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Bulk variant of {@link #evictAfterCommit(String, String, String)} for a chunk of
+     * updated accounts, with a single Redis round trip.
+     */
+    public void evictUpdatedAfterCommit(Collection<String> accountIds, Collection<String> customerIds,
+                                        Collection<String> emails) {
+        evictKeysAfterCommit(Stream.of(
+                        accountIds.stream().map(id -> ACCOUNT_KEY + id),
+                        customerIds.stream().map(id -> CUSTOMER_KEY + id),
+                        emails.stream().map(email -> EMAIL_KEY + email))
+                .flatMap(keys -> keys)
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Evicts locally and in Redis, then tells the other instances to drop their local copies.
+     */
+    public void evict(String accountId, String customerId) {
+        evictKeys(ACCOUNT_KEY + accountId, CUSTOMER_KEY + customerId);
+    }
+
+    private void evictKeysAfterCommit(String... keys) {
+        if (keys.length == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictKeys(keys);
+                }
+            });
+        } else {
+            evictKeys(keys);
+        }
+    }
+
+    private void evictKeys(String... keys) {
+        evictLocal(keys);
+        if (redisEnabled) {
+            try {
+                invalidateRedis(keys);
+                redisTemplate.convertAndSend(invalidationChannel, String.join(",", keys));
+            } catch (RuntimeException e) {
+                redisErrors.increment();
+                log.warn("Failed to invalidate account cache in Redis: keys={}", (Object) keys, e);
+            }
+        }
+        // The writer repeats the Redis delete; every instance repeats its own local eviction
+        scheduleReinvalidation(keys, redisEnabled);
+    }
+
+    /**
+     * Applies an invalidation received from another instance.
+     */
+    void onInvalidationMessage(String message) {
+        String[] keys = message.split(",");
+        evictLocal(keys);
+        scheduleReinvalidation(keys, false);
+    }
+
+    private void scheduleReinvalidation(String[] keys, boolean deleteFromRedis) {
+        if (reinvalidator == null) {
+            return;
+        }
+        reinvalidator.schedule(() -> {
+            evictLocal(keys);
+            if (deleteFromRedis) {
+                try {
+                    invalidateRedis(keys);
+                } catch (RuntimeException e) {
+                    redisErrors.increment();
+                    log.warn("Failed to re-invalidate account cache in Redis: keys={}", (Object) keys, e);
+                }
+            }
+        }, reinvalidateAfterMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void evictLocal(String... keys) {
+        for (String key : keys) {
+            generations.incrementAndGet(stripe(key));
+            local.invalidate(key);
+            if (serialized != null) {
+                serialized.invalidate(key);
+            }
+            loadsFor(key).forget(key);
+        }
+        invalidations.increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, Class<T> type, TypeReference<T> typeRef, Supplier<T> loader,
+                      SingleFlight<String, Object> loads) {
+        if (!enabled) {
+            return (T) loads.execute(key, loader::get);
+        }
+
+        T cached = (T) local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        return (T) loads.execute(key, () -> load(key, type, typeRef, loader));
+    }
+
+    private SingleFlight<String, Object> loadsFor(String key) {
+        if (key.startsWith(ACCOUNT_KEY)) {
+            return accountLoads;
+        }
+        return key.startsWith(CUSTOMER_KEY) ? customerLoads : emailLoads;
+    }
+
+    // Runs once per coalesced miss: Redis, then the loader, populating both tiers
+    private <T> T load(String key, Class<T> type, TypeReference<T> typeRef, Supplier<T> loader) {
+        long stamp = generations.get(stripe(key));
+
+        RedisRead<T> remote = redisEnabled ? readRedis(key, type, typeRef) : null;
+        if (remote != null && remote.value() != null) {
+            redisHits.increment();
+            putLocal(key, remote.value(), stamp);
+            return remote.value();
+        }
+
+        misses.increment();
+        T loaded = loader.get();
+        // Without a fence read (Redis off or failing) the value stays out of Redis
+        if (loaded != null && putLocal(key, loaded, stamp) && remote != null) {
+            writeRedis(Map.of(key, new RedisWrite(loaded, remote.fence())));
+        }
+        return loaded;
+    }
+
+    private boolean putLocal(String key, Object value, long stamp) {
+        if (generations.get(stripe(key)) != stamp) {
+            stalePutsDiscarded.increment();
+            return false;
+        }
+        local.put(key, value);
+        // An invalidation may have landed between the check and the put
+        if (generations.get(stripe(key)) != stamp) {
+            local.invalidate(key);
+            stalePutsDiscarded.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void putSerialized(String key, SerializedAccount value, long stamp) {
+        if (generations.get(stripe(key)) != stamp) {
+            stalePutsDiscarded.increment();
+            return;
+        }
+        // Never replace a newer copy put by a concurrent reader
+        serialized.asMap().merge(key, value,
+                (existing, candidate) -> existing.version() >= candidate.version() ? existing : candidate);
+        if (generations.get(stripe(key)) != stamp) {
+            serialized.invalidate(key);
+            stalePutsDiscarded.increment();
+        }
+    }
+
+    private SerializedAccount serialize(AccountResponse account) {
+        try {
+            return new SerializedAccount(account.getVersion(), objectMapper.writeValueAsBytes(account));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize account " + account.getAccountId(), e);
+        }
+    }
+
+    // The value and its fence in one round trip; null when Redis could not be read
+    private <T> RedisRead<T> readRedis(String key, Class<T> type, TypeReference<T> typeRef) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(keyPrefix + key, fenceKey(key)));
+            if (values == null) {
+                return null;
+            }
+            String json = values.get(0);
+            String fence = values.get(1) != null ? values.get(1) : "";
+            if (json == null) {
+                return new RedisRead<>(null, fence);
+            }
+            T value = type != null ? objectMapper.readValue(json, type) : objectMapper.readValue(json, typeRef);
+            return new RedisRead<>(value, fence);
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to read account cache entry from Redis: key={}", key, e);
+            return null;
+        }
+    }
+
+    // Values and fences in one MGET; the fences of the missing accounts go to fences, by key
+    private Map<String, AccountResponse> readRedis(Collection<String> accountIds, Map<String, String> fences) {
+        Map<String, AccountResponse> found = new HashMap<>();
+        try {
+            List<String> ids = List.copyOf(accountIds);
+            List<String> keys = new ArrayList<>(2 * ids.size());
+            for (String id : ids) {
+                keys.add(keyPrefix + ACCOUNT_KEY + id);
+                keys.add(fenceKey(ACCOUNT_KEY + id));
+            }
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return found;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                String json = values.get(2 * i);
+                if (json != null) {
+                    found.put(ids.get(i), objectMapper.readValue(json, AccountResponse.class));
+                } else {
+                    String fence = values.get(2 * i + 1);
+                    fences.put(ACCOUNT_KEY + ids.get(i), fence != null ? fence : "");
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to read account cache entries from Redis: count={}", accountIds.size(), e);
+        }
+        return found;
+    }
+
+    // Sets each value unless its key was invalidated since the fence was read
+    private void writeRedis(Map<String, RedisWrite> writes) {
+        try {
+            List<String> keys = new ArrayList<>(2 * writes.size());
+            List<String> args = new ArrayList<>(1 + 2 * writes.size());
+            args.add(Long.toString(redisTtl.toMillis()));
+            for (Map.Entry<String, RedisWrite> entry : writes.entrySet()) {
+                keys.add(keyPrefix + entry.getKey());
+                keys.add(fenceKey(entry.getKey()));
+                args.add(entry.getValue().fence());
+                args.add(objectMapper.writeValueAsString(entry.getValue().value()));
+            }
+            Long written = redisTemplate.execute(SET_IF_FENCE_UNCHANGED, keys, args.toArray());
+            if (written != null && written < writes.size()) {
+                stalePutsDiscarded.add(writes.size() - written);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to write account cache entries to Redis: count={}", writes.size(), e);
+        }
+    }
+
+    private void invalidateRedis(String[] keys) {
+        List<String> redisKeys = new ArrayList<>(2 * keys.length);
+        for (String key : keys) {
+            redisKeys.add(keyPrefix + key);
+            redisKeys.add(fenceKey(key));
+        }
+        // The fence outlives any load that could have read its old value
+        redisTemplate.execute(INVALIDATE, redisKeys, Long.toString(redisTtl.toMillis()));
+    }
+
+    private String fenceKey(String key) {
+        return keyPrefix + FENCE_KEY + key;
+    }
+
+    private record RedisRead<T>(T value, String fence) {
+    }
+
+    private record RedisWrite(Object value, String fence) {
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("account.cache.requests", localHits, LongAdder::sum)
+                .tag("result", "hit").tag("tier", "local").register(registry);
+        FunctionCounter.builder("account.cache.requests", serializedHits, LongAdder::sum)
+                .tag("result", "hit").tag("tier", "serialized").register(registry);
+        FunctionCounter.builder("account.cache.requests", redisHits, LongAdder::sum)
+                .tag("result", "hit").tag("tier", "redis").register(registry);
+        FunctionCounter.builder("account.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").tag("tier", "none").register(registry);
+        FunctionCounter.builder("account.cache.evictions", evictions, LongAdder::sum)
+                .description("Local entries removed by size or TTL").register(registry);
+        FunctionCounter.builder("account.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Invalidations applied after account writes").register(registry);
+        FunctionCounter.builder("account.cache.stale.puts", stalePutsDiscarded, LongAdder::sum)
+                .description("Loaded values discarded because the entry was invalidated during the load")
+                .register(registry);
+        FunctionCounter.builder("account.cache.redis.errors", redisErrors, LongAdder::sum).register(registry);
+        Gauge.builder("account.cache.size", local, Cache::estimatedSize).tag("tier", "local").register(registry);
+        if (serialized != null) {
+            Gauge.builder("account.cache.size", serialized, Cache::estimatedSize)
+                    .tag("tier", "serialized").register(registry);
+            Gauge.builder("account.cache.serialized.bytes", serialized,
+                            cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0))
+                                    .orElse(0L))
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+}
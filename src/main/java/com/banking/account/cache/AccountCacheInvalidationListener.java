@@ -0,0 +1,21 @@
+package com.banking.account.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies account cache invalidations published by other instances.
+ */
+@RequiredArgsConstructor
+public class AccountCacheInvalidationListener implements MessageListener {
+
+    private final AccountCache accountCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        accountCache.onInvalidationMessage(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
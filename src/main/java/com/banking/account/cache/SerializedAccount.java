@@ -0,0 +1,9 @@
+package com.banking.account.cache;
+
+/**
+ * An account as the UTF-8 JSON bytes of its AccountResponse, ready to be written to a
+ * response as they are, and the version they were serialized from (null when the source
+ * does not track versions). The bytes are shared and must not be modified.
+ */
+public record SerializedAccount(Long version, byte[] json) {
+}
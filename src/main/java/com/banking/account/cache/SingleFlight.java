@@ -0,0 +1,125 @@
+package com.banking.account.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller (the leader) runs
+ * the loader, callers arriving while it runs (followers) wait for and share its result or
+ * exception.
+ *
+ * Memory is bounded by {@code maxInFlight}: once that many distinct keys are loading, new
+ * keys are loaded directly without coalescing. A follower waits at most
+ * {@code waitTimeout} and then loads on its own, so one stuck query cannot hold every
+ * reader of a hot key hostage. {@link #forget} detaches a running load from its key, for
+ * writers that need later readers to start a fresh load.
+ *
+ * Publishes account.single.flight.calls by role (leader, follower, bypass), from which the
+ * coalescing ratio is followers / (leaders + followers), plus timeouts and in-flight keys.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final long waitTimeoutNanos;
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String operation, boolean enabled, int maxInFlight, Duration waitTimeout,
+                        MeterRegistry registry) {
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        FunctionCounter.builder("account.single.flight.calls", leaders, LongAdder::sum)
+                .tag("operation", operation).tag("role", "leader").register(registry);
+        FunctionCounter.builder("account.single.flight.calls", followers, LongAdder::sum)
+                .tag("operation", operation).tag("role", "follower").register(registry);
+        FunctionCounter.builder("account.single.flight.calls", bypassed, LongAdder::sum)
+                .tag("operation", operation).tag("role", "bypass").register(registry);
+        FunctionCounter.builder("account.single.flight.timeouts", timeouts, LongAdder::sum)
+                .description("Followers that gave up waiting for the leader and loaded on their own")
+                .tag("operation", operation).register(registry);
+        Gauge.builder("account.single.flight.in.flight", inFlight, Map::size)
+                .tag("operation", operation).register(registry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CompletableFuture<V> flight = inFlight.get(key);
+        if (flight == null) {
+            if (inFlight.size() >= maxInFlight) {
+                bypassed.increment();
+                return loader.get();
+            }
+            CompletableFuture<V> own = new CompletableFuture<>();
+            flight = inFlight.putIfAbsent(key, own);
+            if (flight == null) {
+                return lead(key, own, loader);
+            }
+        }
+        followers.increment();
+        return follow(flight, loader);
+    }
+
+    /**
+     * Detaches the load currently running for {@code key}, if any; callers already waiting
+     * on it still get its result.
+     */
+    public void forget(K key) {
+        if (enabled) {
+            inFlight.remove(key);
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V follow(CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            return flight.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            // Rethrow the leader's exception as-is so callers see e.g. AccountNotFoundException
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Coalesced load failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced load", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.account.config;
+
+import com.banking.account.datasource.ConsistencyTokenFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Honours X-Consistency-Token on reads whenever something can serve them stale: the read
+ * replica or the in-memory read model.
+ */
+@Configuration
+@ConditionalOnExpression("${account.datasource.replica.enabled:false} or ${account.read-model.enabled:false}")
+public class ConsistencyTokenConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConsistencyTokenFilter> consistencyTokenFilter() {
+        FilterRegistrationBean<ConsistencyTokenFilter> registration =
+                new FilterRegistrationBean<>(new ConsistencyTokenFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
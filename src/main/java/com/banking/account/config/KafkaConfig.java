@@ -1,12 +1,19 @@
 package com.banking.account.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 @Configuration
+@Slf4j
 public class KafkaConfig {
 
     @Value("${kafka.topic.account-events}")
@@ -18,13 +25,65 @@ public class KafkaConfig {
     @Value("${kafka.topic.replication-factor:1}")
     private int replicationFactor;
 
+    @Value("${kafka.topic.target-events-per-second:0}")
+    private long targetEventsPerSecond;
+
+    @Value("${kafka.topic.partition-events-per-second:0}")
+    private long partitionEventsPerSecond;
+
+    @Value("${kafka.producer.profile:balanced}")
+    private String producerProfile;
+
     @Bean
     public NewTopic accountEventsTopic() {
+        checkPartitionCount();
         return TopicBuilder.name(accountEventsTopic)
                 .partitions(partitions)
                 .replicas(replicationFactor)
                 .config("retention.ms", "604800000") // 7 days
-                .config("compression.type", "snappy")
+                .config("compression.type", "producer") // Keep the producer's codec instead of recompressing
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerProfileCustomizer() {
+        KafkaProducerProfile profile = KafkaProducerProfile.fromName(producerProfile);
+        return factory -> {
+            Map<String, Object> applied = profile.applyTo(factory);
+            Map<String, Object> effective = new TreeMap<>();
+            for (String key : profile.settings().keySet()) {
+                effective.put(key, factory.getConfigurationProperties().get(key));
+            }
+            log.info("Kafka producer profile {}: {} (explicit spring.kafka.producer settings kept for {})",
+                    profile.configName(), effective,
+                    profile.settings().keySet().stream().filter(key -> !applied.containsKey(key)).sorted().toList());
+            if (!Boolean.TRUE.equals(toBoolean(effective.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG)))) {
+                log.warn("Kafka producer idempotence is disabled; retried sends may duplicate or reorder account events");
+            }
+        };
+    }
+
+    /**
+     * A partition is consumed by at most one consumer of a group, so the partition count caps
+     * how far the topic scales. partition-events-per-second is the rate one partition sustains,
+     * measured with ProducerProfileBenchmark (single-partition topic) or with the consumers,
+     * whichever is lower.
+     */
+    private void checkPartitionCount() {
+        if (targetEventsPerSecond <= 0 || partitionEventsPerSecond <= 0) {
+            return;
+        }
+        long required = (targetEventsPerSecond + partitionEventsPerSecond - 1) / partitionEventsPerSecond;
+        if (partitions < required) {
+            log.warn("Topic {} has {} partitions but {} events/s at {} events/s per partition needs at least {}",
+                    accountEventsTopic, partitions, targetEventsPerSecond, partitionEventsPerSecond, required);
+        } else {
+            log.info("Topic {}: {} partitions cover {} events/s (needs {} at {} events/s per partition)",
+                    accountEventsTopic, partitions, targetEventsPerSecond, required, partitionEventsPerSecond);
+        }
+    }
+
+    private static Boolean toBoolean(Object value) {
+        return value == null ? null : Boolean.valueOf(value.toString());
+    }
+}
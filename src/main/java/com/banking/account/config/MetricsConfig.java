@@ -0,0 +1,89 @@
+package com.banking.account.config;
+
+import com.banking.account.datasource.ConcurrencyLimitedDataSource;
+import com.banking.account.logging.CountingAsyncAppender;
+import com.banking.account.repository.OutboxEventRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hot-path metrics on top of what Spring Boot already binds (HTTP server requests,
+ * spring.data.repository.invocations, hikaricp.* and the Kafka producer client metrics).
+ * Percentile histograms are switched on per meter in application.yml so the Prometheus
+ * endpoint serves buckets that can be aggregated across instances.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@code @Timed} on the service layer.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Outbox rows not yet relayed to Kafka, i.e. the outbound queue depth. Read on scrape;
+     * the partial index on unpublished rows keeps the count cheap.
+     */
+    @Bean
+    public MeterBinder outboxBacklogMetrics(OutboxEventRepository outboxEventRepository) {
+        return registry -> Gauge.builder("account.outbox.pending", outboxEventRepository,
+                        OutboxEventRepository::countByPublishedAtIsNull)
+                .description("Account events staged in the outbox and not yet published")
+                .register(registry);
+    }
+
+    /**
+     * Threads holding or waiting for a connection permit when the virtual-thread
+     * connection limiters are in front of the pools, tagged with the pool's bean name.
+     */
+    @Bean
+    public MeterBinder connectionLimiterMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((pool, dataSource) -> {
+            if (!(dataSource instanceof ConcurrencyLimitedDataSource limiter)) {
+                return;
+            }
+            Gauge.builder("account.datasource.limiter.active", limiter, ConcurrencyLimitedDataSource::getActive)
+                    .description("Threads currently holding a connection permit")
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("account.datasource.limiter.waiting", limiter, ConcurrencyLimitedDataSource::getWaiting)
+                    .description("Threads waiting for a connection permit")
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("account.datasource.limiter.max", limiter, ConcurrencyLimitedDataSource::getMaxConcurrent)
+                    .tag("pool", pool)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Log events dropped by the async appender of the async-logging profile; stays at zero
+     * when logging is synchronous.
+     */
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            FunctionCounter.builder("account.logging.dropped", CountingAsyncAppender.class,
+                            appender -> CountingAsyncAppender.discardedCount())
+                    .description("Log events dropped by the async appender instead of being queued")
+                    .tag("reason", "discarded")
+                    .register(registry);
+            FunctionCounter.builder("account.logging.dropped", CountingAsyncAppender.class,
+                            appender -> CountingAsyncAppender.overflowCount())
+                    .description("Log events dropped by the async appender instead of being queued")
+                    .tag("reason", "overflow")
+                    .register(registry);
+        };
+    }
+}
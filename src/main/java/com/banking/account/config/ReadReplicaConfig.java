@@ -0,0 +1,87 @@
+package com.banking.account.config;
+
+import com.banking.account.datasource.ReplicaLagMonitor;
+import com.banking.account.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read-replica routing (account.datasource.replica.enabled=true).
+ *
+ * Two Hikari pools, sized independently: the primary from spring.datasource.* and the
+ * replica from account.datasource.replica.*. The application's DataSource is a
+ * {@link LazyConnectionDataSourceProxy}: it fetches the physical connection only at the
+ * first statement, by which point the transaction manager has marked read-only
+ * transactions on it, and sends those to {@link ReplicaRoutingDataSource}. Everything
+ * else, including reads inside write transactions and Liquibase, uses the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("account.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${account.datasource.replica.url}") String url,
+            @Value("${account.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${account.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${account.datasource.replica.driver-class-name:${spring.datasource.driver-class-name:}}")
+            String driverClassName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .driverClassName(driverClassName.isBlank() ? null : driverClassName)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${account.datasource.replica.lag-query}") String lagQuery,
+            @Value("${account.datasource.replica.max-lag-ms:5000}") long maxLagMs,
+            MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagMs, meterRegistry);
+        // Know the replica's state before the first request instead of starting on the primary
+        monitor.poll();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource readOnly = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaLagMonitor, meterRegistry);
+        readOnly.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+}
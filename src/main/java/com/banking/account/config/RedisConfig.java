@@ -0,0 +1,29 @@
+package com.banking.account.config;
+
+import com.banking.account.cache.AccountCache;
+import com.banking.account.cache.AccountCacheInvalidationListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnExpression("${account.cache.enabled:true} and ${account.cache.redis.enabled:false}")
+public class RedisConfig {
+
+    @Value("${account.cache.redis.invalidation-channel:account-cache-invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public RedisMessageListenerContainer accountCacheInvalidationContainer(
+            RedisConnectionFactory connectionFactory, AccountCache accountCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new AccountCacheInvalidationListener(accountCache),
+                new ChannelTopic(invalidationChannel));
+        return container;
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.account.config;
+
+import com.banking.account.datasource.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true). Spring Boot already moves
+ * Tomcat request handling and the task executors onto virtual threads; this adds the
+ * connection limiters that keep them from stampeding the Hikari pools.
+ *
+ * Every Hikari pool gets its own limiter, sized to the pool unless configured: the primary
+ * (account.datasource.concurrency-limit.max-concurrent) and, with read-replica routing, the
+ * replica (account.datasource.replica.concurrency-limit.max-concurrent).
+ *
+ * Kafka send callbacks are not moved: the outbox relay waits on the send futures from its
+ * own thread, and the callback left on the producer I/O thread only releases the send permit
+ * and records the ack time.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    @ConditionalOnProperty(name = "account.datasource.concurrency-limit.enabled", havingValue = "true",
+            matchIfMissing = true)
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        long acquireTimeoutMs = environment.getProperty("account.datasource.concurrency-limit.acquire-timeout-ms",
+                Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Runs after the pool's properties are bound, so getMaximumPoolSize is the configured size
+                if (bean instanceof HikariDataSource pool) {
+                    String limitProperty = "replicaDataSource".equals(beanName)
+                            ? "account.datasource.replica.concurrency-limit.max-concurrent"
+                            : "account.datasource.concurrency-limit.max-concurrent";
+                    // Unset (-1) until the pool starts, which then applies Hikari's default
+                    int poolSize = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                    int maxConcurrent = environment.getProperty(limitProperty, Integer.class, poolSize);
+                    return new ConcurrencyLimitedDataSource(pool, maxConcurrent, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
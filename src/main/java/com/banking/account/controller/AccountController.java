@@ -1,24 +1,53 @@
 package com.banking.account.controller;
 
+import com.banking.account.cache.SerializedAccount;
+import com.banking.account.datasource.ConsistencyToken;
+import com.banking.account.dto.AccountLookupRequest;
+import com.banking.account.dto.AccountLookupResponse;
+import com.banking.account.dto.AccountPage;
+import com.banking.account.dto.BulkAccountResult;
+import com.banking.account.dto.BulkCreateAccountsResponse;
 import com.banking.account.dto.CreateAccountRequest;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.UpdateAccountStatusRequest;
+import com.banking.account.exception.AccountPreconditionFailedException;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.banking.account.idempotency.IdempotencyStore;
+import com.banking.account.kafka.OutboxBackpressure;
 import com.banking.account.service.AccountService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.shaded.io.opentelemetry.proto.metrics.v1.Summary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -29,11 +58,18 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final ObjectMapper objectMapper;
+    private final OutboxBackpressure outboxBackpressure;
+    private final IdempotencyStore idempotencyStore;
+
+    @Value("${account.bulk.max-rows:10000}")
+    private int bulkMaxRows;
 
     @PostMapping
     @Operation(
             summary = "Create a new account",
-            description = "Creates a new customer account and publishes an account creation event to Kafka"
+            description = "Creates a new customer account and publishes an account creation event to Kafka. "
+                    + "Retries carrying the same Idempotency-Key get the original response back"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -47,20 +83,181 @@ public class AccountController {
             ),
             @ApiResponse(
                     responseCode = "409",
-                    description = "Account with email already exists"
+                    description = "Account with email already exists, or a request with the same Idempotency-Key "
+                            + "is still running"
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Idempotency-Key was already used for a different request"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Account events are backing up; retry after the Retry-After delay"
             )
     })
     public ResponseEntity<AccountResponse> createAccount(
+            @Parameter(description = "Client-chosen key that makes retries of this request safe",
+                    example = "5f7d3c1e-8a4b-4f0e-9d2a-1b6c7e8f9a0b")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateAccountRequest request) {
-        log.info("Received create account request for customer: {}", request.getCustomerId());
-        AccountResponse response = accountService.createAccount(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        log.debug("Received create account request for customer: {}", request.getCustomerId());
+        return idempotencyStore.execute("create-account", idempotencyKey, request, AccountResponse.class, () -> {
+            outboxBackpressure.admit();
+            AccountResponse response = accountService.createAccount(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(ConsistencyToken.HEADER, ConsistencyToken.issue())
+                    .body(response);
+        });
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Create accounts in bulk",
+            description = "Creates up to account.bulk.max-rows accounts from a JSON array. Rows are processed in chunks "
+                    + "with one email lookup, one batched insert and one batched event publish per chunk"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see per-row results",
+                    content = @Content(schema = @Schema(implementation = BulkCreateAccountsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Body is not a JSON array, or has more than account.bulk.max-rows rows"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Account events are backing up; retry after the Retry-After delay"
+            )
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = CreateAccountRequest.class))))
+    public ResponseEntity<BulkCreateAccountsResponse> createAccounts(HttpServletRequest request) throws IOException {
+        List<CreateAccountRequest> requests = readBatch(request);
+        log.info("Received bulk create account request: rows={}", requests.size());
+        outboxBackpressure.admit();
+        List<BulkAccountResult> results = accountService.createAccounts(requests);
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkAccountResult.Status.CREATED)
+                .count();
+        BulkCreateAccountsResponse response = BulkCreateAccountsResponse.builder()
+                .total(results.size())
+                .created(created)
+                .rejected(results.size() - created)
+                .results(results)
+                .build();
+        return ResponseEntity.ok()
+                .header(ConsistencyToken.HEADER, ConsistencyToken.issue())
+                .body(response);
+    }
+
+    // Parsed row by row so a request over the limit is rejected before more than max-rows rows are held
+    private List<CreateAccountRequest> readBatch(HttpServletRequest request) throws IOException {
+        List<CreateAccountRequest> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of accounts");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Unterminated JSON array of accounts");
+                }
+                if (rows.size() == bulkMaxRows) {
+                    throw new IllegalArgumentException("Batch exceeds the limit of " + bulkMaxRows
+                            + " rows; use the NDJSON stream for larger loads");
+                }
+                rows.add(parser.readValueAs(CreateAccountRequest.class));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON array of accounts: " + e.getOriginalMessage());
+        }
+        return rows;
+    }
+
+    @PostMapping(value = "/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Create accounts from an NDJSON stream",
+            description = "Streams one CreateAccountRequest per line with no row limit and streams back one "
+                    + "BulkAccountResult per line as each chunk is committed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream processed; one result line per input line"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Account events are backing up; retry after the Retry-After delay"
+            )
+    })
+    public void createAccountsStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Received streaming bulk create account request");
+        outboxBackpressure.admit();
+        ObjectReader rowReader = objectMapper.readerFor(CreateAccountRequest.class);
+        BufferedReader reader = request.getReader();
+        Iterator<CreateAccountRequest> rows = reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> parseRow(rowReader, line))
+                .iterator();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        accountService.createAccounts(rows, results -> {
+            try {
+                for (BulkAccountResult result : results) {
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private CreateAccountRequest parseRow(ObjectReader rowReader, String line) {
+        try {
+            return rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            // Reported as an INVALID row rather than aborting the stream
+            return null;
+        }
     }
 
-    @GetMapping("/{accountId}")
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Look up several accounts by ID",
+            description = "Resolves up to account.lookup.max-ids account IDs in one call, from the cache where "
+                    + "possible and otherwise with batched database queries; unknown IDs are listed as missing"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lookup completed",
+                    content = @Content(schema = @Schema(implementation = AccountLookupResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No account IDs given, or more than the limit"
+            )
+    })
+    public ResponseEntity<AccountLookupResponse> lookupAccounts(
+            @Valid @RequestBody AccountLookupRequest request) {
+        log.debug("Received account lookup request: ids={}", request.getAccountIds().size());
+        AccountLookupResponse response = accountService.lookupAccounts(request.getAccountIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/{accountId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
             summary = "Get account by ID",
-            description = "Retrieves account details by account ID"
+            description = "Retrieves account details by account ID. The ETag is the account's version; send it "
+                    + "back in If-None-Match to get 304 with no body while the account is unchanged"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -68,37 +265,148 @@ public class AccountController {
                     description = "Account found",
                     content = @Content(schema = @Schema(implementation = AccountResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Account unchanged since the ETag in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Account not found"
             )
     })
-    public ResponseEntity<AccountResponse> getAccount(
+    public ResponseEntity<byte[]> getAccount(
             @Parameter(description = "Account ID", example = "ACC123456")
-            @PathVariable String accountId) {
-        log.info("Received get account request: accountId={}", accountId);
-        AccountResponse response = accountService.getAccount(accountId);
-        return ResponseEntity.ok(response);
+            @PathVariable String accountId,
+            @Parameter(description = "ETag of the copy the client holds", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received get account request: accountId={}", accountId);
+        Long currentVersion = null;
+        if (ifNoneMatch != null) {
+            // Only the version is read; the account is loaded and serialized only if it changed
+            currentVersion = accountService.getAccountVersion(accountId);
+            String etag = AccountETags.forVersion(currentVersion);
+            if (AccountETags.noneMatchHits(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
+        // Already-serialized JSON, written out by the byte array converter as it is
+        SerializedAccount account = accountService.getAccountJson(accountId, currentVersion);
+        return withETag(ResponseEntity.ok(), AccountETags.forVersion(account.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(account.json());
     }
 
     @GetMapping("/customer/{customerId}")
     @Operation(
             summary = "Get accounts by customer ID",
-            description = "Retrieves all accounts for a specific customer"
+            description = "Retrieves all accounts for a specific customer. The ETag covers the ID and version of "
+                    + "every account; send it back in If-None-Match to get 304 while none was added, removed or changed"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
                     description = "Accounts retrieved successfully",
                     content = @Content(schema = @Schema(implementation = AccountResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Accounts unchanged since the ETag in If-None-Match"
             )
     })
     public ResponseEntity<List<AccountResponse>> getAccountsByCustomer(
             @Parameter(description = "Customer ID", example = "CUST123")
-            @PathVariable String customerId) {
-        log.info("Received get accounts request for customer: {}", customerId);
+            @PathVariable String customerId,
+            @Parameter(description = "ETag of the list the client holds")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received get accounts request for customer: {}", customerId);
+        if (ifNoneMatch != null) {
+            String etag = AccountETags.forVersions(accountService.getAccountVersionsByCustomer(customerId));
+            if (AccountETags.noneMatchHits(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
         List<AccountResponse> response = accountService.getAccountsByCustomer(customerId);
-        return ResponseEntity.ok(response);
+        return withETag(ResponseEntity.ok(), AccountETags.forAccounts(response)).body(response);
+    }
+
+    @GetMapping("/customer/{customerId}/page")
+    @Operation(
+            summary = "List a customer's accounts page by page",
+            description = "Keyset-paginated listing ordered by creation time; pass nextCursor to fetch the next page"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AccountPage.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            )
+    })
+    public ResponseEntity<AccountPage> listAccountsByCustomer(
+            @Parameter(description = "Customer ID", example = "CUST123")
+            @PathVariable String customerId,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by account.listing.max-page-size)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Received list accounts request for customer: {}", customerId);
+        return ResponseEntity.ok(accountService.listAccountsByCustomer(customerId, cursor, limit));
+    }
+
+    @GetMapping(value = "/customer/{customerId}/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Export all of a customer's accounts",
+            description = "Streams every account of the customer as a JSON array without buffering the result set"
+    )
+    public ResponseEntity<StreamingResponseBody> exportAccountsByCustomer(
+            @Parameter(description = "Customer ID", example = "CUST123")
+            @PathVariable String customerId) {
+        log.info("Received export accounts request for customer: {}", customerId);
+        StreamingResponseBody body = out -> accountService.exportAccountsByCustomer(customerId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/status/{status}")
+    @Operation(
+            summary = "List accounts in a status page by page",
+            description = "Keyset-paginated listing ordered by creation time; pass nextCursor to fetch the next page"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AccountPage.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid status or cursor"
+            )
+    })
+    public ResponseEntity<AccountPage> listAccountsByStatus(
+            @Parameter(description = "Account status", example = "ACTIVE")
+            @PathVariable String status,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by account.listing.max-page-size)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Received list accounts request for status: {}", status);
+        return ResponseEntity.ok(accountService.listAccountsByStatus(status, cursor, limit));
+    }
+
+    @GetMapping(value = "/status/{status}/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Export all accounts in a status",
+            description = "Streams every account in the status as a JSON array without buffering the result set"
+    )
+    public ResponseEntity<StreamingResponseBody> exportAccountsByStatus(
+            @Parameter(description = "Account status", example = "SUSPENDED")
+            @PathVariable String status) {
+        log.info("Received export accounts request for status: {}", status);
+        StreamingResponseBody body = out -> accountService.exportAccountsByStatus(status, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/by-email/{email}")
@@ -116,7 +424,7 @@ public class AccountController {
     public ResponseEntity<List<AccountResponse>> getAccountsByCustomerEmail(
             @Parameter(description = "Customer Email", example="john.doe@gmail.com")
             @PathVariable String email) {
-        log.info("Received get accounts request for customer email: {}", email);
+        log.debug("Received get accounts request for customer email: {}", email);
         List<AccountResponse> response = accountService.getAccountByCustomerEmail(email);
         return ResponseEntity.ok(response);
     }
@@ -125,7 +433,8 @@ public class AccountController {
     @PatchMapping("/{accountId}/status")
     @Operation(
             summary = "Update account status",
-            description = "Updates the status of an account (ACTIVE, INACTIVE, SUSPENDED, CLOSED)"
+            description = "Updates the status of an account (ACTIVE, INACTIVE, SUSPENDED, CLOSED). With If-Match "
+                    + "set to the ETag from a read, the update applies only if no one changed the account since"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -140,15 +449,53 @@ public class AccountController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Account not found"
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "The account no longer matches the If-Match ETag"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Account events are backing up; retry after the Retry-After delay"
             )
     })
     public ResponseEntity<AccountResponse> updateAccountStatus(
             @Parameter(description = "Account ID", example = "ACC123456")
             @PathVariable String accountId,
+            @Parameter(description = "ETag the account must still have", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateAccountStatusRequest request) {
-        log.info("Received update account status request: accountId={}, newStatus={}",
+        log.debug("Received update account status request: accountId={}, newStatus={}",
                 accountId, request.getStatus());
-        AccountResponse response = accountService.updateAccountStatus(accountId, request);
-        return ResponseEntity.ok(response);
+        Long requiredVersion = AccountETags.requiredVersion(ifMatch);
+        if (requiredVersion != null) {
+            if (request.getExpectedVersion() != null && !request.getExpectedVersion().equals(requiredVersion)) {
+                throw new AccountPreconditionFailedException("If-Match " + ifMatch
+                        + " contradicts expectedVersion " + request.getExpectedVersion());
+            }
+            // The same conditional UPDATE as expectedVersion, so the check and the write are atomic
+            request.setExpectedVersion(requiredVersion);
+        }
+        outboxBackpressure.admit();
+        AccountResponse response;
+        try {
+            response = accountService.updateAccountStatus(accountId, request);
+        } catch (AccountVersionConflictException e) {
+            if (requiredVersion != null) {
+                throw new AccountPreconditionFailedException(e.getMessage());
+            }
+            throw e;
+        }
+        return withETag(ResponseEntity.ok(), AccountETags.forAccount(response))
+                .header(ConsistencyToken.HEADER, ConsistencyToken.issue())
+                .body(response);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder response, String etag) {
+        return etag != null ? response.eTag(etag) : response;
     }
 }
\ No newline at end of file
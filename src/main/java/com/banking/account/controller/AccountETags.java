@@ -0,0 +1,116 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.exception.AccountPreconditionFailedException;
+import com.banking.account.repository.AccountVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong ETags derived from the account's @Version column, so a conditional request can be
+ * answered from a version-only query instead of loading and serializing the account.
+ *
+ * An account is tagged with its version. A list of accounts is tagged with a hash of every
+ * (accountId, version) pair in account ID order, so adding, removing or changing any account
+ * changes the tag while the order rows come back in does not. Responses without a version
+ * (served by the read model, which does not track versions) get no tag.
+ */
+public final class AccountETags {
+
+    private AccountETags() {
+    }
+
+    /**
+     * Tag of an account at the given version, or null when the version is unknown.
+     */
+    public static String forVersion(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    public static String forAccount(AccountResponse account) {
+        return forVersion(account.getVersion());
+    }
+
+    public static String forAccounts(List<AccountResponse> accounts) {
+        List<AccountVersion> versions = new ArrayList<>(accounts.size());
+        for (AccountResponse account : accounts) {
+            if (account.getVersion() == null) {
+                return null;
+            }
+            versions.add(new AccountVersion(account.getAccountId(), account.getVersion()));
+        }
+        return forVersions(versions);
+    }
+
+    public static String forVersions(List<AccountVersion> versions) {
+        List<AccountVersion> sorted = new ArrayList<>(versions);
+        sorted.sort(Comparator.comparing(AccountVersion::accountId));
+        MessageDigest digest = sha256();
+        for (AccountVersion version : sorted) {
+            digest.update(version.accountId().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(String.valueOf(version.version()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ';');
+        }
+        // 128 bits keeps an accidental match, and with it a wrong 304, out of reach
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current tag. Uses the weak comparison
+     * RFC 9110 prescribes for If-None-Match, so W/"3" matches "3".
+     */
+    public static boolean noneMatchHits(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an If-Match header requires, or null when it requires none (absent or *).
+     * If-Match uses strong comparison, so a weak or malformed tag can never match and fails
+     * the precondition; a list of several tags cannot be expressed as one version and is
+     * rejected.
+     */
+    public static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("If-Match with more than one ETag is not supported");
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new AccountPreconditionFailedException("If-Match " + tag + " does not match the account's ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new AccountPreconditionFailedException("If-Match " + tag + " does not match the account's ETag");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.BulkStatusJobRequest;
+import com.banking.account.dto.StatusJobResponse;
+import com.banking.account.kafka.OutboxBackpressure;
+import com.banking.account.service.AccountStatusJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/accounts/status-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Account Management", description = "APIs for managing customer accounts")
+public class AccountStatusJobController {
+
+    private final AccountStatusJobService statusJobService;
+    private final OutboxBackpressure outboxBackpressure;
+
+    @PostMapping
+    @Operation(
+            summary = "Start a bulk status transition",
+            description = "Moves every selected account to the new status in the background, in chunks of one "
+                    + "set-based update and one batch of events each. Accounts that cannot make the transition "
+                    + "are skipped. Poll the returned job for progress"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Job accepted",
+                    content = @Content(schema = @Schema(implementation = StatusJobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid status, selector or transition"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Account events are backing up; retry after the Retry-After delay"
+            )
+    })
+    public ResponseEntity<StatusJobResponse> submitStatusJob(@Valid @RequestBody BulkStatusJobRequest request) {
+        log.info("Received bulk status job request: status={}, reason={}", request.getStatus(), request.getReason());
+        outboxBackpressure.admit();
+        StatusJobResponse response = statusJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/accounts/status-jobs/" + response.getJobId()))
+                .body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(
+            summary = "Get bulk status job progress",
+            description = "Returns the job state and the number of accounts updated and skipped so far"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(schema = @Schema(implementation = StatusJobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    public ResponseEntity<StatusJobResponse> getStatusJob(
+            @Parameter(description = "Job ID", example = "2f1c0e9a-6f6b-4d55-9a57-6a3f2f0f4b1e")
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(statusJobService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(
+            summary = "Resume a failed bulk status job",
+            description = "Re-queues a failed job; it continues after the last chunk it committed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Job re-queued",
+                    content = @Content(schema = @Schema(implementation = StatusJobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Job has not failed"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    public ResponseEntity<StatusJobResponse> resumeStatusJob(
+            @Parameter(description = "Job ID", example = "2f1c0e9a-6f6b-4d55-9a57-6a3f2f0f4b1e")
+            @PathVariable String jobId) {
+        log.info("Received resume request for bulk status job: {}", jobId);
+        outboxBackpressure.admit();
+        return ResponseEntity.accepted().body(statusJobService.resume(jobId));
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.account.datasource;
+
+/**
+ * Read-your-writes token for replica routing.
+ *
+ * Write endpoints return {@value #HEADER} holding the wall-clock time (epoch millis) at
+ * which their transaction had committed. A client that sends the token back on a read
+ * is served from the replica only if the replica is known to have replayed everything up
+ * to that time, otherwise from the primary. Tokens are compared against this service's
+ * clock, so instances need NTP-synchronised clocks; skew shows up as a few extra primary
+ * reads, never as stale ones beyond the skew.
+ */
+public final class ConsistencyToken {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> REQUIRED = new ThreadLocal<>();
+
+    private ConsistencyToken() {
+    }
+
+    /**
+     * Token for a write whose transaction has already committed.
+     */
+    public static String issue() {
+        return Long.toString(System.currentTimeMillis());
+    }
+
+    /**
+     * Parses a token sent by a client; malformed tokens are ignored.
+     */
+    static Long parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static void require(Long committedAtMillis) {
+        if (committedAtMillis == null) {
+            REQUIRED.remove();
+        } else {
+            REQUIRED.set(committedAtMillis);
+        }
+    }
+
+    static Long required() {
+        return REQUIRED.get();
+    }
+
+    /**
+     * Whether the current request sent a token, i.e. expects to read its own writes.
+     */
+    public static boolean requested() {
+        return REQUIRED.get() != null;
+    }
+
+    static void clear() {
+        REQUIRED.remove();
+    }
+}
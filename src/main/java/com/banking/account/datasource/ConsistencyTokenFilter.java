@@ -0,0 +1,33 @@
+package com.banking.account.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the request's {@link ConsistencyToken} to the handling thread so the replica
+ * routing and the read model can honour it. Work handed to other threads (streaming
+ * exports) does not see the token and may read from the replica.
+ */
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long required = ConsistencyToken.parse(request.getHeader(ConsistencyToken.HEADER));
+        if (required == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ConsistencyToken.require(required);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ConsistencyToken.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.account.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for its replication lag and tracks the wall-clock time up to which
+ * it has replayed the primary's commits. Until the first successful poll, and after any
+ * failed one, the replica counts as unusable and reads fall back to the primary.
+ */
+@Slf4j
+public final class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    private volatile long lagMs = -1;
+    private volatile long replayedUpToMillis = Long.MIN_VALUE;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagMs, MeterRegistry registry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("account.datasource.replica.lag", this, monitor -> monitor.lagMs < 0 ? Double.NaN : monitor.lagMs)
+                .description("Replication lag of the read replica in milliseconds (NaN when unknown)")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${account.datasource.replica.lag-poll-interval-ms:500}")
+    public void poll() {
+        long polledAt = System.currentTimeMillis();
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            long measured = lag == null ? 0 : Math.max(0, lag.longValue());
+            lagMs = measured;
+            replayedUpToMillis = polledAt - measured;
+        } catch (RuntimeException e) {
+            if (lagMs >= 0) {
+                log.warn("Replica lag check failed; routing reads to the primary", e);
+            }
+            lagMs = -1;
+            replayedUpToMillis = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Whether the replica is reachable and within the configured maximum lag.
+     */
+    public boolean isHealthy() {
+        long lag = lagMs;
+        return lag >= 0 && lag <= maxLagMs;
+    }
+
+    /**
+     * Whether the replica has replayed every commit made up to {@code committedAtMillis}.
+     */
+    public boolean hasReplayed(long committedAtMillis) {
+        return replayedUpToMillis >= committedAtMillis;
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.account.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only transactions: the replica when it is healthy and has caught up
+ * with the caller's {@link ConsistencyToken}, otherwise the primary.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter laggingFallbacks;
+    private final Counter readYourWritesFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.replicaReads = readCounter(registry, "replica", "healthy");
+        this.laggingFallbacks = readCounter(registry, "primary", "replica_lagging");
+        this.readYourWritesFallbacks = readCounter(registry, "primary", "read_your_writes");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!lagMonitor.isHealthy()) {
+            laggingFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        Long required = ConsistencyToken.required();
+        if (required != null && !lagMonitor.hasReplayed(required)) {
+            readYourWritesFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("account.datasource.reads")
+                .description("Read-only transactions by the pool they were routed to")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "accounts")
+// Mirrors the unique index from the Liquibase changelog so schemas generated by Hibernate
+// (H2 tests and benchmarks) enforce email uniqueness the same way
+@Table(name = "accounts", indexes = @Index(name = "idx_email", columnList = "email", unique = true))
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,33 @@
+package com.banking.account.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of the 1024 node IDs an account ID can carry, leased by a running instance through
+ * {@link com.banking.account.service.AccountIdNodeLease}. The lease is only changed through
+ * conditional updates in the repository, never by saving this entity.
+ */
+@Entity
+@Table(name = "account_id_nodes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountIdNode {
+
+    @Id
+    @Column(name = "node_id")
+    private Integer nodeId;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    // Epoch millis; every ID issued under the lease has an earlier timestamp
+    @Column(name = "lease_until", nullable = false)
+    private long leaseUntil;
+}
@@ -0,0 +1,95 @@
+package com.banking.account.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A bulk status transition, run in chunks by
+ * {@link com.banking.account.service.AccountStatusJobService}. Progress and the lease are
+ * written with conditional updates from the repository, never by saving this entity.
+ */
+@Entity
+@Table(name = "account_status_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatusJob {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * What selects the accounts; the keys the job walks are account IDs for ACCOUNT_IDS and
+     * STATUS and customer IDs for CUSTOMER_IDS.
+     */
+    public enum Selector {
+        ACCOUNT_IDS,
+        CUSTOMER_IDS,
+        STATUS
+    }
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    @Column(name = "target_status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private AccountStatus targetStatus;
+
+    @Column(name = "selector", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Selector selector;
+
+    // Sorted, comma-separated IDs, or the current status for STATUS
+    @Column(name = "selector_values", nullable = false, columnDefinition = "text")
+    private String selectorValues;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "state", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private State state;
+
+    @Column(name = "total_accounts")
+    private Long totalAccounts;
+
+    @Column(name = "updated_accounts", nullable = false)
+    private long updatedAccounts;
+
+    @Column(name = "skipped_accounts", nullable = false)
+    private long skippedAccounts;
+
+    @Column(name = "last_key", length = 20)
+    private String lastKey;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
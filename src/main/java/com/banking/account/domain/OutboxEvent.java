@@ -0,0 +1,67 @@
+package com.banking.account.domain;
+
+import com.banking.account.event.AccountEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Account event staged in the same transaction as the account change.
+ * Rows are drained to Kafka by {@link com.banking.account.kafka.AccountOutboxRelay}.
+ */
+@Entity
+@Table(name = "account_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_outbox_seq")
+    @SequenceGenerator(name = "account_outbox_seq", sequenceName = "account_outbox_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(name = "aggregate_id", nullable = false, length = 20)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private AccountEvent.AccountEventType eventType;
+
+    @Column(name = "content_type", nullable = false, length = 64)
+    private String contentType;
+
+    @Column(name = "payload", nullable = false, length = 4000)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // Numbered by the database as part of the INSERT. Ids come from per-instance blocks, so an
+    // event written later on another instance can have a lower id; relay_seq cannot, because
+    // writers of the same account are serialized by the account row's lock. The relay sends an
+    // account's events in this order. Not read back after insert
+    @Column(name = "relay_seq", insertable = false, updatable = false,
+            columnDefinition = "bigint generated by default as identity")
+    private Long relaySeq;
+
+    // Set while a relay instance is sending the row; other instances skip it until then
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,27 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for looking up several accounts at once")
+public class AccountLookupRequest {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Account IDs to look up; duplicates are ignored"),
+            schema = @Schema(example = "ACC123456")
+    )
+    @NotEmpty(message = "At least one account ID is required")
+    private List<@NotBlank(message = "Account ID must not be blank") String> accountIds;
+}
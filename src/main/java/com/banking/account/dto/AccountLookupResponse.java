@@ -0,0 +1,23 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a multi-account lookup")
+public class AccountLookupResponse {
+
+    @Schema(description = "Accounts found, in the order their IDs were requested")
+    private List<AccountResponse> accounts;
+
+    @Schema(description = "Requested account IDs that do not exist")
+    private List<String> missingAccountIds;
+}
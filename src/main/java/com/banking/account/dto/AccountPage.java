@@ -0,0 +1,29 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a keyset-paginated account listing")
+public class AccountPage {
+
+    @Schema(description = "Accounts on this page, ordered by creation time then account ID")
+    private List<AccountResponse> items;
+
+    @Schema(
+            description = "Opaque cursor for the next page (absent on the last page)",
+            example = "MjAyNC0xMS0wOFQxMDozMDowMHxBQ0MxMjM0NTY"
+    )
+    private String nextCursor;
+
+    @Schema(description = "Whether more accounts follow this page", example = "true")
+    private boolean hasMore;
+}
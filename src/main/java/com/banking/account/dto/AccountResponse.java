@@ -74,4 +74,11 @@ public class AccountResponse {
             example = "2024-11-08T15:45:30"
     )
     private String updatedAt;
+
+    @Schema(
+            description = "Version of the account, incremented on every change; pass it as expectedVersion to make "
+                    + "an update conditional on no one else having changed the account",
+            example = "3"
+    )
+    private Long version;
 }
@@ -0,0 +1,55 @@
+package com.banking.account.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single row of a bulk account creation")
+public class BulkAccountResult {
+
+    @Schema(
+            description = "Zero-based position of the row in the submitted batch",
+            example = "0"
+    )
+    private int index;
+
+    @Schema(
+            description = "Outcome of the row",
+            example = "CREATED",
+            allowableValues = {"CREATED", "DUPLICATE", "INVALID", "FAILED"}
+    )
+    private Status status;
+
+    @Schema(
+            description = "Email address submitted for the row",
+            example = "john.doe@example.com"
+    )
+    private String email;
+
+    @Schema(
+            description = "Identifier of the created account (only present when status is CREATED)",
+            example = "ACC17304567891234ABCD"
+    )
+    private String accountId;
+
+    @Schema(
+            description = "Reason the row was not created",
+            example = "Account with email john.doe@example.com already exists"
+    )
+    private String error;
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
@@ -0,0 +1,29 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response object for a bulk account creation")
+public class BulkCreateAccountsResponse {
+
+    @Schema(description = "Number of rows submitted", example = "1000")
+    private int total;
+
+    @Schema(description = "Number of accounts created", example = "998")
+    private int created;
+
+    @Schema(description = "Number of rows that were not created", example = "2")
+    private int rejected;
+
+    @Schema(description = "Per-row outcomes, in submission order")
+    private List<BulkAccountResult> results;
+}
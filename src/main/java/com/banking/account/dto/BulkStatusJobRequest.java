@@ -0,0 +1,51 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for a bulk status transition; exactly one of accountIds, customerIds "
+        + "and currentStatus selects the accounts")
+public class BulkStatusJobRequest {
+
+    @Schema(
+            description = "New status for the selected accounts. Accounts that cannot make the transition "
+                    + "(closed, or already in this status) are skipped",
+            example = "SUSPENDED",
+            required = true,
+            allowableValues = {"ACTIVE", "INACTIVE", "SUSPENDED", "CLOSED"}
+    )
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "ACTIVE|INACTIVE|SUSPENDED|CLOSED", message = "Invalid status")
+    private String status;
+
+    @Schema(description = "Accounts to transition", example = "[\"ACC123456\", \"ACC123457\"]")
+    private List<String> accountIds;
+
+    @Schema(description = "Customers whose accounts are all transitioned", example = "[\"CUST123\"]")
+    private List<String> customerIds;
+
+    @Schema(
+            description = "Transition every account currently in this status",
+            example = "INACTIVE",
+            allowableValues = {"ACTIVE", "INACTIVE", "SUSPENDED", "CLOSED"}
+    )
+    @Pattern(regexp = "ACTIVE|INACTIVE|SUSPENDED|CLOSED", message = "Invalid status")
+    private String currentStatus;
+
+    @Schema(
+            description = "Reason for the status change, kept on the job for audit purposes",
+            example = "Compliance review 2024-117"
+    )
+    private String reason;
+}
@@ -0,0 +1,54 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of a bulk status job")
+public class StatusJobResponse {
+
+    @Schema(description = "Job ID", example = "2f1c0e9a-6f6b-4d55-9a57-6a3f2f0f4b1e")
+    private String jobId;
+
+    @Schema(description = "Job state", example = "RUNNING", allowableValues = {"PENDING", "RUNNING", "COMPLETED", "FAILED"})
+    private String state;
+
+    @Schema(description = "Status the accounts are moved to", example = "SUSPENDED")
+    private String targetStatus;
+
+    @Schema(description = "How the accounts were selected", example = "CUSTOMER_IDS")
+    private String selector;
+
+    @Schema(description = "Reason given for the change", example = "Compliance review 2024-117")
+    private String reason;
+
+    @Schema(description = "Accounts matched by the selector when the job started; null until counted", example = "5000")
+    private Long totalAccounts;
+
+    @Schema(description = "Accounts moved to the target status", example = "3120")
+    private long updatedAccounts;
+
+    @Schema(description = "Accounts that were missing, closed or already in the target status", example = "12")
+    private long skippedAccounts;
+
+    @Schema(description = "Share of the matched accounts processed so far", example = "62.6")
+    private double percentComplete;
+
+    @Schema(description = "Why the job failed")
+    private String error;
+
+    @Schema(description = "Job creation timestamp", example = "2024-01-15T10:30:00")
+    private String createdAt;
+
+    @Schema(description = "Timestamp the job was first picked up", example = "2024-01-15T10:30:01")
+    private String startedAt;
+
+    @Schema(description = "Completion or failure timestamp", example = "2024-01-15T10:31:12")
+    private String completedAt;
+}
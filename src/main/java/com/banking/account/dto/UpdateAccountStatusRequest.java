@@ -30,4 +30,11 @@ public class UpdateAccountStatusRequest {
             example = "Suspicious activity detected"
     )
     private String reason;
+
+    @Schema(
+            description = "Apply the change only if the account is still at this version (optional); "
+                    + "a mismatch returns 409. An If-Match header does the same and returns 412 instead",
+            example = "3"
+    )
+    private Long expectedVersion;
 }
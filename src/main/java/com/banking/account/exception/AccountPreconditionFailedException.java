@@ -0,0 +1,7 @@
+package com.banking.account.exception;
+
+public class AccountPreconditionFailedException extends RuntimeException {
+    public AccountPreconditionFailedException(String message) {
+        super(message);
+    }
+}
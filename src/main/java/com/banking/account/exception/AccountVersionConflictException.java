@@ -0,0 +1,7 @@
+package com.banking.account.exception;
+
+public class AccountVersionConflictException extends RuntimeException {
+    public AccountVersionConflictException(String message) {
+        super(message);
+    }
+}
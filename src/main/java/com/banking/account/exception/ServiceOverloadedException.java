@@ -0,0 +1,18 @@
+package com.banking.account.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed because a downstream dependency is not keeping up.
+ * Mapped to 503 with a Retry-After header.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.account.exception;
+
+public class StatusJobNotFoundException extends RuntimeException {
+    public StatusJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,363 @@
+package com.banking.account.idempotency;
+
+import com.banking.account.exception.IdempotencyKeyInUseException;
+import com.banking.account.exception.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of requests sent with an Idempotency-Key header so a client retry
+ * gets the original response back instead of running the request again.
+ *
+ * Completed responses are kept in a bounded Caffeine tier and, when Redis is enabled, in
+ * Redis for the other instances, both for ttl-seconds. A retry that finds one is answered
+ * from it without touching the database or Kafka. Only successful (2xx) responses are
+ * stored; a request that failed can be retried with the same key.
+ *
+ * A duplicate that arrives while the first request is still running waits for it instead
+ * of racing it: on the same instance it joins the first request's result, across instances
+ * a Redis SET NX marker holds the key and the duplicate polls for the stored response. It
+ * waits at most wait-timeout-ms and then gets 409. A key reused with a different request
+ * body gets 422. While Redis cannot be reached, keys are only coalesced on this instance
+ * rather than every keyed request being refused.
+ *
+ * Publishes account.idempotency.requests by outcome (fresh, replayed, joined, rejected) so
+ * replay latency can be compared with the fresh path.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String REDIS_KEY = "idempotency:";
+    private static final long REDIS_POLL_MS = 50;
+
+    private enum RemoteLock { ACQUIRED, HELD, UNAVAILABLE }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final long waitTimeoutMs;
+    private final int maxKeyLength;
+    private final String keyPrefix;
+
+    private final Cache<String, StoredResponse> local;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Timer fresh;
+    private final Timer replayed;
+    private final Timer joined;
+    private final Timer rejected;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${account.idempotency.enabled:true}") boolean enabled,
+                            @Value("${account.idempotency.local.maximum-size:100000}") long localMaximumSize,
+                            @Value("${account.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${account.idempotency.redis.enabled:${account.cache.redis.enabled:false}}") boolean redisEnabled,
+                            @Value("${account.idempotency.lock-ttl-ms:30000}") long lockTtlMs,
+                            @Value("${account.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                            @Value("${account.idempotency.max-key-length:255}") int maxKeyLength,
+                            @Value("${account.cache.redis.key-prefix:account-service:}") String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.redisEnabled = enabled && redisEnabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.lockTtl = Duration.ofMillis(lockTtlMs);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.maxKeyLength = maxKeyLength;
+        this.keyPrefix = keyPrefix + REDIS_KEY;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.fresh = requestTimer(meterRegistry, "fresh");
+        this.replayed = requestTimer(meterRegistry, "replayed");
+        this.joined = requestTimer(meterRegistry, "joined");
+        this.rejected = requestTimer(meterRegistry, "rejected");
+        Gauge.builder("account.idempotency.in.flight", inFlight, Map::size)
+                .description("Idempotent requests currently running on this instance")
+                .register(meterRegistry);
+        Gauge.builder("account.idempotency.local.size", local, cache -> cache.estimatedSize())
+                .description("Stored responses held in the local tier")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A stored response. status is 0 in the Redis marker of a request still running.
+     */
+    record StoredResponse(String fingerprint, int status, Map<String, List<String>> headers, JsonNode body) {
+    }
+
+    /**
+     * Runs action once per (scope, key): returns the stored response for a key that already
+     * completed, waits for the running request for a key that is in flight, and otherwise
+     * runs action and stores its response. request is the body that identifies the request;
+     * a key seen with a different body is rejected.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (!enabled || key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + maxKeyLength + " characters");
+        }
+        long start = System.nanoTime();
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        try {
+            StoredResponse stored = lookup(storeKey);
+            if (stored != null) {
+                ResponseEntity<T> response = replay(stored, fingerprint, bodyType);
+                replayed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return response;
+            }
+
+            CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storeKey, own);
+            if (running != null) {
+                ResponseEntity<T> response = replay(await(running, key), fingerprint, bodyType);
+                joined.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return response;
+            }
+            try {
+                ResponseEntity<T> response = lead(storeKey, key, fingerprint, bodyType, action, own);
+                fresh.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return response;
+            } finally {
+                inFlight.remove(storeKey, own);
+            }
+        } catch (IdempotencyKeyMismatchException | IdempotencyKeyInUseException e) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private <T> ResponseEntity<T> lead(String storeKey, String key, String fingerprint, Class<T> bodyType,
+                                       Supplier<ResponseEntity<T>> action, CompletableFuture<StoredResponse> own) {
+        boolean locked = false;
+        try {
+            // Re-check now that we own the key locally: a request that just finished may
+            // have stored its response between the lookup and the putIfAbsent
+            StoredResponse stored = lookup(storeKey);
+            if (stored == null && redisEnabled) {
+                RemoteLock lock = lockRemote(storeKey, fingerprint);
+                locked = lock == RemoteLock.ACQUIRED;
+                if (lock == RemoteLock.HELD) {
+                    stored = awaitRemote(storeKey, key, fingerprint);
+                }
+            }
+            if (stored != null) {
+                own.complete(stored);
+                return replay(stored, fingerprint, bodyType);
+            }
+
+            ResponseEntity<T> response = action.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                StoredResponse completed = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                        Map.copyOf(response.getHeaders()), objectMapper.valueToTree(response.getBody()));
+                local.put(storeKey, completed);
+                if (locked && writeRemote(storeKey, completed)) {
+                    // The stored response replaced the marker
+                    locked = false;
+                }
+                own.complete(completed);
+            } else {
+                own.completeExceptionally(new IdempotencyKeyInUseException(
+                        "The request with " + HEADER + " " + key + " did not complete; retry it"));
+            }
+            return response;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (locked) {
+                unlockRemote(storeKey);
+            }
+        }
+    }
+
+    private StoredResponse lookup(String storeKey) {
+        StoredResponse stored = local.getIfPresent(storeKey);
+        if (stored == null && redisEnabled) {
+            try {
+                stored = readRemote(storeKey);
+            } catch (RuntimeException e) {
+                log.warn("Failed to read a stored idempotent response from Redis: key={}", storeKey, e);
+                return null;
+            }
+            if (stored != null && stored.status() != 0) {
+                local.put(storeKey, stored);
+            } else {
+                stored = null;
+            }
+        }
+        return stored;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, String key) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw inUse(key);
+        } catch (ExecutionException e) {
+            // The duplicate fails the way the first request did
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Idempotent request failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inUse(key);
+        }
+    }
+
+    /**
+     * Waits for the instance holding the key to store its response. Returns null when Redis
+     * stops answering meanwhile, so the request runs here as it would with Redis down.
+     */
+    private StoredResponse awaitRemote(String storeKey, String key, String fingerprint) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        try {
+            while (System.nanoTime() < deadline) {
+                StoredResponse stored;
+                try {
+                    stored = readRemote(storeKey);
+                } catch (RuntimeException e) {
+                    log.warn("Redis failed while waiting for an idempotency key; running the request: key={}",
+                            storeKey, e);
+                    return null;
+                }
+                if (stored == null) {
+                    // The other instance gave up on the key (its request failed); let the client retry
+                    break;
+                }
+                if (!stored.fingerprint().equals(fingerprint)) {
+                    throw new IdempotencyKeyMismatchException(HEADER + " was already used for a different request");
+                }
+                if (stored.status() != 0) {
+                    local.put(storeKey, stored);
+                    return stored;
+                }
+                Thread.sleep(REDIS_POLL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw inUse(key);
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(HEADER + " was already used for a different request");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        stored.headers().forEach(headers::addAll);
+        headers.set(REPLAYED_HEADER, "true");
+        T body = stored.body() == null || stored.body().isNull()
+                ? null
+                : objectMapper.convertValue(stored.body(), bodyType);
+        return ResponseEntity.status(stored.status()).headers(headers).body(body);
+    }
+
+    private RemoteLock lockRemote(String storeKey, String fingerprint) {
+        try {
+            String marker = objectMapper.writeValueAsString(new StoredResponse(fingerprint, 0, Map.of(), null));
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(keyPrefix + storeKey, marker, lockTtl))
+                    ? RemoteLock.ACQUIRED
+                    : RemoteLock.HELD;
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Without Redis only duplicates on this instance are coalesced
+            log.warn("Failed to take the idempotency key in Redis; coalescing on this instance only: key={}",
+                    storeKey, e);
+            return RemoteLock.UNAVAILABLE;
+        }
+    }
+
+    private void unlockRemote(String storeKey) {
+        try {
+            redisTemplate.delete(keyPrefix + storeKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release the idempotency key in Redis: key={}", storeKey, e);
+        }
+    }
+
+    // Null when Redis does not hold the key; throws when Redis cannot be reached
+    private StoredResponse readRemote(String storeKey) {
+        String json = redisTemplate.opsForValue().get(keyPrefix + storeKey);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent response in Redis", e);
+        }
+    }
+
+    private boolean writeRemote(String storeKey, StoredResponse stored) {
+        try {
+            redisTemplate.opsForValue().set(keyPrefix + storeKey, objectMapper.writeValueAsString(stored), ttl);
+            return true;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to store an idempotent response in Redis: key={}", storeKey, e);
+            return false;
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint the request", e);
+        }
+    }
+
+    private static IdempotencyKeyInUseException inUse(String key) {
+        return new IdempotencyKeyInUseException("A request with " + HEADER + " " + key
+                + " is still being processed; retry later");
+    }
+
+    private static Timer requestTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("account.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by how they were answered")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.account.kafka;
+
+import com.banking.account.domain.OutboxEvent;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import com.banking.account.kafka.serialization.AccountEventSerializers;
+import com.banking.account.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stages account events in the outbox table as part of the caller's transaction.
+ * The event only becomes visible to {@link AccountOutboxRelay} once the account change commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AccountEventSerializers serializers;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(AccountEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+        log.debug("Account event staged in outbox: eventId={}, accountId={}, eventType={}",
+                event.getEventId(), event.getAccountId(), event.getEventType());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<AccountEvent> events) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (AccountEvent event : events) {
+            outboxEvents.add(toOutboxEvent(event));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+        log.debug("Account events staged in outbox: count={}", events.size());
+    }
+
+    // Events are encoded once, here, in the configured wire format; the relay sends the bytes as-is
+    private OutboxEvent toOutboxEvent(AccountEvent event) {
+        AccountEventSerializer serializer = serializers.active();
+        try {
+            return OutboxEvent.builder()
+                    .eventId(event.getEventId())
+                    .aggregateId(event.getAccountId())
+                    .eventType(event.getEventType())
+                    .contentType(serializer.contentType())
+                    .payload(serializers.serialize(event))
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("Failed to serialize account event: {}", event, e);
+            throw e;
+        }
+    }
+}
@@ -1,66 +1,118 @@
 package com.banking.account.kafka;
 
-import com.banking.account.event.AccountEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AccountEventProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${kafka.topic.account-events}")
     private String accountEventsTopic;
 
-    public void publishAccountEvent(AccountEvent event) {
-        try {
-            String eventJson = objectMapper.writeValueAsString(event);
+    @Value("${kafka.producer.backpressure.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${kafka.producer.backpressure.acquire-timeout-ms:0}")
+    private long acquireTimeoutMs;
 
-            CompletableFuture<SendResult<String, String>> future =
-                    kafkaTemplate.send(accountEventsTopic, event.getAccountId(), eventJson);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Semaphore sendPermits;
+    private Timer ackTimer;
+    private Timer failedAckTimer;
+    private Counter rejectedSends;
 
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("Account event published successfully: eventId={}, accountId={}, eventType={}, partition={}, offset={}",
-                            event.getEventId(),
-                            event.getAccountId(),
-                            event.getEventType(),
-                            result.getRecordMetadata().partition(),
-                            result.getRecordMetadata().offset());
-                } else {
-                    log.error("Failed to publish account event: eventId={}, accountId={}, eventType={}",
-                            event.getEventId(),
-                            event.getAccountId(),
-                            event.getEventType(),
-                            ex);
-                    throw new RuntimeException("Failed to publish account event", ex);
-                }
-            });
+    @PostConstruct
+    void initMetrics() {
+        sendPermits = new Semaphore(maxInFlight);
+        ackTimer = sendTimer("success");
+        failedAckTimer = sendTimer("failure");
+        rejectedSends = Counter.builder("account.events.send.rejected")
+                .description("Account events not handed to the producer because max-in-flight sends were outstanding")
+                .register(meterRegistry);
+        Gauge.builder("account.events.in.flight", inFlight, AtomicInteger::get)
+                .description("Account events handed to the producer and not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    private Timer sendTimer(String result) {
+        return Timer.builder("account.events.send")
+                .description("Time from handing an account event to the producer until the broker ack")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize account event: {}", event, e);
-            throw new RuntimeException("Failed to serialize account event", e);
+    /**
+     * Sends an already serialized event, tagged with its content type. Used by the outbox
+     * relay, which pipelines a whole batch of sends before waiting on any of the futures.
+     *
+     * At most kafka.producer.backpressure.max-in-flight sends are outstanding. Beyond that
+     * the caller waits up to acquire-timeout-ms (0 = not at all) for an ack to free a slot,
+     * and the returned future then fails with {@link EventBackpressureException} instead of
+     * the record queueing in the producer buffer until max.block.ms.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> send(String accountId, byte[] payload, String contentType) {
+        if (!acquireSendPermit()) {
+            rejectedSends.increment();
+            return CompletableFuture.failedFuture(new EventBackpressureException(
+                    "Too many account events in flight (" + maxInFlight + ")"));
         }
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(accountEventsTopic, accountId, payload);
+        record.headers().add(AccountEventSerializer.CONTENT_TYPE_HEADER, contentType.getBytes(StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<SendResult<String, byte[]>> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, ex) -> {
+            inFlight.decrementAndGet();
+            sendPermits.release();
+            (ex == null ? ackTimer : failedAckTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+        return future;
     }
 
-    public CompletableFuture<SendResult<String, String>> publishAccountEventSync(AccountEvent event) {
+    private boolean acquireSendPermit() {
+        if (acquireTimeoutMs <= 0) {
+            return sendPermits.tryAcquire();
+        }
         try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            return kafkaTemplate.send(accountEventsTopic, event.getAccountId(), eventJson);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize account event: {}", event, e);
-            throw new RuntimeException("Failed to serialize account event", e);
+            return sendPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends everything the producer is still holding back for linger.ms and waits until
+     * those requests complete.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+}
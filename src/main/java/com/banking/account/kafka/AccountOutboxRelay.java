@@ -0,0 +1,226 @@
+package com.banking.account.kafka;
+
+import com.banking.account.domain.OutboxEvent;
+import com.banking.account.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the account outbox to Kafka.
+ *
+ * A batch is claimed in a short transaction: the rows are selected with SKIP LOCKED and
+ * marked claimed for outbox.relay.claim-ttl-ms, so several instances can relay in parallel
+ * without holding row locks or a connection while they wait for the broker. Only the
+ * earliest unpublished event of each account is claimable, so an account never has more
+ * than one event in flight and a failed event cannot be overtaken by a later one for the
+ * same account. Every record in the batch is handed to the producer before any ack is
+ * awaited (the producer pipelines them); the acknowledged rows are then marked published,
+ * and the claims of the others released, in a second short transaction. A claim left
+ * behind by an instance that stopped expires after claim-ttl-ms, which must exceed
+ * send-timeout-ms (checked at startup) so a batch still waiting for acks is never re-sent.
+ *
+ * After a batch with failed sends the relay backs off before the next attempt: exponential
+ * from outbox.relay.retry.initial-backoff-ms up to max-backoff-ms, with full jitter so
+ * instances recovering from the same broker outage do not retry in lockstep.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class AccountOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AccountEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.claim-ttl-ms:60000}")
+    private long claimTtlMs;
+
+    @Value("${outbox.relay.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${outbox.relay.retry.initial-backoff-ms:200}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.retry.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    private int consecutiveFailures;
+    private long retryAtNanos;
+
+    @PostConstruct
+    void validateClaimTtl() {
+        // A claim that expires while its batch still waits for acks lets another instance send it again
+        if (claimTtlMs <= sendTimeoutMs) {
+            throw new IllegalStateException("outbox.relay.claim-ttl-ms (" + claimTtlMs
+                    + ") must be greater than outbox.relay.send-timeout-ms (" + sendTimeoutMs + ")");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        if (consecutiveFailures > 0 && System.nanoTime() - retryAtNanos < 0) {
+            return;
+        }
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            BatchOutcome outcome = relayBatch();
+            if (outcome.failed()) {
+                backOff();
+                return;
+            }
+            consecutiveFailures = 0;
+            // Later events of the accounts just published only become claimable now
+            if (outcome.published() == 0) {
+                return;
+            }
+        }
+    }
+
+    private void backOff() {
+        consecutiveFailures++;
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(consecutiveFailures - 1, 20));
+        long delayMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        log.warn("Outbox relay backing off after failed sends: attempt={}, delayMs={}", consecutiveFailures, delayMs);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged published outbox events: count={}, cutoff={}", deleted, cutoff);
+        }
+    }
+
+    private BatchOutcome relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> claimable = outboxEventRepository.lockClaimable(now, PageRequest.of(0, batchSize));
+            if (!claimable.isEmpty()) {
+                outboxEventRepository.claim(claimable.stream().map(OutboxEvent::getId).toList(),
+                        now.plus(Duration.ofMillis(claimTtlMs)));
+            }
+            return claimable;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return new BatchOutcome(0, false);
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            CompletableFuture<SendResult<String, byte[]>> future;
+            try {
+                future = eventProducer.send(outboxEvent.getAggregateId(), outboxEvent.getPayload(),
+                        outboxEvent.getContentType());
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.add(future);
+        }
+        // The relay waits for this batch's acks next, so lingering for more records only adds latency
+        eventProducer.flush();
+
+        List<Long> publishedIds = new ArrayList<>(batch.size());
+        List<Long> failedIds = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        boolean interrupted = false;
+
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent outboxEvent = batch.get(i);
+            if (interrupted) {
+                failedIds.add(outboxEvent.getId());
+                continue;
+            }
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                publishedIds.add(outboxEvent.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+                failedIds.add(outboxEvent.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                failedIds.add(outboxEvent.getId());
+                String error = classify(e);
+                failedSends(error).increment();
+                if ("non_retriable".equals(error)) {
+                    log.error("Failed to relay account event: eventId={}, accountId={}, eventType={}",
+                            outboxEvent.getEventId(),
+                            outboxEvent.getAggregateId(),
+                            outboxEvent.getEventType(),
+                            e);
+                } else {
+                    log.warn("Account event not relayed, will retry: eventId={}, accountId={}, error={}",
+                            outboxEvent.getEventId(), outboxEvent.getAggregateId(), e.toString());
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!publishedIds.isEmpty()) {
+                outboxEventRepository.markPublished(publishedIds, LocalDateTime.now());
+            }
+            if (!failedIds.isEmpty()) {
+                outboxEventRepository.releaseClaims(failedIds);
+            }
+        });
+        log.debug("Outbox batch relayed: fetched={}, published={}", batch.size(), publishedIds.size());
+        return new BatchOutcome(publishedIds.size(), !failedIds.isEmpty());
+    }
+
+    private static String classify(Exception e) {
+        if (e instanceof TimeoutException) {
+            return "retriable";
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof EventBackpressureException) {
+                return "backpressure";
+            }
+            if (cause instanceof RetriableException) {
+                return "retriable";
+            }
+        }
+        return "non_retriable";
+    }
+
+    private Counter failedSends(String error) {
+        return Counter.builder("account.outbox.relay.failed.sends")
+                .description("Outbox events whose send failed and that stay unpublished for a later attempt")
+                .tag("error", error)
+                .register(meterRegistry);
+    }
+
+    private record BatchOutcome(int published, boolean failed) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.account.kafka;
+
+/**
+ * An account event was not handed to the producer because the in-flight limit was reached.
+ * The event stays in the outbox and is retried like any other failed send.
+ */
+public class EventBackpressureException extends RuntimeException {
+    public EventBackpressureException(String message) {
+        super(message);
+    }
+}
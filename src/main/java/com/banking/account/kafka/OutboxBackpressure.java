@@ -0,0 +1,114 @@
+package com.banking.account.kafka;
+
+import com.banking.account.exception.ServiceOverloadedException;
+import com.banking.account.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for requests that stage account events.
+ *
+ * Requests never wait on Kafka themselves: events go to the outbox and the relay sends
+ * them. When the broker slows down the outbox backlog grows instead, and this gate decides
+ * what a write request does once it is above outbox.backpressure.max-pending:
+ * <ul>
+ *   <li>spill (default): accept it; the outbox is the durable queue the relay drains later.</li>
+ *   <li>block: wait up to block-timeout-ms for the backlog to drop, then shed it.</li>
+ *   <li>fail-fast: shed it immediately.</li>
+ * </ul>
+ * Shed requests get 503 with Retry-After. The backlog is counted every refresh-interval-ms
+ * rather than per request.
+ */
+@Component
+@Slf4j
+public class OutboxBackpressure {
+
+    public enum Policy { SPILL, BLOCK, FAIL_FAST }
+
+    private static final long BLOCK_POLL_MS = 50;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Policy policy;
+    private final long maxPending;
+    private final long blockTimeoutMs;
+    private final long retryAfterSeconds;
+    private final Counter rejections;
+    private final Counter delayed;
+
+    private volatile long pending;
+
+    public OutboxBackpressure(OutboxEventRepository outboxEventRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${outbox.backpressure.policy:spill}") String policy,
+                              @Value("${outbox.backpressure.max-pending:100000}") long maxPending,
+                              @Value("${outbox.backpressure.block-timeout-ms:2000}") long blockTimeoutMs,
+                              @Value("${outbox.backpressure.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.policy = Policy.valueOf(policy.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.maxPending = maxPending;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        String policyTag = this.policy.name().toLowerCase(Locale.ROOT);
+        this.rejections = Counter.builder("account.outbox.backpressure.rejections")
+                .description("Write requests shed because the outbox backlog was above max-pending")
+                .tag("policy", policyTag)
+                .register(meterRegistry);
+        this.delayed = Counter.builder("account.outbox.backpressure.delayed")
+                .description("Write requests that waited for the outbox backlog to drop")
+                .tag("policy", policyTag)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.backpressure.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (policy == Policy.SPILL) {
+            return;
+        }
+        try {
+            pending = outboxEventRepository.countByPublishedAtIsNull();
+        } catch (RuntimeException e) {
+            // Keep the last value; the write itself will surface a database outage
+            log.warn("Failed to count pending outbox events", e);
+        }
+    }
+
+    /**
+     * Called before a write request starts its transaction, so a blocked or shed request
+     * never holds a connection.
+     */
+    public void admit() {
+        if (policy == Policy.SPILL || pending < maxPending) {
+            return;
+        }
+        if (policy == Policy.BLOCK && awaitBacklog()) {
+            return;
+        }
+        rejections.increment();
+        throw new ServiceOverloadedException(
+                "Account events are backing up (" + pending + " pending); retry later", retryAfterSeconds);
+    }
+
+    private boolean awaitBacklog() {
+        delayed.increment();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        try {
+            while (pending >= maxPending) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(BLOCK_POLL_MS);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.account.kafka.serialization;
+
+import com.banking.account.event.AccountEvent;
+
+/**
+ * Wire format for {@link AccountEvent}s on the account-events topic. The format used for a
+ * record is announced in its {@value #CONTENT_TYPE_HEADER} header so consumers can migrate
+ * between formats one at a time.
+ */
+public interface AccountEventSerializer {
+
+    String CONTENT_TYPE_HEADER = "content-type";
+
+    /**
+     * Short name used to select the format in configuration (kafka.producer.event-format).
+     */
+    String format();
+
+    String contentType();
+
+    byte[] serialize(AccountEvent event);
+
+    AccountEvent deserialize(byte[] payload);
+}
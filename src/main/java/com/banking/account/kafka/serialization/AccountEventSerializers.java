@@ -0,0 +1,68 @@
+package com.banking.account.kafka.serialization;
+
+import com.banking.account.event.AccountEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the serializer used for outgoing events (kafka.producer.event-format) and the
+ * one matching the content-type header of an incoming record.
+ */
+@Component
+public class AccountEventSerializers {
+
+    private final Map<String, AccountEventSerializer> byContentType;
+    private final AccountEventSerializer active;
+    private final Timer serializeTimer;
+
+    public AccountEventSerializers(List<AccountEventSerializer> serializers,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${kafka.producer.event-format:json}") String format) {
+        this.byContentType = serializers.stream()
+                .collect(Collectors.toMap(AccountEventSerializer::contentType, Function.identity()));
+        this.active = serializers.stream()
+                .filter(serializer -> serializer.format().equals(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown account event format: " + format));
+        this.serializeTimer = Timer.builder("account.events.serialize")
+                .description("Time to encode an outgoing account event")
+                .tag("format", active.format())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encodes an outgoing event with the active serializer, recording the time taken.
+     */
+    public byte[] serialize(AccountEvent event) {
+        long start = System.nanoTime();
+        byte[] payload = active.serialize(event);
+        serializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return payload;
+    }
+
+    public AccountEventSerializer active() {
+        return active;
+    }
+
+    /**
+     * Records without a content-type header predate the header and are JSON.
+     */
+    public AccountEventSerializer forContentType(String contentType) {
+        if (contentType == null) {
+            return byContentType.get(JsonAccountEventSerializer.CONTENT_TYPE);
+        }
+        AccountEventSerializer serializer = byContentType.get(contentType);
+        if (serializer == null) {
+            throw new IllegalArgumentException("Unsupported account event content type: " + contentType);
+        }
+        return serializer;
+    }
+}
@@ -0,0 +1,302 @@
+package com.banking.account.kafka.serialization;
+
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+import com.banking.account.event.AccountEvent;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact, schema-versioned binary encoding of {@link AccountEvent}.
+ *
+ * Layout (schema version 1):
+ * <pre>
+ *   byte    schema version
+ *   byte    flags (bit 0: eventId stored as a 16-byte UUID instead of a string)
+ *   byte    eventType ordinal
+ *   byte    accountType ordinal
+ *   byte    status ordinal
+ *   ...     eventId (two longs, or string)
+ *   long    createdAt, epoch micros UTC
+ *   long    eventTimestamp, epoch micros UTC
+ *   string  accountId, customerId, currency, customerName, email, phoneNumber
+ * </pre>
+ * Strings are a varint of (UTF-8 length + 1) followed by the bytes, 0 meaning null. Enum
+ * ordinals are -1 for null, which means the enums must only ever be appended to; any
+ * other layout change needs a new schema version.
+ *
+ * Encoding happens in a per-thread scratch buffer, so the only allocation per event is
+ * the returned array.
+ */
+@Component
+public class BinaryAccountEventSerializer implements AccountEventSerializer {
+
+    public static final String CONTENT_TYPE = "application/vnd.banking.account-event+binary;v=1";
+
+    static final byte SCHEMA_VERSION = 1;
+
+    private static final int FLAG_UUID_EVENT_ID = 1;
+    private static final byte NULL_ORDINAL = -1;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private static final AccountEvent.AccountEventType[] EVENT_TYPES = AccountEvent.AccountEventType.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+
+    private final ThreadLocal<Output> buffers = ThreadLocal.withInitial(() -> new Output(INITIAL_BUFFER_SIZE));
+
+    @Override
+    public String format() {
+        return "binary";
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] serialize(AccountEvent event) {
+        Output out = buffers.get();
+        out.reset();
+
+        UUID eventId = parseUuid(event.getEventId());
+        out.writeByte(SCHEMA_VERSION);
+        out.writeByte(eventId != null ? FLAG_UUID_EVENT_ID : 0);
+        out.writeByte(event.getEventType() != null ? event.getEventType().ordinal() : NULL_ORDINAL);
+        out.writeByte(event.getAccountType() != null ? AccountType.valueOf(event.getAccountType()).ordinal() : NULL_ORDINAL);
+        out.writeByte(event.getStatus() != null ? AccountStatus.valueOf(event.getStatus()).ordinal() : NULL_ORDINAL);
+        if (eventId != null) {
+            out.writeLong(eventId.getMostSignificantBits());
+            out.writeLong(eventId.getLeastSignificantBits());
+        } else {
+            out.writeString(event.getEventId());
+        }
+        out.writeLong(toEpochMicros(event.getCreatedAt()));
+        out.writeLong(toEpochMicros(event.getEventTimestamp()));
+        out.writeString(event.getAccountId());
+        out.writeString(event.getCustomerId());
+        out.writeString(event.getCurrency());
+        out.writeString(event.getCustomerName());
+        out.writeString(event.getEmail());
+        out.writeString(event.getPhoneNumber());
+        return out.toByteArray();
+    }
+
+    @Override
+    public AccountEvent deserialize(byte[] payload) {
+        Input in = new Input(payload);
+        byte version = in.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported account event schema version: " + version);
+        }
+        int flags = in.readByte();
+        byte eventType = in.readByte();
+        byte accountType = in.readByte();
+        byte status = in.readByte();
+        String eventId = (flags & FLAG_UUID_EVENT_ID) != 0
+                ? new UUID(in.readLong(), in.readLong()).toString()
+                : in.readString();
+        return AccountEvent.builder()
+                .eventId(eventId)
+                .eventType(eventType != NULL_ORDINAL ? EVENT_TYPES[eventType] : null)
+                .accountType(accountType != NULL_ORDINAL ? ACCOUNT_TYPES[accountType].name() : null)
+                .status(status != NULL_ORDINAL ? STATUSES[status].name() : null)
+                .createdAt(fromEpochMicros(in.readLong()))
+                .eventTimestamp(fromEpochMicros(in.readLong()))
+                .accountId(in.readString())
+                .customerId(in.readString())
+                .currency(in.readString())
+                .customerName(in.readString())
+                .email(in.readString())
+                .phoneNumber(in.readString())
+                .build();
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            // Only take the compact form when it round-trips to the same text
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NULL_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        if (micros == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        private Output(int initialSize) {
+            this.buffer = new byte[initialSize];
+        }
+
+        void reset() {
+            position = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            int length = utf8Length(value);
+            writeVarInt(length + 1);
+            ensureCapacity(length);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate: encode as '?' like String.getBytes does
+                    buffer[position++] = (byte) '?';
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private static int utf8Length(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    length++;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    length++;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            checkAvailable(1);
+            return buffer[position++];
+        }
+
+        long readLong() {
+            checkAvailable(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in account event");
+        }
+
+        String readString() {
+            int lengthPlusOne = readVarInt();
+            if (lengthPlusOne == 0) {
+                return null;
+            }
+            int length = lengthPlusOne - 1;
+            checkAvailable(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void checkAvailable(int count) {
+            if (count < 0 || position + count > buffer.length) {
+                throw new IllegalArgumentException("Truncated account event payload");
+            }
+        }
+    }
+}
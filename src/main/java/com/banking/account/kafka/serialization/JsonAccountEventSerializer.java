@@ -0,0 +1,49 @@
+package com.banking.account.kafka.serialization;
+
+import com.banking.account.event.AccountEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * The original JSON format. Bytes are identical to what the String-based producer used
+ * to send, so existing consumers with a StringDeserializer keep working.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonAccountEventSerializer implements AccountEventSerializer {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String format() {
+        return "json";
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] serialize(AccountEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize account event", e);
+        }
+    }
+
+    @Override
+    public AccountEvent deserialize(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, AccountEvent.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize account event", e);
+        }
+    }
+}
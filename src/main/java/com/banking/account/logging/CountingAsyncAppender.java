@@ -0,0 +1,53 @@
+package com.banking.account.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it throws away, so a bounded,
+ * non-blocking queue does not lose log lines silently. Two cases are counted:
+ * <ul>
+ *   <li>discarded: TRACE/DEBUG/INFO events dropped because the queue was above the
+ *       discarding threshold;</li>
+ *   <li>overflow: any event dropped because the queue was full and {@code neverBlock}
+ *       is set. Capacity is checked before the offer, so under contention a few events
+ *       racing for the last slots can still be lost uncounted.</li>
+ * </ul>
+ * The counts are process-wide and published as account.logging.dropped by
+ * {@link com.banking.account.config.MetricsConfig}; logback creates appenders before the
+ * Spring context exists, hence the static counters.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder OVERFLOWED = new LongAdder();
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DISCARDED.increment();
+        }
+        return discardable;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            // The offer would fail anyway; skip the caller-side preprocessing too
+            OVERFLOWED.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public static long discardedCount() {
+        return DISCARDED.sum();
+    }
+
+    public static long overflowCount() {
+        return OVERFLOWED.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.banking.account.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a per-request log event on a hot path is emitted. Callers guard the
+ * whole event with {@link #sample()}, so a skipped event costs one random draw and no
+ * formatting or allocation:
+ * <pre>
+ *   if (sampler.sample()) {
+ *       log.atInfo().setMessage("Account fetched").addKeyValue("accountId", id).log();
+ *   }
+ * </pre>
+ * account.logging.hot-path.sample-rate is the fraction of events kept: 1.0 logs every
+ * request, 0 none. These events are diagnostic only: failures are logged by the exception
+ * handler and every state change is recorded durably as an outbox event.
+ */
+@Component
+public class HotPathLogSampler {
+
+    private final double sampleRate;
+
+    public HotPathLogSampler(@Value("${account.logging.hot-path.sample-rate:1.0}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalStateException("account.logging.hot-path.sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+}
@@ -0,0 +1,252 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.datasource.ConsistencyToken;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.event.AccountEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory projection of the account-events topic, indexed by account ID, customer ID
+ * and email (account.read-model.enabled=true).
+ *
+ * Every event carries the full account, so applying the latest event of each account
+ * rebuilds the table; {@link AccountReadModelConsumer} is the only writer. Readers see
+ * each account either before or after an event, never half-applied. Accounts live in an
+ * {@link AccountStore}: on the heap, or off it (account.read-model.store=off-heap) for
+ * millions of accounts without the GC cost.
+ *
+ * The model only answers while it is within account.read-model.max-staleness-ms of the
+ * topic (see {@link #isServable()}); requests that carry an X-Consistency-Token always go
+ * to the database, since the token cannot be compared with a topic position.
+ */
+@Component
+@ConditionalOnProperty(name = "account.read-model.enabled", havingValue = "true")
+@Slf4j
+public final class AccountReadModel {
+
+    private static final int SNAPSHOT_MAGIC = 0x41524D31;
+
+    private final AccountStore store;
+    private final Map<String, String> currencies = new ConcurrentHashMap<>();
+    // Next offset to apply per partition; written and read by the consumer thread only
+    private final Map<Integer, Long> positions = new HashMap<>();
+    private final long maxStalenessMs;
+
+    // Wall-clock time up to which every event on the topic has been applied; 0 until caught up
+    private volatile long consistentAsOfMillis;
+    private volatile long lag = -1;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+
+    public AccountReadModel(MeterRegistry meterRegistry,
+                            @Value("${account.read-model.max-staleness-ms:2000}") long maxStalenessMs,
+                            @Value("${account.read-model.store:heap}") String store,
+                            @Value("${account.read-model.off-heap.initial-capacity:65536}") int initialCapacity) {
+        this(meterRegistry, maxStalenessMs, AccountStore.create(store, initialCapacity));
+    }
+
+    AccountReadModel(MeterRegistry meterRegistry, long maxStalenessMs, AccountStore store) {
+        this.maxStalenessMs = maxStalenessMs;
+        this.store = store;
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * True when reads may be answered from the model: it has applied everything that was on
+     * the topic no more than max-staleness-ms ago and the request asked for no read-your-writes.
+     * Otherwise counts the read as bypassed.
+     */
+    public boolean isServable() {
+        long consistentAsOf = consistentAsOfMillis;
+        if (consistentAsOf != 0 && System.currentTimeMillis() - consistentAsOf <= maxStalenessMs
+                && !ConsistencyToken.requested()) {
+            return true;
+        }
+        bypassed.increment();
+        return false;
+    }
+
+    /**
+     * The account, or null when the model does not have it (it may have been created after
+     * the model's position).
+     */
+    public AccountResponse getAccount(String accountId) {
+        ReadModelAccount account = store.get(accountId);
+        if (account == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return account.toResponse();
+    }
+
+    public List<AccountResponse> getAccountsByCustomer(String customerId) {
+        List<ReadModelAccount> accounts = store.getByCustomer(customerId);
+        hits.increment();
+        return accounts.stream().map(ReadModelAccount::toResponse).toList();
+    }
+
+    public List<AccountResponse> getAccountsByEmail(String email) {
+        ReadModelAccount account = store.getByEmail(email);
+        hits.increment();
+        return account != null ? List.of(account.toResponse()) : List.of();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Applies the event at the given topic position. Consumer thread only.
+     */
+    void apply(AccountEvent event, int partition, long offset) {
+        positions.put(partition, offset + 1);
+        if (event.getAccountId() == null) {
+            return;
+        }
+        ReadModelAccount previous = store.get(event.getAccountId());
+        store.put(ReadModelAccount.apply(previous, event, intern(event.getCurrency())));
+        applied.increment();
+    }
+
+    /**
+     * Moves past a record that could not be decoded. Consumer thread only.
+     */
+    void skip(int partition, long offset) {
+        positions.put(partition, offset + 1);
+    }
+
+    String intern(String currency) {
+        return currency == null ? null : currencies.computeIfAbsent(currency, c -> c);
+    }
+
+    /**
+     * Next offset to apply per partition, as restored from a snapshot or advanced by
+     * {@link #apply}. Consumer thread only.
+     */
+    Map<Integer, Long> positions() {
+        return positions;
+    }
+
+    /**
+     * Records how far behind the topic the model was at a given time: with zero lag the
+     * model reflects everything written up to that time.
+     */
+    void recordLag(long lag, long consistentAsOfMillis) {
+        this.lag = lag;
+        if (consistentAsOfMillis > this.consistentAsOfMillis) {
+            this.consistentAsOfMillis = consistentAsOfMillis;
+        }
+    }
+
+    /**
+     * Writes positions and accounts to a temporary file next to the snapshot and moves it
+     * into place, so a crash leaves either the old snapshot or the new one. Consumer thread
+     * only, so the snapshot is consistent with its positions.
+     */
+    void writeSnapshot(Path snapshot) throws IOException {
+        Files.createDirectories(snapshot.toAbsolutePath().getParent());
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(positions.size());
+            for (Map.Entry<Integer, Long> position : positions.entrySet()) {
+                out.writeInt(position.getKey());
+                out.writeLong(position.getValue());
+            }
+            out.writeInt(store.size());
+            store.forEach(account -> {
+                try {
+                    account.writeTo(out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a snapshot written by {@link #writeSnapshot}; returns false when there is none.
+     * Consumer thread only, before the first event is applied.
+     */
+    boolean restoreSnapshot(Path snapshot) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a read-model snapshot: " + snapshot);
+            }
+            int partitions = in.readInt();
+            for (int i = 0; i < partitions; i++) {
+                positions.put(in.readInt(), in.readLong());
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                store.put(ReadModelAccount.readFrom(in, this));
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Drops everything, e.g. after a corrupt snapshot. Consumer thread only.
+     */
+    void clear() {
+        store.clear();
+        positions.clear();
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("account.read-model.reads", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("account.read-model.reads", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("account.read-model.reads", bypassed, LongAdder::sum)
+                .tag("result", "bypassed")
+                .description("Reads sent to the database because the model was stale or a consistency token was sent")
+                .register(registry);
+        FunctionCounter.builder("account.read-model.events.applied", applied, LongAdder::sum).register(registry);
+        Gauge.builder("account.read-model.accounts", store, AccountStore::size).register(registry);
+        Gauge.builder("account.read-model.off-heap", store, AccountStore::offHeapBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("account.read-model.lag", this, model -> model.lag)
+                .description("Events on the topic not yet applied; -1 until first measured")
+                .register(registry);
+        Gauge.builder("account.read-model.staleness", this, model -> model.consistentAsOfMillis == 0
+                        ? Double.NaN
+                        : System.currentTimeMillis() - model.consistentAsOfMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
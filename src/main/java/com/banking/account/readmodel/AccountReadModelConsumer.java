@@ -0,0 +1,277 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import com.banking.account.kafka.serialization.AccountEventSerializers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Feeds the {@link AccountReadModel} from the account-events topic.
+ *
+ * One thread with a plain consumer that is assigned every partition and commits nothing:
+ * its position is the model's, and the model is persisted together with its positions in
+ * a snapshot every account.read-model.snapshot.interval-ms and at shutdown. A restart
+ * restores the snapshot and replays only what was written after it, instead of the whole
+ * topic.
+ *
+ * Every lag-check-interval-ms the thread compares its position with the end offsets. With
+ * nothing left, the model is consistent as of that check; while events keep arriving, it
+ * is consistent as of the previous check once it has passed that check's end offsets.
+ */
+@Component
+@ConditionalOnProperty(name = "account.read-model.enabled", havingValue = "true")
+@Slf4j
+public class AccountReadModelConsumer {
+
+    private static final String SNAPSHOT_FILE = "accounts.snapshot";
+
+    private final AccountReadModel readModel;
+    private final AccountEventSerializers serializers;
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final String topic;
+    private final Path snapshot;
+    private final long snapshotIntervalMs;
+    private final Duration pollTimeout;
+    private final long lagCheckIntervalMs;
+    private final int maxPollRecords;
+    private final Counter undecodable;
+
+    private volatile boolean running;
+    private volatile Consumer<String, byte[]> consumer;
+    private Thread thread;
+
+    public AccountReadModelConsumer(AccountReadModel readModel,
+                                    AccountEventSerializers serializers,
+                                    ConsumerFactory<?, ?> consumerFactory,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${kafka.topic.account-events}") String topic,
+                                    @Value("${account.read-model.snapshot.directory:}") String snapshotDirectory,
+                                    @Value("${account.read-model.snapshot.interval-ms:60000}") long snapshotIntervalMs,
+                                    @Value("${account.read-model.poll-timeout-ms:200}") long pollTimeoutMs,
+                                    @Value("${account.read-model.lag-check-interval-ms:200}") long lagCheckIntervalMs,
+                                    @Value("${account.read-model.max-poll-records:2000}") int maxPollRecords) {
+        this.readModel = readModel;
+        this.serializers = serializers;
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.snapshot = snapshotDirectory.isBlank() ? null : Path.of(snapshotDirectory, SNAPSHOT_FILE);
+        this.snapshotIntervalMs = snapshotIntervalMs;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMs);
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+        this.maxPollRecords = maxPollRecords;
+        this.undecodable = Counter.builder("account.read-model.events.undecodable")
+                .description("Records skipped because they could not be decoded")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "account-read-model");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        Consumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (thread != null) {
+            thread.join(10_000);
+            thread = null;
+        }
+    }
+
+    private void run() {
+        restoreSnapshot();
+        try (Consumer<String, byte[]> kafkaConsumer = createConsumer()) {
+            consumer = kafkaConsumer;
+            List<TopicPartition> partitions = assign(kafkaConsumer);
+            LagCheck previousCheck = null;
+            long nextLagCheck = 0;
+            long nextSnapshot = System.currentTimeMillis() + snapshotIntervalMs;
+            while (running) {
+                ConsumerRecords<String, byte[]> records = kafkaConsumer.poll(pollTimeout);
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    apply(record);
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextLagCheck) {
+                    previousCheck = checkLag(kafkaConsumer, partitions, previousCheck);
+                    nextLagCheck = now + lagCheckIntervalMs;
+                }
+                if (snapshot != null && now >= nextSnapshot) {
+                    writeSnapshot();
+                    nextSnapshot = now + snapshotIntervalMs;
+                }
+            }
+        } catch (WakeupException e) {
+            if (running) {
+                log.error("Read model consumer woken up unexpectedly; the model will go stale", e);
+            }
+        } catch (RuntimeException e) {
+            log.error("Read model consumer failed; the model will go stale and reads fall back to the database", e);
+        } finally {
+            consumer = null;
+        }
+        if (snapshot != null) {
+            writeSnapshot();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<String, byte[]> createConsumer() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // A snapshot older than the topic's retention starts over from the oldest event
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return (Consumer<String, byte[]>) consumerFactory.createConsumer(null, "account-read-model", null, overrides);
+    }
+
+    private List<TopicPartition> assign(Consumer<String, byte[]> kafkaConsumer) {
+        List<PartitionInfo> infos = List.of();
+        while (running && infos.isEmpty()) {
+            try {
+                List<PartitionInfo> found = kafkaConsumer.partitionsFor(topic, Duration.ofSeconds(30));
+                infos = found != null ? found : List.of();
+            } catch (TimeoutException e) {
+                log.warn("Kafka unreachable, retrying before building the read model: {}", e.getMessage());
+            }
+            if (infos.isEmpty()) {
+                log.info("Waiting for topic {} before building the read model", topic);
+            }
+        }
+        List<TopicPartition> partitions = new ArrayList<>(infos.size());
+        for (PartitionInfo info : infos) {
+            partitions.add(new TopicPartition(topic, info.partition()));
+        }
+        kafkaConsumer.assign(partitions);
+
+        Map<Integer, Long> positions = readModel.positions();
+        List<TopicPartition> fromBeginning = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            Long position = positions.get(partition.partition());
+            if (position != null) {
+                kafkaConsumer.seek(partition, position);
+            } else {
+                fromBeginning.add(partition);
+            }
+        }
+        // An empty collection would rewind every partition
+        if (!fromBeginning.isEmpty()) {
+            kafkaConsumer.seekToBeginning(fromBeginning);
+        }
+        log.info("Read model consuming {}: partitions={}, restoredAccounts={}",
+                topic, partitions.size(), readModel.size());
+        return partitions;
+    }
+
+    private void apply(ConsumerRecord<String, byte[]> record) {
+        try {
+            Header contentType = record.headers().lastHeader(AccountEventSerializer.CONTENT_TYPE_HEADER);
+            AccountEventSerializer serializer = serializers.forContentType(
+                    contentType != null ? new String(contentType.value(), StandardCharsets.UTF_8) : null);
+            AccountEvent event = serializer.deserialize(record.value());
+            readModel.apply(event, record.partition(), record.offset());
+        } catch (RuntimeException e) {
+            // Includes unknown account types and statuses, which leave the model unchanged
+            undecodable.increment();
+            log.warn("Skipping undecodable account event: partition={}, offset={}, error={}",
+                    record.partition(), record.offset(), e.toString());
+            readModel.skip(record.partition(), record.offset());
+        }
+    }
+
+    private LagCheck checkLag(Consumer<String, byte[]> kafkaConsumer, List<TopicPartition> partitions,
+                              LagCheck previous) {
+        // Everything acknowledged before this moment is below the end offsets fetched next
+        long checkedAt = System.currentTimeMillis();
+        Map<TopicPartition, Long> endOffsets;
+        try {
+            endOffsets = kafkaConsumer.endOffsets(partitions, Duration.ofSeconds(5));
+        } catch (TimeoutException e) {
+            // The model keeps its last consistency time and goes stale until the broker answers
+            return previous;
+        }
+        long lag = 0;
+        boolean passedPrevious = previous != null;
+        for (TopicPartition partition : partitions) {
+            long position = kafkaConsumer.position(partition);
+            lag += Math.max(0, endOffsets.getOrDefault(partition, 0L) - position);
+            if (previous != null && position < previous.endOffsets().getOrDefault(partition, 0L)) {
+                passedPrevious = false;
+            }
+        }
+        long consistentAsOf = lag == 0 ? checkedAt : passedPrevious ? previous.checkedAt() : 0;
+        readModel.recordLag(lag, consistentAsOf);
+        return new LagCheck(checkedAt, endOffsets);
+    }
+
+    private void restoreSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (readModel.restoreSnapshot(snapshot)) {
+                log.info("Read model snapshot restored: accounts={}, tookMs={}",
+                        readModel.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable read model snapshot {}, rebuilding from the topic: {}", snapshot, e.toString());
+            readModel.clear();
+        }
+    }
+
+    private void writeSnapshot() {
+        long start = System.nanoTime();
+        try {
+            readModel.writeSnapshot(snapshot);
+            log.debug("Read model snapshot written: accounts={}, tookMs={}",
+                    readModel.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write read model snapshot {}: {}", snapshot, e.toString());
+        }
+    }
+
+    private record LagCheck(long checkedAt, Map<TopicPartition, Long> endOffsets) {
+    }
+}
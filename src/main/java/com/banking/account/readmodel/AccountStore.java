@@ -0,0 +1,51 @@
+package com.banking.account.readmodel;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage behind the {@link AccountReadModel} (account.read-model.store): accounts by ID
+ * plus the customer and email indexes. One writer, any number of concurrent readers.
+ */
+interface AccountStore {
+
+    static AccountStore create(String type, int initialCapacity) {
+        return switch (type) {
+            case "heap" -> new HeapAccountStore();
+            case "off-heap" -> new OffHeapAccountStore(initialCapacity);
+            default -> throw new IllegalStateException("Unknown account.read-model.store: " + type
+                    + " (expected heap or off-heap)");
+        };
+    }
+
+    ReadModelAccount get(String accountId);
+
+    List<ReadModelAccount> getByCustomer(String customerId);
+
+    ReadModelAccount getByEmail(String email);
+
+    /**
+     * Stores the account, replacing the one with the same ID and moving it between
+     * customers and emails if those changed. Writer only.
+     */
+    void put(ReadModelAccount account);
+
+    int size();
+
+    /**
+     * Visits every account. Writer only, so nothing changes during the visit.
+     */
+    void forEach(Consumer<ReadModelAccount> action);
+
+    /**
+     * Writer only.
+     */
+    void clear();
+
+    /**
+     * Memory held outside the Java heap, in bytes.
+     */
+    default long offHeapBytes() {
+        return 0;
+    }
+}
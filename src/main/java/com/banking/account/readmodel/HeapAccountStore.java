@@ -0,0 +1,94 @@
+package com.banking.account.readmodel;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link AccountStore} on concurrent hash maps. Readers see each account either before or
+ * after a put, never half-written, and the customer index holds immutable ID arrays that
+ * are replaced rather than changed.
+ */
+class HeapAccountStore implements AccountStore {
+
+    private static final String[] NO_IDS = new String[0];
+
+    private final Map<String, ReadModelAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<String, String[]> accountIdsByCustomer = new ConcurrentHashMap<>();
+    private final Map<String, String> accountIdByEmail = new ConcurrentHashMap<>();
+
+    @Override
+    public ReadModelAccount get(String accountId) {
+        return accounts.get(accountId);
+    }
+
+    @Override
+    public List<ReadModelAccount> getByCustomer(String customerId) {
+        return Arrays.stream(accountIdsByCustomer.getOrDefault(customerId, NO_IDS))
+                .map(accounts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public ReadModelAccount getByEmail(String email) {
+        String accountId = accountIdByEmail.get(email);
+        return accountId != null ? accounts.get(accountId) : null;
+    }
+
+    @Override
+    public void put(ReadModelAccount account) {
+        ReadModelAccount previous = accounts.put(account.accountId(), account);
+        String accountId = account.accountId();
+
+        String previousCustomer = previous != null ? previous.customerId() : null;
+        if (!Objects.equals(previousCustomer, account.customerId())) {
+            if (previousCustomer != null) {
+                accountIdsByCustomer.computeIfPresent(previousCustomer, (customer, ids) -> without(ids, accountId));
+            }
+            if (account.customerId() != null) {
+                accountIdsByCustomer.merge(account.customerId(), new String[]{accountId}, HeapAccountStore::with);
+            }
+        }
+        String previousEmail = previous != null ? previous.email() : null;
+        if (!Objects.equals(previousEmail, account.email())) {
+            if (previousEmail != null) {
+                accountIdByEmail.remove(previousEmail, accountId);
+            }
+            if (account.email() != null) {
+                accountIdByEmail.put(account.email(), accountId);
+            }
+        }
+    }
+
+    private static String[] with(String[] ids, String[] added) {
+        String[] grown = Arrays.copyOf(ids, ids.length + 1);
+        grown[ids.length] = added[0];
+        return grown;
+    }
+
+    private static String[] without(String[] ids, String removed) {
+        String[] shrunk = Arrays.stream(ids).filter(id -> !id.equals(removed)).toArray(String[]::new);
+        return shrunk.length == 0 ? null : shrunk;
+    }
+
+    @Override
+    public int size() {
+        return accounts.size();
+    }
+
+    @Override
+    public void forEach(Consumer<ReadModelAccount> action) {
+        accounts.values().forEach(action);
+    }
+
+    @Override
+    public void clear() {
+        accounts.clear();
+        accountIdsByCustomer.clear();
+        accountIdByEmail.clear();
+    }
+}
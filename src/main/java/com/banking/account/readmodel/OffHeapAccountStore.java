@@ -0,0 +1,312 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link AccountStore} outside the Java heap (account.read-model.store=off-heap), so
+ * millions of accounts add nothing for the garbage collector to trace or copy.
+ *
+ * Each account is a fixed {@value #RECORD_BYTES}-byte record in one direct buffer:
+ * <pre>
+ *   0 accountId    int  dictionary code     24 accountType  byte ordinal
+ *   4 customerId   int  dictionary code     25 status       byte ordinal
+ *   8 customerName int  dictionary code     26 currency     short code
+ *  12 email        int  dictionary code     28 next record of the same customer, int
+ *  16 phoneNumber  int  dictionary code     32 createdAt    long epoch micros
+ *  20 (unused)                              40 updatedAt    long epoch micros
+ * </pre>
+ * Strings go through an {@link OffHeapStringDictionary}. Account ID and email lead to a
+ * record through {@link OffHeapIntIndex}es keyed by their codes; a customer's code leads
+ * to the newest of its records, which are chained through the next-record field.
+ *
+ * Reads are optimistic: they run without a lock and are retried under the read lock when
+ * the writer changed anything meanwhile (including a torn read that failed outright), so
+ * uncontended reads never block the consumer thread.
+ */
+final class OffHeapAccountStore implements AccountStore {
+
+    private static final int RECORD_BYTES = 48;
+    private static final int ACCOUNT_ID = 0;
+    private static final int CUSTOMER_ID = 4;
+    private static final int CUSTOMER_NAME = 8;
+    private static final int EMAIL = 12;
+    private static final int PHONE_NUMBER = 16;
+    private static final int ACCOUNT_TYPE = 24;
+    private static final int STATUS = 25;
+    private static final int CURRENCY = 26;
+    private static final int NEXT_OF_CUSTOMER = 28;
+    private static final int CREATED_AT = 32;
+    private static final int UPDATED_AT = 40;
+
+    private static final int NONE = -1;
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_BYTES;
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+
+    private final StampedLock lock = new StampedLock();
+    private final int initialCapacity;
+    private final OffHeapStringDictionary strings;
+    private final OffHeapIntIndex byAccountId;
+    private final OffHeapIntIndex byEmail;
+    private final OffHeapIntIndex customerHeads;
+    // ISO currency codes are few: a short code per record, the names on the heap
+    private final Map<String, Short> currencyCodes = new HashMap<>();
+    private volatile String[] currencies = new String[0];
+
+    private ByteBuffer records;
+    private volatile int count;
+
+    OffHeapAccountStore(int initialCapacity) {
+        this.initialCapacity = Math.max(16, initialCapacity);
+        this.strings = new OffHeapStringDictionary(this.initialCapacity * 4);
+        this.byAccountId = new OffHeapIntIndex(this.initialCapacity);
+        this.byEmail = new OffHeapIntIndex(this.initialCapacity);
+        this.customerHeads = new OffHeapIntIndex(this.initialCapacity);
+        this.records = ByteBuffer.allocateDirect(this.initialCapacity * RECORD_BYTES);
+    }
+
+    @Override
+    public ReadModelAccount get(String accountId) {
+        return read(() -> {
+            int record = lookup(byAccountId, accountId);
+            return record != NONE ? materialize(records, record) : null;
+        });
+    }
+
+    @Override
+    public List<ReadModelAccount> getByCustomer(String customerId) {
+        return read(() -> {
+            int record = lookup(customerHeads, customerId);
+            if (record == NONE) {
+                return List.of();
+            }
+            ByteBuffer buffer = records;
+            List<ReadModelAccount> accounts = new ArrayList<>(4);
+            // Bounded so a torn chain cannot cycle; validation discards the result
+            for (int visited = 0; record != NONE && visited < count; visited++) {
+                accounts.add(materialize(buffer, record));
+                record = buffer.getInt(record * RECORD_BYTES + NEXT_OF_CUSTOMER);
+            }
+            // Chains run newest first; return them in creation order like the heap store
+            Collections.reverse(accounts);
+            return accounts;
+        });
+    }
+
+    @Override
+    public ReadModelAccount getByEmail(String email) {
+        return read(() -> {
+            int record = lookup(byEmail, email);
+            return record != NONE ? materialize(records, record) : null;
+        });
+    }
+
+    @Override
+    public void put(ReadModelAccount account) {
+        long stamp = lock.writeLock();
+        try {
+            // Encode everything first so a full dictionary cannot leave a half-written record
+            int accountIdCode = strings.add(account.accountId());
+            int customer = code(account.customerId());
+            int customerName = code(account.customerName());
+            int email = code(account.email());
+            int phoneNumber = code(account.phoneNumber());
+            short currency = currencyCode(account.currency());
+
+            int record = byAccountId.get(accountIdCode);
+            int previousCustomer = NONE;
+            int previousEmail = NONE;
+            if (record == NONE) {
+                record = allocateRecord();
+                records.putInt(record * RECORD_BYTES + NEXT_OF_CUSTOMER, NONE);
+                byAccountId.put(accountIdCode, record);
+            } else {
+                previousCustomer = records.getInt(record * RECORD_BYTES + CUSTOMER_ID);
+                previousEmail = records.getInt(record * RECORD_BYTES + EMAIL);
+            }
+
+            int base = record * RECORD_BYTES;
+            records.putInt(base + ACCOUNT_ID, accountIdCode);
+            records.putInt(base + CUSTOMER_ID, customer);
+            records.putInt(base + CUSTOMER_NAME, customerName);
+            records.putInt(base + EMAIL, email);
+            records.putInt(base + PHONE_NUMBER, phoneNumber);
+            records.put(base + ACCOUNT_TYPE, (byte) (account.accountType() != null ? account.accountType().ordinal() : NONE));
+            records.put(base + STATUS, (byte) (account.status() != null ? account.status().ordinal() : NONE));
+            records.putShort(base + CURRENCY, currency);
+            records.putLong(base + CREATED_AT, account.createdAtMicros());
+            records.putLong(base + UPDATED_AT, account.updatedAtMicros());
+
+            if (customer != previousCustomer) {
+                if (previousCustomer != NONE) {
+                    unlink(previousCustomer, record);
+                }
+                if (customer != NONE) {
+                    int head = customerHeads.get(customer);
+                    records.putInt(base + NEXT_OF_CUSTOMER, head);
+                    customerHeads.put(customer, record);
+                }
+            }
+            if (email != previousEmail) {
+                if (previousEmail != NONE && byEmail.get(previousEmail) == record) {
+                    byEmail.remove(previousEmail);
+                }
+                if (email != NONE) {
+                    byEmail.put(email, record);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void forEach(Consumer<ReadModelAccount> action) {
+        for (int record = 0; record < count; record++) {
+            action.accept(materialize(records, record));
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            strings.clear();
+            byAccountId.clear();
+            byEmail.clear();
+            customerHeads.clear();
+            records = ByteBuffer.allocateDirect(initialCapacity * RECORD_BYTES);
+            count = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return records.capacity() + strings.bytes() + byAccountId.bytes() + byEmail.bytes() + customerHeads.bytes();
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Torn read while the writer was changing a buffer; retry under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int lookup(OffHeapIntIndex index, String key) {
+        int code = strings.find(key);
+        return code != OffHeapStringDictionary.ABSENT ? index.get(code) : NONE;
+    }
+
+    private ReadModelAccount materialize(ByteBuffer buffer, int record) {
+        int base = record * RECORD_BYTES;
+        byte accountType = buffer.get(base + ACCOUNT_TYPE);
+        byte status = buffer.get(base + STATUS);
+        short currency = buffer.getShort(base + CURRENCY);
+        return new ReadModelAccount(
+                string(buffer.getInt(base + ACCOUNT_ID)),
+                string(buffer.getInt(base + CUSTOMER_ID)),
+                accountType != NONE ? ACCOUNT_TYPES[accountType] : null,
+                currency != NONE ? currencies[currency] : null,
+                status != NONE ? STATUSES[status] : null,
+                string(buffer.getInt(base + CUSTOMER_NAME)),
+                string(buffer.getInt(base + EMAIL)),
+                string(buffer.getInt(base + PHONE_NUMBER)),
+                buffer.getLong(base + CREATED_AT),
+                buffer.getLong(base + UPDATED_AT));
+    }
+
+    private String string(int code) {
+        return code != NONE ? strings.decode(code) : null;
+    }
+
+    private int code(String value) {
+        return value != null ? strings.add(value) : NONE;
+    }
+
+    private short currencyCode(String currency) {
+        if (currency == null) {
+            return NONE;
+        }
+        Short code = currencyCodes.get(currency);
+        if (code == null) {
+            if (currencyCodes.size() == Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct currencies for the off-heap store");
+            }
+            code = (short) currencyCodes.size();
+            String[] grown = Arrays.copyOf(currencies, code + 1);
+            grown[code] = currency;
+            currencies = grown;
+            currencyCodes.put(currency, code);
+        }
+        return code;
+    }
+
+    private int allocateRecord() {
+        int record = count;
+        if ((record + 1L) * RECORD_BYTES > records.capacity()) {
+            if (record >= MAX_RECORDS) {
+                throw new IllegalStateException("Off-heap account store cannot hold more than " + MAX_RECORDS
+                        + " accounts");
+            }
+            long capacity = Math.min((long) MAX_RECORDS, Math.max(16L, record * 2L)) * RECORD_BYTES;
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            grown.put(0, records, 0, record * RECORD_BYTES);
+            records = grown;
+        }
+        count = record + 1;
+        return record;
+    }
+
+    private void unlink(int customer, int record) {
+        int next = records.getInt(record * RECORD_BYTES + NEXT_OF_CUSTOMER);
+        int head = customerHeads.get(customer);
+        if (head == record) {
+            if (next == NONE) {
+                customerHeads.remove(customer);
+            } else {
+                customerHeads.put(customer, next);
+            }
+            return;
+        }
+        for (int previous = head; previous != NONE; ) {
+            int following = records.getInt(previous * RECORD_BYTES + NEXT_OF_CUSTOMER);
+            if (following == record) {
+                records.putInt(previous * RECORD_BYTES + NEXT_OF_CUSTOMER, next);
+                return;
+            }
+            previous = following;
+        }
+    }
+}
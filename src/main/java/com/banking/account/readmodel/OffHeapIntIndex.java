@@ -0,0 +1,154 @@
+package com.banking.account.readmodel;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Open-addressing hash map from non-negative int keys to int values in a direct buffer:
+ * linear probing over (key, value) slots, kept at most half full, with backward-shift
+ * deletion so no tombstones accumulate.
+ *
+ * Not thread-safe. Readers racing the writer may see a torn table; the owner
+ * ({@link OffHeapAccountStore}) validates such reads and retries them under a lock. Probes
+ * are bounded by the table size, so a torn table can produce a wrong answer but never
+ * loop forever.
+ */
+final class OffHeapIntIndex {
+
+    static final int ABSENT = -1;
+
+    private static final int SLOT_BYTES = 8;
+    private static final int EMPTY = -1;
+    private static final int MAX_CAPACITY = 1 << 27;
+
+    private ByteBuffer slots;
+    private int size;
+
+    OffHeapIntIndex(int expectedKeys) {
+        slots = allocate(tableSize(expectedKeys));
+    }
+
+    int get(int key) {
+        ByteBuffer table = slots;
+        int mask = table.capacity() / SLOT_BYTES - 1;
+        int slot = mix(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            int found = table.getInt(slot * SLOT_BYTES);
+            if (found == key) {
+                return table.getInt(slot * SLOT_BYTES + 4);
+            }
+            if (found == EMPTY) {
+                return ABSENT;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    void put(int key, int value) {
+        if ((size + 1) * 2L > capacity()) {
+            resize(capacity() * 2);
+        }
+        int mask = capacity() - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            int found = slots.getInt(slot * SLOT_BYTES);
+            if (found == key || found == EMPTY) {
+                slots.putInt(slot * SLOT_BYTES + 4, value);
+                slots.putInt(slot * SLOT_BYTES, key);
+                if (found == EMPTY) {
+                    size++;
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void remove(int key) {
+        int mask = capacity() - 1;
+        int hole = mix(key) & mask;
+        while (true) {
+            int found = slots.getInt(hole * SLOT_BYTES);
+            if (found == EMPTY) {
+                return;
+            }
+            if (found == key) {
+                break;
+            }
+            hole = (hole + 1) & mask;
+        }
+        // Pull back every following entry whose probe sequence passes through the hole
+        for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            int key2 = slots.getInt(next * SLOT_BYTES);
+            if (key2 == EMPTY) {
+                break;
+            }
+            int home = mix(key2) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots.putInt(hole * SLOT_BYTES + 4, slots.getInt(next * SLOT_BYTES + 4));
+                slots.putInt(hole * SLOT_BYTES, key2);
+                hole = next;
+            }
+        }
+        slots.putInt(hole * SLOT_BYTES, EMPTY);
+        size--;
+    }
+
+    void clear() {
+        slots = allocate(tableSize(0));
+        size = 0;
+    }
+
+    long bytes() {
+        return slots.capacity();
+    }
+
+    private int capacity() {
+        return slots.capacity() / SLOT_BYTES;
+    }
+
+    private void resize(int newCapacity) {
+        ByteBuffer old = slots;
+        ByteBuffer resized = allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < old.capacity() / SLOT_BYTES; i++) {
+            int key = old.getInt(i * SLOT_BYTES);
+            if (key != EMPTY) {
+                int slot = mix(key) & mask;
+                while (resized.getInt(slot * SLOT_BYTES) != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                resized.putInt(slot * SLOT_BYTES + 4, old.getInt(i * SLOT_BYTES + 4));
+                resized.putInt(slot * SLOT_BYTES, key);
+            }
+        }
+        // Readers still holding the old table fail validation and retry
+        slots = resized;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Off-heap index cannot grow beyond " + MAX_CAPACITY / 2 + " keys");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        for (int i = 0; i < capacity; i++) {
+            buffer.putInt(i * SLOT_BYTES, EMPTY);
+        }
+        return buffer;
+    }
+
+    private static int tableSize(int expectedKeys) {
+        return Integer.highestOneBit(Math.max(16, expectedKeys * 2 - 1)) << 1;
+    }
+
+    // MurmurHash3 finaliser: codes are sequential, so spread them across the table
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
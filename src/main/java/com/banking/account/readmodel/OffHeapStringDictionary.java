@@ -0,0 +1,193 @@
+package com.banking.account.readmodel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Dictionary encoding of strings into dense int codes, all in direct buffers.
+ *
+ * Each distinct string is stored once in an append-only arena as [hash][length][UTF-8
+ * bytes]; codes index an offsets table, and an open-addressing table of codes keyed by
+ * the hash finds the code of a string. Repeated values (customer IDs and names) therefore
+ * cost four bytes per use. Strings are never removed: one that stops being used (an old
+ * email) stays until the store is rebuilt.
+ *
+ * Not thread-safe; same reader contract as {@link OffHeapIntIndex}.
+ */
+final class OffHeapStringDictionary {
+
+    static final int ABSENT = -1;
+
+    private static final int EMPTY = -1;
+    private static final int HEADER_BYTES = 6;
+    private static final int MAX_LENGTH = 0xFFFF;
+
+    private ByteBuffer arena;
+    private int arenaUsed;
+    private ByteBuffer offsets;
+    private ByteBuffer table;
+    private int size;
+
+    OffHeapStringDictionary(int expectedStrings) {
+        allocate(expectedStrings);
+    }
+
+    /**
+     * Code of the string, or {@link #ABSENT} if it was never added.
+     */
+    int find(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        ByteBuffer codes = table;
+        ByteBuffer strings = arena;
+        ByteBuffer codeOffsets = offsets;
+        int mask = codes.capacity() / 4 - 1;
+        int slot = hash & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            int code = codes.getInt(slot * 4);
+            if (code == EMPTY) {
+                return ABSENT;
+            }
+            if (matches(strings, codeOffsets.getInt(code * 4), hash, bytes)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Code of the string, adding it if needed. Writer only.
+     */
+    int add(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long for the dictionary");
+        }
+        int hash = hash(bytes);
+        int mask = table.capacity() / 4 - 1;
+        int slot = hash & mask;
+        while (true) {
+            int code = table.getInt(slot * 4);
+            if (code == EMPTY) {
+                break;
+            }
+            if (matches(arena, offsets.getInt(code * 4), hash, bytes)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int offset = append(hash, bytes);
+        int code = size;
+        if ((code + 1) * 4L > offsets.capacity()) {
+            offsets = grow(offsets, offsets.capacity(), (long) offsets.capacity() * 2);
+        }
+        offsets.putInt(code * 4, offset);
+        table.putInt(slot * 4, code);
+        size++;
+        if (size * 2L > table.capacity() / 4) {
+            rehash(table.capacity() / 4 * 2);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        ByteBuffer strings = arena;
+        int offset = offsets.getInt(code * 4);
+        byte[] bytes = new byte[strings.getShort(offset + 4) & MAX_LENGTH];
+        strings.get(offset + HEADER_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void clear() {
+        allocate(0);
+    }
+
+    long bytes() {
+        return (long) arena.capacity() + offsets.capacity() + table.capacity();
+    }
+
+    private void allocate(int expectedStrings) {
+        int strings = Math.max(64, expectedStrings);
+        arena = ByteBuffer.allocateDirect(strings * 32);
+        arenaUsed = 0;
+        offsets = ByteBuffer.allocateDirect(strings * 4);
+        table = emptyTable(Integer.highestOneBit(strings * 2 - 1) << 1);
+        size = 0;
+    }
+
+    private int append(int hash, byte[] bytes) {
+        long needed = (long) arenaUsed + HEADER_BYTES + bytes.length;
+        if (needed > arena.capacity()) {
+            long grown = Math.max(needed, (long) arena.capacity() * 2);
+            arena = grow(arena, arenaUsed, Math.min(grown, Integer.MAX_VALUE - 8));
+            if (needed > arena.capacity()) {
+                throw new IllegalStateException("Off-heap string dictionary is full");
+            }
+        }
+        int offset = arenaUsed;
+        arena.putInt(offset, hash);
+        arena.putShort(offset + 4, (short) bytes.length);
+        arena.put(offset + HEADER_BYTES, bytes);
+        arenaUsed += HEADER_BYTES + bytes.length;
+        return offset;
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer rehashed = emptyTable(newCapacity);
+        int mask = newCapacity - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = arena.getInt(offsets.getInt(code * 4)) & mask;
+            while (rehashed.getInt(slot * 4) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed.putInt(slot * 4, code);
+        }
+        table = rehashed;
+    }
+
+    private static boolean matches(ByteBuffer strings, int offset, int hash, byte[] bytes) {
+        if (strings.getInt(offset) != hash || (strings.getShort(offset + 4) & MAX_LENGTH) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (strings.get(offset + HEADER_BYTES + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int used, long capacity) {
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Off-heap string dictionary is full");
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+        grown.put(0, buffer, 0, used);
+        return grown;
+    }
+
+    private static ByteBuffer emptyTable(int capacity) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(capacity * 4);
+        for (int i = 0; i < capacity; i++) {
+            buffer.putInt(i * 4, EMPTY);
+        }
+        return buffer;
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 32-bit mixer
+    private static int hash(byte[] bytes) {
+        int hash = 0x811c9dc5;
+        for (byte b : bytes) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,122 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.event.AccountEvent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One account as held by the {@link AccountReadModel}: enums instead of their names and
+ * timestamps as epoch micros instead of LocalDateTime objects, so an entry is the record
+ * plus its strings.
+ */
+record ReadModelAccount(String accountId, String customerId, AccountType accountType, String currency,
+                        AccountStatus status, String customerName, String email, String phoneNumber,
+                        long createdAtMicros, long updatedAtMicros) {
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * The account after event. Events carry the whole account; fields an event leaves null
+     * keep their previous value.
+     */
+    static ReadModelAccount apply(ReadModelAccount previous, AccountEvent event, String currency) {
+        return new ReadModelAccount(
+                event.getAccountId(),
+                event.getCustomerId() != null || previous == null ? event.getCustomerId() : previous.customerId(),
+                event.getAccountType() != null
+                        ? AccountType.valueOf(event.getAccountType())
+                        : previous != null ? previous.accountType() : null,
+                currency != null || previous == null ? currency : previous.currency(),
+                event.getStatus() != null
+                        ? AccountStatus.valueOf(event.getStatus())
+                        : previous != null ? previous.status() : null,
+                event.getCustomerName() != null || previous == null ? event.getCustomerName() : previous.customerName(),
+                event.getEmail() != null || previous == null ? event.getEmail() : previous.email(),
+                event.getPhoneNumber() != null || previous == null ? event.getPhoneNumber() : previous.phoneNumber(),
+                event.getCreatedAt() != null || previous == null
+                        ? toMicros(event.getCreatedAt())
+                        : previous.createdAtMicros(),
+                toMicros(event.getEventTimestamp()));
+    }
+
+    AccountResponse toResponse() {
+        LocalDateTime createdAt = fromMicros(createdAtMicros);
+        LocalDateTime updatedAt = fromMicros(updatedAtMicros);
+        // Events carry neither the row version nor updated_at: responses have no version and
+        // report the time of the latest event as updatedAt
+        return AccountResponse.builder()
+                .accountId(accountId)
+                .customerId(customerId)
+                .accountType(accountType != null ? accountType.name() : null)
+                .currency(currency)
+                .status(status != null ? status.name() : null)
+                .customerName(customerName)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .createdAt(createdAt != null ? createdAt.toString() : null)
+                .updatedAt(updatedAt != null ? updatedAt.toString() : null)
+                .build();
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        writeString(out, accountId);
+        writeString(out, customerId);
+        out.writeByte(accountType != null ? accountType.ordinal() : -1);
+        writeString(out, currency);
+        out.writeByte(status != null ? status.ordinal() : -1);
+        writeString(out, customerName);
+        writeString(out, email);
+        writeString(out, phoneNumber);
+        out.writeLong(createdAtMicros);
+        out.writeLong(updatedAtMicros);
+    }
+
+    static ReadModelAccount readFrom(DataInput in, AccountReadModel model) throws IOException {
+        String accountId = readString(in);
+        String customerId = readString(in);
+        byte accountType = in.readByte();
+        String currency = model.intern(readString(in));
+        byte status = in.readByte();
+        return new ReadModelAccount(accountId, customerId,
+                accountType >= 0 ? AccountType.values()[accountType] : null,
+                currency,
+                status >= 0 ? AccountStatus.values()[status] : null,
+                readString(in), readString(in), readString(in), in.readLong(), in.readLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NULL_TIMESTAMP;
+        }
+        // Rounded like the database's microsecond timestamp columns
+        LocalDateTime micros = timestamp.plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+        return micros.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + micros.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
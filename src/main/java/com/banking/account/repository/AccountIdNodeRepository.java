@@ -0,0 +1,59 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.AccountIdNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Node ID leases. Every update is conditional on the lease state the caller last saw, so two
+ * instances can never hold the same node ID.
+ */
+@Repository
+public interface AccountIdNodeRepository extends JpaRepository<AccountIdNode, Integer> {
+
+    @Query("SELECT n FROM AccountIdNode n WHERE n.leaseOwner IS NULL OR n.leaseUntil < :now ORDER BY n.nodeId")
+    List<AccountIdNode> findUnleased(@Param("now") long now);
+
+    /**
+     * Takes a node whose lease is free or expired, provided nobody has taken or released it
+     * since it was read with previousUntil. Returns 0 when it was lost to another instance.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountIdNode n SET n.leaseOwner = :owner, n.leaseUntil = :leaseUntil"
+            + " WHERE n.nodeId = :nodeId AND n.leaseUntil = :previousUntil"
+            + " AND (n.leaseOwner IS NULL OR n.leaseUntil < :now)")
+    int claim(@Param("nodeId") int nodeId,
+              @Param("owner") String owner,
+              @Param("previousUntil") long previousUntil,
+              @Param("now") long now,
+              @Param("leaseUntil") long leaseUntil);
+
+    /**
+     * Extends a lease this instance still owns. Returns 0 when another instance took it over.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountIdNode n SET n.leaseUntil = :leaseUntil WHERE n.nodeId = :nodeId AND n.leaseOwner = :owner")
+    int renew(@Param("nodeId") int nodeId,
+              @Param("owner") String owner,
+              @Param("leaseUntil") long leaseUntil);
+
+    /**
+     * Frees a lease, leaving lease_until just past the last ID issued under it so the next
+     * holder starts after that.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountIdNode n SET n.leaseOwner = NULL, n.leaseUntil = :leaseUntil"
+            + " WHERE n.nodeId = :nodeId AND n.leaseOwner = :owner")
+    int release(@Param("nodeId") int nodeId,
+                @Param("owner") String owner,
+                @Param("leaseUntil") long leaseUntil);
+}
@@ -2,16 +2,24 @@ package com.banking.account.repository;
 
 import com.banking.account.domain.Account;
 import com.banking.account.domain.AccountStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, String> {
+public interface AccountRepository extends JpaRepository<Account, String>, AccountStatusUpdates {
 
     List<Account> findByCustomerId(String customerId);
 
@@ -27,5 +35,88 @@ public interface AccountRepository extends JpaRepository<Account, String> {
 
     boolean existsByAccountId(String accountId);
 
+    /**
+     * Version alone, so a conditional request for an unchanged account never loads it.
+     */
+    @Query("SELECT a.version FROM Account a WHERE a.accountId = :accountId")
+    Optional<Long> findVersionByAccountId(@Param("accountId") String accountId);
+
+    @Query("SELECT new com.banking.account.repository.AccountVersion(a.accountId, a.version) FROM Account a"
+            + " WHERE a.customerId = :customerId")
+    List<AccountVersion> findVersionsByCustomerId(@Param("customerId") String customerId);
+
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT a FROM Account a WHERE a.status = :status ORDER BY a.createdAt, a.accountId")
+    List<Account> findFirstPageByStatus(@Param("status") AccountStatus status, Limit limit);
+
+    @Query("SELECT a FROM Account a WHERE a.status = :status"
+            + " AND (a.createdAt > :createdAt OR (a.createdAt = :createdAt AND a.accountId > :accountId))"
+            + " ORDER BY a.createdAt, a.accountId")
+    List<Account> findPageByStatusAfter(
+            @Param("status") AccountStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("accountId") String accountId,
+            Limit limit
+    );
+
+    @Query("SELECT a FROM Account a WHERE a.customerId = :customerId ORDER BY a.createdAt, a.accountId")
+    List<Account> findFirstPageByCustomerId(@Param("customerId") String customerId, Limit limit);
+
+    @Query("SELECT a FROM Account a WHERE a.customerId = :customerId"
+            + " AND (a.createdAt > :createdAt OR (a.createdAt = :createdAt AND a.accountId > :accountId))"
+            + " ORDER BY a.createdAt, a.accountId")
+    List<Account> findPageByCustomerIdAfter(
+            @Param("customerId") String customerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("accountId") String accountId,
+            Limit limit
+    );
+
+    /**
+     * Streams accounts for export. Must be consumed inside a transaction and closed;
+     * rows are fetched from the server in chunks of the given fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a WHERE a.status = :status ORDER BY a.createdAt, a.accountId")
+    Stream<Account> streamByStatus(@Param("status") AccountStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a WHERE a.customerId = :customerId ORDER BY a.createdAt, a.accountId")
+    Stream<Account> streamByCustomerId(@Param("customerId") String customerId);
+
+    /**
+     * Keyset scan of the IDs of accounts in a status, in account_id order, for bulk status jobs.
+     */
+    @Query("SELECT a.accountId FROM Account a WHERE a.status = :status AND a.accountId > :afterAccountId"
+            + " ORDER BY a.accountId")
+    List<String> findIdsByStatusAfter(
+            @Param("status") AccountStatus status,
+            @Param("afterAccountId") String afterAccountId,
+            Limit limit
+    );
+
+    long countByStatus(AccountStatus status);
+
+    long countByCustomerIdIn(Collection<String> customerIds);
+
+    @Query("SELECT a.email FROM Account a WHERE a.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Streams every email for warming the in-memory email filter. Must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.email FROM Account a")
+    Stream<String> streamAllEmails();
+}
@@ -0,0 +1,94 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.AccountStatusJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Job rows are only changed through these conditional updates: an instance owns a job while
+ * its lease is current, and every progress write checks the owner, so a job taken over by
+ * another instance cannot be written by the one that lost it.
+ */
+@Repository
+public interface AccountStatusJobRepository extends JpaRepository<AccountStatusJob, String> {
+
+    @Query("SELECT j.jobId FROM AccountStatusJob j WHERE j.state IN :states"
+            + " AND (j.leaseUntil IS NULL OR j.leaseUntil < :now) ORDER BY j.createdAt")
+    List<String> findUnleased(@Param("states") Collection<AccountStatusJob.State> states,
+                              @Param("now") LocalDateTime now);
+
+    /**
+     * Takes the lease of a pending or running job whose lease has expired (or is already
+     * held by owner) and marks it running. Returns 0 when another instance holds it.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountStatusJob j SET j.leaseOwner = :owner, j.leaseUntil = :leaseUntil,"
+            + " j.state = :running, j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now"
+            + " WHERE j.jobId = :jobId AND j.state IN :states"
+            + " AND (j.leaseUntil IS NULL OR j.leaseUntil < :now OR j.leaseOwner = :owner)")
+    int claim(@Param("jobId") String jobId,
+              @Param("owner") String owner,
+              @Param("states") Collection<AccountStatusJob.State> states,
+              @Param("running") AccountStatusJob.State running,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountStatusJob j SET j.totalAccounts = :total, j.updatedAt = :now"
+            + " WHERE j.jobId = :jobId AND j.leaseOwner = :owner")
+    int recordTotal(@Param("jobId") String jobId,
+                    @Param("owner") String owner,
+                    @Param("total") long total,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Adds a committed chunk's counts, moves the resume point to its last key and renews the
+     * lease. Returns 0 when the lease was lost.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountStatusJob j SET j.updatedAccounts = j.updatedAccounts + :updated,"
+            + " j.skippedAccounts = j.skippedAccounts + :skipped, j.lastKey = :lastKey,"
+            + " j.leaseUntil = :leaseUntil, j.updatedAt = :now"
+            + " WHERE j.jobId = :jobId AND j.leaseOwner = :owner")
+    int recordProgress(@Param("jobId") String jobId,
+                       @Param("owner") String owner,
+                       @Param("lastKey") String lastKey,
+                       @Param("updated") long updated,
+                       @Param("skipped") long skipped,
+                       @Param("now") LocalDateTime now,
+                       @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountStatusJob j SET j.state = :state, j.error = :error, j.completedAt = :now,"
+            + " j.updatedAt = :now, j.leaseOwner = NULL, j.leaseUntil = NULL"
+            + " WHERE j.jobId = :jobId AND j.leaseOwner = :owner")
+    int finish(@Param("jobId") String jobId,
+               @Param("owner") String owner,
+               @Param("state") AccountStatusJob.State state,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Puts a failed job back in the queue; it continues from its last committed key.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountStatusJob j SET j.state = :pending, j.error = NULL, j.completedAt = NULL,"
+            + " j.updatedAt = :now WHERE j.jobId = :jobId AND j.state = :failed")
+    int reopen(@Param("jobId") String jobId,
+               @Param("pending") AccountStatusJob.State pending,
+               @Param("failed") AccountStatusJob.State failed,
+               @Param("now") LocalDateTime now);
+}
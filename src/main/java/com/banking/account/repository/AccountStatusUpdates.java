@@ -0,0 +1,38 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-statement status transitions, mixed into {@link AccountRepository}.
+ */
+public interface AccountStatusUpdates {
+
+    /**
+     * Sets the status of an account that is currently in one of allowedFrom (and at
+     * expectedVersion, when given), bumping its version, and returns the updated row.
+     * Empty when no row matched.
+     */
+    Optional<Account> updateStatusIfAllowed(String accountId, AccountStatus newStatus,
+                                            Collection<AccountStatus> allowedFrom, Long expectedVersion,
+                                            LocalDateTime updatedAt);
+
+    /**
+     * Set-based variant for bulk jobs: moves every listed account that is currently in one
+     * of allowedFrom to newStatus in one statement and returns the updated rows.
+     */
+    List<Account> updateStatusesIfAllowed(Collection<String> accountIds, AccountStatus newStatus,
+                                          Collection<AccountStatus> allowedFrom, LocalDateTime updatedAt);
+
+    /**
+     * As {@link #updateStatusesIfAllowed(Collection, AccountStatus, Collection, LocalDateTime)},
+     * for every account of the listed customers.
+     */
+    List<Account> updateCustomerStatusesIfAllowed(Collection<String> customerIds, AccountStatus newStatus,
+                                                  Collection<AccountStatus> allowedFrom, LocalDateTime updatedAt);
+}
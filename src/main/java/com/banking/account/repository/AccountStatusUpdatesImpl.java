@@ -0,0 +1,153 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The UPDATE checks the transition and the version and takes the row lock in one statement,
+ * so concurrent updates of an account queue on the lock instead of failing an optimistic
+ * version check after a read. PostgreSQL returns the new row with RETURNING and H2 with a
+ * FINAL TABLE query, making the whole transition one round trip; other databases fall back
+ * to the UPDATE followed by a read.
+ *
+ * The bulk variants apply the same rule to a set of accounts; the fallback there locks the
+ * matching rows and updates them through the persistence context.
+ */
+class AccountStatusUpdatesImpl implements AccountStatusUpdates {
+
+    private static final String UPDATE = "UPDATE {h-schema}accounts"
+            + " SET status = :newStatus, version = COALESCE(version, 0) + 1, updated_at = :updatedAt"
+            + " WHERE account_id = :accountId AND status IN (:allowedFrom)"
+            + " AND (:expectedVersion < 0 OR version = :expectedVersion)";
+
+    private static final String JPQL_UPDATE = "UPDATE Account a"
+            + " SET a.status = :newStatus, a.version = COALESCE(a.version, 0) + 1, a.updatedAt = :updatedAt"
+            + " WHERE a.accountId = :accountId AND a.status IN (:allowedFrom)"
+            + " AND (:expectedVersion < 0 OR a.version = :expectedVersion)";
+
+    private static final String BULK_UPDATE = "UPDATE {h-schema}accounts"
+            + " SET status = :newStatus, version = COALESCE(version, 0) + 1, updated_at = :updatedAt"
+            + " WHERE %s IN (:keys) AND status IN (:allowedFrom)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String returningSql;
+    private volatile String bulkByAccountSql;
+    private volatile String bulkByCustomerSql;
+    private volatile boolean resolved;
+
+    @Override
+    public Optional<Account> updateStatusIfAllowed(String accountId, AccountStatus newStatus,
+                                                   Collection<AccountStatus> allowedFrom, Long expectedVersion,
+                                                   LocalDateTime updatedAt) {
+        long version = expectedVersion != null ? expectedVersion : -1;
+        String sql = returningSql();
+        if (sql != null) {
+            Query query = entityManager.createNativeQuery(sql, Account.class);
+            query.setParameter("newStatus", newStatus.name());
+            query.setParameter("allowedFrom", allowedFrom.stream().map(AccountStatus::name).toList());
+            bind(query, accountId, version, updatedAt);
+            @SuppressWarnings("unchecked")
+            List<Account> updated = query.getResultList();
+            return updated.stream().findFirst();
+        }
+
+        Query query = entityManager.createQuery(JPQL_UPDATE);
+        query.setParameter("newStatus", newStatus);
+        query.setParameter("allowedFrom", allowedFrom);
+        bind(query, accountId, version, updatedAt);
+        if (query.executeUpdate() == 0) {
+            return Optional.empty();
+        }
+        Account account = entityManager.find(Account.class, accountId);
+        entityManager.refresh(account);
+        return Optional.of(account);
+    }
+
+    @Override
+    public List<Account> updateStatusesIfAllowed(Collection<String> accountIds, AccountStatus newStatus,
+                                                 Collection<AccountStatus> allowedFrom, LocalDateTime updatedAt) {
+        return updateAllIfAllowed(returningSql() != null ? bulkByAccountSql : null, "accountId",
+                accountIds, newStatus, allowedFrom, updatedAt);
+    }
+
+    @Override
+    public List<Account> updateCustomerStatusesIfAllowed(Collection<String> customerIds, AccountStatus newStatus,
+                                                         Collection<AccountStatus> allowedFrom,
+                                                         LocalDateTime updatedAt) {
+        return updateAllIfAllowed(returningSql() != null ? bulkByCustomerSql : null, "customerId",
+                customerIds, newStatus, allowedFrom, updatedAt);
+    }
+
+    private List<Account> updateAllIfAllowed(String sql, String keyAttribute, Collection<String> keys,
+                                             AccountStatus newStatus, Collection<AccountStatus> allowedFrom,
+                                             LocalDateTime updatedAt) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (sql != null) {
+            Query query = entityManager.createNativeQuery(sql, Account.class);
+            query.setParameter("newStatus", newStatus.name());
+            query.setParameter("allowedFrom", allowedFrom.stream().map(AccountStatus::name).toList());
+            query.setParameter("keys", keys);
+            query.setParameter("updatedAt", updatedAt);
+            @SuppressWarnings("unchecked")
+            List<Account> updated = query.getResultList();
+            return updated;
+        }
+
+        List<Account> matching = entityManager.createQuery("SELECT a FROM Account a WHERE a." + keyAttribute
+                        + " IN :keys AND a.status IN :allowedFrom", Account.class)
+                .setParameter("keys", keys)
+                .setParameter("allowedFrom", allowedFrom)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        for (Account account : matching) {
+            account.setStatus(newStatus);
+        }
+        entityManager.flush();
+        return matching;
+    }
+
+    private static void bind(Query query, String accountId, long expectedVersion, LocalDateTime updatedAt) {
+        query.setParameter("accountId", accountId);
+        query.setParameter("expectedVersion", expectedVersion);
+        query.setParameter("updatedAt", updatedAt);
+    }
+
+    private String returningSql() {
+        if (!resolved) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            String template = null;
+            if (dialect instanceof PostgreSQLDialect) {
+                template = "%s RETURNING *";
+            } else if (dialect instanceof H2Dialect) {
+                template = "SELECT * FROM FINAL TABLE (%s)";
+            }
+            if (template != null) {
+                bulkByAccountSql = template.formatted(BULK_UPDATE.formatted("account_id"));
+                bulkByCustomerSql = template.formatted(BULK_UPDATE.formatted("customer_id"));
+                returningSql = template.formatted(UPDATE);
+            }
+            resolved = true;
+        }
+        return returningSql;
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.account.repository;
+
+/**
+ * An account's ID and version, read without loading the account.
+ */
+public record AccountVersion(String accountId, Long version) {
+}
@@ -0,0 +1,54 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest unpublished rows that no relay instance has claimed and that are the
+     * earliest unpublished event of their account, in relay_seq order, so at most one event
+     * per account is ever being sent. Rows already locked by another instance are skipped
+     * (lock timeout -2 = SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o WHERE o.publishedAt IS NULL"
+            + " AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)"
+            + " AND NOT EXISTS (SELECT p.id FROM OutboxEvent p WHERE p.aggregateId = o.aggregateId"
+            + " AND p.publishedAt IS NULL AND p.relaySeq < o.relaySeq)"
+            + " ORDER BY o.relaySeq")
+    List<OutboxEvent> lockClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = :claimedUntil WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = NULL WHERE o.id IN :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.publishedAt = :publishedAt, o.claimedUntil = NULL WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByPublishedAtIsNull();
+}
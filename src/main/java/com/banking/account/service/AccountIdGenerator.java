@@ -0,0 +1,122 @@
+package com.banking.account.service;
+
+import com.banking.account.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered, collision-free account IDs without locks or SecureRandom.
+ *
+ * Each ID is a 64-bit value of 41 bits of milliseconds since 2024-01-01, a 10-bit node ID
+ * and a 12-bit per-millisecond sequence, written as 13 Crockford base32 characters after
+ * the "ACC" prefix (16 characters, within the varchar(20) column). The alphabet is in
+ * ASCII order, so IDs sort by creation time and new rows land at the right edge of the
+ * primary-key B-tree.
+ *
+ * The (timestamp, sequence) pair lives in one AtomicLong advanced by CAS. When the
+ * sequence overflows within a millisecond, or the wall clock steps backwards, the
+ * generator simply borrows the next millisecond, so it never blocks and never repeats
+ * an ID on this node.
+ *
+ * The node ID is account.id.node-id when set. Otherwise one is leased through
+ * {@link AccountIdNodeLease}, and IDs are only issued while that lease holds; with neither
+ * the application does not start.
+ */
+@Component
+@Slf4j
+public class AccountIdGenerator {
+
+    static final String PREFIX = "ACC";
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final AccountIdNodeLease lease;
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public AccountIdGenerator(@Value("${account.id.node-id:-1}") int nodeId,
+                              ObjectProvider<AccountIdNodeLease> nodeLease) {
+        this(nodeId >= 0 ? null : requireLease(nodeLease), nodeId);
+    }
+
+    public AccountIdGenerator(int nodeId) {
+        this(null, nodeId);
+    }
+
+    private AccountIdGenerator(AccountIdNodeLease lease, int configuredNodeId) {
+        int nodeId = lease != null ? lease.acquire() : configuredNodeId;
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("account.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.lease = lease;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        if (lease != null) {
+            // Continue after the last ID the node's previous holder issued
+            state.set(Math.max(0, lease.notBeforeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS);
+        }
+        log.info("Account ID generator initialised: nodeId={}, leased={}", nodeId, lease != null);
+    }
+
+    private static AccountIdNodeLease requireLease(ObjectProvider<AccountIdNodeLease> nodeLease) {
+        AccountIdNodeLease lease = nodeLease.getIfAvailable();
+        if (lease == null) {
+            throw new IllegalStateException("account.id.node-id is not set and no node ID lease is available");
+        }
+        return lease;
+    }
+
+    public String nextId() {
+        long next;
+        while (true) {
+            long previous = state.get();
+            long elapsed = System.currentTimeMillis() - EPOCH_MILLIS;
+            long candidate = elapsed << SEQUENCE_BITS;
+            // Same millisecond, sequence exhausted or clock moved back: continue from the last value
+            next = candidate > previous ? candidate : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (lease != null && timestamp + EPOCH_MILLIS >= lease.validUntilMillis()) {
+            throw new ServiceOverloadedException("Account ID node lease is not renewed; account IDs are unavailable", 1);
+        }
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return encode((timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence);
+    }
+
+    /**
+     * Hands a leased node ID back, fenced just past the last ID issued, so the next instance
+     * can take it over without waiting for the lease to expire.
+     */
+    @PreDestroy
+    void releaseNodeLease() {
+        if (lease != null) {
+            lease.stopIssuing();
+            lease.release((state.get() >>> SEQUENCE_BITS) + EPOCH_MILLIS + 1);
+        }
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,130 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.AccountIdNode;
+import com.banking.account.repository.AccountIdNodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Leases a node ID from account_id_nodes for {@link AccountIdGenerator} when
+ * account.id.node-id is not configured, and renews it while the instance runs.
+ *
+ * lease_until is in epoch millis and doubles as a fence: the generator only issues IDs with
+ * an earlier timestamp, and the next holder of the node starts at the previous holder's
+ * lease_until. An instance that stalls past its lease, or loses it, stops issuing IDs rather
+ * than overlap with whoever takes the node next, whatever the clocks of the two say.
+ */
+@Component
+@Slf4j
+public class AccountIdNodeLease {
+
+    private final AccountIdNodeRepository nodeRepository;
+    private final long ttlMs;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile int nodeId = -1;
+    private volatile long notBefore;
+    private volatile long validUntil;
+
+    public AccountIdNodeLease(AccountIdNodeRepository nodeRepository,
+                              @Value("${account.id.lease.ttl-ms:60000}") long ttlMs,
+                              @Value("${account.id.lease.renew-interval-ms:15000}") long renewIntervalMs) {
+        if (renewIntervalMs <= 0 || renewIntervalMs >= ttlMs) {
+            throw new IllegalStateException("account.id.lease.renew-interval-ms (" + renewIntervalMs
+                    + ") must be positive and below account.id.lease.ttl-ms (" + ttlMs + ")");
+        }
+        this.nodeRepository = nodeRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Leases the lowest free node ID. Fails when the table cannot be read or every node ID is
+     * held by a live instance.
+     */
+    synchronized int acquire() {
+        if (nodeId >= 0) {
+            return nodeId;
+        }
+        long now = System.currentTimeMillis();
+        List<AccountIdNode> unleased;
+        try {
+            unleased = nodeRepository.findUnleased(now);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("account.id.node-id is not set and no node ID can be leased", e);
+        }
+        for (AccountIdNode node : unleased) {
+            if (nodeRepository.claim(node.getNodeId(), owner, node.getLeaseUntil(), now, now + ttlMs) == 1) {
+                notBefore = node.getLeaseUntil();
+                validUntil = now + ttlMs;
+                nodeId = node.getNodeId();
+                log.info("Account ID node leased: nodeId={}, owner={}", nodeId, owner);
+                return nodeId;
+            }
+        }
+        throw new IllegalStateException("account.id.node-id is not set and no node ID is free to lease");
+    }
+
+    /**
+     * Epoch millis the previous holder of the node issued IDs up to (exclusive).
+     */
+    long notBeforeMillis() {
+        return notBefore;
+    }
+
+    /**
+     * Epoch millis from which no ID may be issued until the lease is renewed.
+     */
+    long validUntilMillis() {
+        return validUntil;
+    }
+
+    @Scheduled(fixedDelayString = "${account.id.lease.renew-interval-ms:15000}")
+    public void renew() {
+        int leased = nodeId;
+        if (leased < 0) {
+            return;
+        }
+        // Never move the fence back, even if the wall clock did
+        long until = Math.max(System.currentTimeMillis() + ttlMs, validUntil);
+        try {
+            if (nodeRepository.renew(leased, owner, until) == 1) {
+                validUntil = until;
+            } else {
+                log.error("Account ID node lease lost to another instance, no more IDs are issued: nodeId={}", leased);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Account ID node lease renewal failed, IDs stop at {} unless a later renewal succeeds: nodeId={}",
+                    validUntil, leased, e);
+        }
+    }
+
+    /**
+     * Stops issuing IDs stamped from now on; called before {@link #release(long)} at shutdown.
+     */
+    void stopIssuing() {
+        validUntil = Math.min(validUntil, System.currentTimeMillis());
+    }
+
+    /**
+     * Frees the node for the next instance, which starts issuing at issuedUntil. If this
+     * fails the lease simply expires.
+     */
+    void release(long issuedUntil) {
+        int leased = nodeId;
+        if (leased < 0) {
+            return;
+        }
+        try {
+            nodeRepository.release(leased, owner, Math.max(issuedUntil, notBefore));
+            log.info("Account ID node lease released: nodeId={}", leased);
+        } catch (DataAccessException e) {
+            log.warn("Account ID node lease release failed, it expires instead: nodeId={}", leased, e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+import com.banking.account.dto.AccountPage;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.event.AccountEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Conversions between requests, the Account entity, responses and events, shared by
+ * AccountService and the reactive variant so both expose and publish the same shapes.
+ */
+public final class AccountMapper {
+
+    private AccountMapper() {
+    }
+
+    public static Account toAccount(String accountId, CreateAccountRequest request) {
+        return Account.builder()
+                .accountId(accountId)
+                .customerId(request.getCustomerId())
+                .accountType(AccountType.valueOf(request.getAccountType()))
+                .currency(request.getCurrency())
+                .status(AccountStatus.ACTIVE)
+                .customerName(request.getCustomerName())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .build();
+    }
+
+    public static AccountResponse toResponse(Account account) {
+        return AccountResponse.builder()
+                .accountId(account.getAccountId())
+                .customerId(account.getCustomerId())
+                .accountType(account.getAccountType().name())
+                .currency(account.getCurrency())
+                .status(account.getStatus().name())
+                .customerName(account.getCustomerName())
+                .email(account.getEmail())
+                .phoneNumber(account.getPhoneNumber())
+                .createdAt(account.getCreatedAt().toString())
+                .updatedAt(account.getUpdatedAt() != null ? account.getUpdatedAt().toString() : null)
+                .version(account.getVersion())
+                .build();
+    }
+
+    /**
+     * One page of a keyset-paginated listing from up to pageSize + 1 rows; the extra row only
+     * tells that another page follows.
+     */
+    public static AccountPage toPage(List<Account> accounts, int pageSize) {
+        boolean hasMore = accounts.size() > pageSize;
+        List<Account> page = hasMore ? accounts.subList(0, pageSize) : accounts;
+        String nextCursor = null;
+        if (hasMore) {
+            Account last = page.get(page.size() - 1);
+            nextCursor = new AccountCursor(last.getCreatedAt(), last.getAccountId()).encode();
+        }
+        return AccountPage.builder()
+                .items(page.stream().map(AccountMapper::toResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public static AccountEvent toEvent(Account account, AccountEvent.AccountEventType eventType) {
+        return AccountEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .accountId(account.getAccountId())
+                .customerId(account.getCustomerId())
+                .accountType(account.getAccountType().name())
+                .currency(account.getCurrency())
+                .status(account.getStatus().name())
+                .customerName(account.getCustomerName())
+                .email(account.getEmail())
+                .phoneNumber(account.getPhoneNumber())
+                .createdAt(account.getCreatedAt())
+                .eventType(eventType)
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+    }
+
+    public static AccountEvent.AccountEventType eventTypeFor(AccountStatus status) {
+        return switch (status) {
+            case ACTIVE -> AccountEvent.AccountEventType.ACCOUNT_REACTIVATED;
+            case SUSPENDED -> AccountEvent.AccountEventType.ACCOUNT_SUSPENDED;
+            case CLOSED -> AccountEvent.AccountEventType.ACCOUNT_CLOSED;
+            default -> AccountEvent.AccountEventType.ACCOUNT_UPDATED;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.dto.CreateAccountRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Business rules shared by AccountService, bulk status jobs and the reactive variant:
+ * which status transitions are allowed and how an invalid bulk row is reported.
+ */
+public final class AccountRules {
+
+    private static final Map<AccountStatus, Set<AccountStatus>> TRANSITION_SOURCES = transitionSources();
+
+    private AccountRules() {
+    }
+
+    /**
+     * The statuses an account may move to target from.
+     */
+    public static Set<AccountStatus> allowedSources(AccountStatus target) {
+        return TRANSITION_SOURCES.get(target);
+    }
+
+    /**
+     * Explains why an account in oldStatus cannot move to newStatus; used once a conditional
+     * update has matched no row.
+     */
+    public static void validateStatusTransition(AccountStatus oldStatus, AccountStatus newStatus) {
+        // Business rules for status transitions
+        if (oldStatus == AccountStatus.CLOSED) {
+            throw new IllegalStateException("Cannot change status of a closed account");
+        }
+
+        if (oldStatus == newStatus) {
+            throw new IllegalStateException("Account is already in " + newStatus + " status");
+        }
+    }
+
+    /**
+     * Why a bulk row is invalid, or null when it is valid.
+     */
+    public static String validate(Validator validator, CreateAccountRequest row) {
+        if (row == null) {
+            return "Malformed row";
+        }
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * The statuses each status may be entered from; mirrors validateStatusTransition.
+     */
+    private static Map<AccountStatus, Set<AccountStatus>> transitionSources() {
+        Map<AccountStatus, Set<AccountStatus>> sources = new EnumMap<>(AccountStatus.class);
+        for (AccountStatus target : AccountStatus.values()) {
+            sources.put(target, EnumSet.complementOf(EnumSet.of(AccountStatus.CLOSED, target)));
+        }
+        return sources;
+    }
+}
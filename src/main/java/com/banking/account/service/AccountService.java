@@ -1,178 +1,691 @@
 package com.banking.account.service;
 
+import com.banking.account.cache.AccountCache;
+import com.banking.account.cache.SerializedAccount;
 import com.banking.account.domain.Account;
 import com.banking.account.domain.AccountStatus;
-import com.banking.account.domain.AccountType;
+import com.banking.account.dto.AccountLookupResponse;
+import com.banking.account.dto.AccountPage;
+import com.banking.account.dto.BulkAccountResult;
 import com.banking.account.dto.CreateAccountRequest;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.UpdateAccountStatusRequest;
 import com.banking.account.event.AccountEvent;
 import com.banking.account.exception.AccountAlreadyExistsException;
 import com.banking.account.exception.AccountNotFoundException;
-import com.banking.account.kafka.AccountEventProducer;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.banking.account.kafka.AccountEventOutbox;
+import com.banking.account.logging.HotPathLogSampler;
+import com.banking.account.readmodel.AccountReadModel;
 import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.AccountVersion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AccountService {
 
+    private static final String EMAIL_UNIQUE_INDEX = "idx_email";
+
     private final AccountRepository accountRepository;
-    private final AccountEventProducer eventProducer;
+    private final AccountEventOutbox eventOutbox;
+    private final AccountCache accountCache;
+    private final AccountIdGenerator accountIdGenerator;
+    private final EmailMembershipFilter emailFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final HotPathLogSampler logSampler;
+    private final ObjectProvider<AccountReadModel> readModelProvider;
+
+    @Value("${account.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${account.bulk.max-rows:10000}")
+    private int bulkMaxRows;
+
+    @Value("${account.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${account.lookup.max-ids:1000}")
+    private int lookupMaxIds;
+
+    @Value("${account.lookup.chunk-size:500}")
+    private int lookupChunkSize;
+
+    @Value("${account.status-update.max-attempts:3}")
+    private int statusUpdateMaxAttempts;
+
+    // Loads of single account IDs currently running on behalf of a lookup; a concurrent
+    // lookup that needs the same ID waits for that load instead of querying it again
+    private final ConcurrentHashMap<String, CompletableFuture<AccountResponse>> inFlightLookups =
+            new ConcurrentHashMap<>();
 
     @Transactional
+    @Timed(value = "account.service.operation", extraTags = {"operation", "create"})
     public AccountResponse createAccount(CreateAccountRequest request) {
-        log.info("Creating account for customer: {}", request.getCustomerId());
-
-        // Check if email already exists
-        if (accountRepository.existsByEmail(request.getEmail())) {
-            throw new AccountAlreadyExistsException("Account with email " + request.getEmail() + " already exists");
+        // Only ask the database when the filter cannot rule the email out; the unique
+        // index below stays the authoritative check
+        if (emailFilter.mightContain(request.getEmail())) {
+            if (accountRepository.existsByEmail(request.getEmail())) {
+                throw new AccountAlreadyExistsException("Account with email " + request.getEmail() + " already exists");
+            }
+            emailFilter.recordFalsePositives(1);
         }
 
         // Generate account ID
         String accountId = generateAccountId();
 
         // Create account entity
-        Account account = Account.builder()
-                .accountId(accountId)
-                .customerId(request.getCustomerId())
-                .accountType(AccountType.valueOf(request.getAccountType()))
-                .currency(request.getCurrency())
-                .status(AccountStatus.ACTIVE)
-                .customerName(request.getCustomerName())
-                .email(request.getEmail())
-                .phoneNumber(request.getPhoneNumber())
-                .build();
+        Account account = AccountMapper.toAccount(accountId, request);
 
-        // Save to database
-        Account savedAccount = accountRepository.save(account);
-        log.info("Account created successfully: accountId={}", accountId);
+        // Save to database, flushing so a unique violation surfaces here rather than at commit
+        Account savedAccount;
+        try {
+            savedAccount = accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new AccountAlreadyExistsException("Account with email " + request.getEmail() + " already exists");
+            }
+            throw e;
+        }
+        emailFilter.add(savedAccount.getEmail());
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Account created")
+                    .addKeyValue("accountId", accountId)
+                    .addKeyValue("customerId", request.getCustomerId())
+                    .log();
+        }
 
-        // Publish account created event
+        // Stage account created event; the outbox relay publishes it after commit
         AccountEvent event = buildAccountEvent(savedAccount, AccountEvent.AccountEventType.ACCOUNT_CREATED);
-        eventProducer.publishAccountEvent(event);
+        eventOutbox.enqueue(event);
+        accountCache.evictAfterCommit(accountId, savedAccount.getCustomerId(), savedAccount.getEmail());
 
         return mapToResponse(savedAccount);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Creates accounts in chunks. Each chunk checks all of its emails with one query,
+     * inserts through JDBC batching and stages its events in one outbox batch, all in
+     * its own transaction. Returns one result per submitted row, in order.
+     */
+    @Timed(value = "account.service.operation", extraTags = {"operation", "create_bulk"})
+    public List<BulkAccountResult> createAccounts(List<CreateAccountRequest> requests) {
+        if (requests.size() > bulkMaxRows) {
+            throw new IllegalArgumentException("Batch of " + requests.size() + " rows exceeds the limit of "
+                    + bulkMaxRows + "; use the NDJSON stream for larger loads");
+        }
+        log.info("Creating accounts in bulk: rows={}", requests.size());
+        List<BulkAccountResult> results = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += bulkChunkSize) {
+            int to = Math.min(from + bulkChunkSize, requests.size());
+            results.addAll(createAccountChunk(from, requests.subList(from, to)));
+        }
+        return results;
+    }
+
+    /**
+     * Streaming variant of {@link #createAccounts(List)} for loads of any size: rows are
+     * pulled from the iterator one chunk at a time and each chunk's results are handed
+     * to {@code sink} before the next chunk is read. Returns the number of rows processed.
+     */
+    @Timed(value = "account.service.operation", extraTags = {"operation", "create_bulk_stream"})
+    public int createAccounts(Iterator<CreateAccountRequest> rows, Consumer<List<BulkAccountResult>> sink) {
+        int processed = 0;
+        List<CreateAccountRequest> chunk = new ArrayList<>(bulkChunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == bulkChunkSize || !rows.hasNext()) {
+                sink.accept(createAccountChunk(processed, chunk));
+                processed += chunk.size();
+                chunk.clear();
+            }
+        }
+        log.info("Bulk account stream completed: rows={}", processed);
+        return processed;
+    }
+
+    /**
+     * Creates one chunk of a bulk load. {@code firstIndex} is the position of the first
+     * row in the overall batch and is used to number the results. Null rows are
+     * reported as INVALID (the streaming endpoint passes null for unparseable lines).
+     */
+    public List<BulkAccountResult> createAccountChunk(int firstIndex, List<CreateAccountRequest> rows) {
+        BulkAccountResult[] results = new BulkAccountResult[rows.size()];
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateAccountRequest row = rows.get(i);
+            String violation = validate(row);
+            if (violation != null) {
+                results[i] = bulkResult(firstIndex + i, row, BulkAccountResult.Status.INVALID, null, violation);
+            } else if (!emails.add(row.getEmail())) {
+                results[i] = bulkResult(firstIndex + i, row, BulkAccountResult.Status.DUPLICATE, null,
+                        "Email " + row.getEmail() + " appears more than once in the batch");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        insertChunk(firstIndex, rows, candidates, emails, results));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer took one of the emails; fall back to row-by-row inserts
+                log.warn("Bulk chunk hit a constraint violation, retrying row by row: firstIndex={}, rows={}",
+                        firstIndex, candidates.size());
+                for (int i : candidates) {
+                    results[i] = createSingle(firstIndex + i, rows.get(i));
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private void insertChunk(int firstIndex, List<CreateAccountRequest> rows, List<Integer> candidates,
+                             Set<String> emails, BulkAccountResult[] results) {
+        Set<String> maybeExisting = new HashSet<>();
+        for (String email : emails) {
+            if (emailFilter.mightContain(email)) {
+                maybeExisting.add(email);
+            }
+        }
+        Set<String> existing = maybeExisting.isEmpty() ? Set.of() : accountRepository.findExistingEmails(maybeExisting);
+        emailFilter.recordFalsePositives(maybeExisting.size() - existing.size());
+
+        List<Account> accounts = new ArrayList<>(candidates.size());
+        List<Integer> accountRows = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            CreateAccountRequest row = rows.get(i);
+            if (existing.contains(row.getEmail())) {
+                results[i] = bulkResult(firstIndex + i, row, BulkAccountResult.Status.DUPLICATE, null,
+                        "Account with email " + row.getEmail() + " already exists");
+            } else {
+                accounts.add(AccountMapper.toAccount(generateAccountId(), row));
+                accountRows.add(i);
+            }
+        }
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        List<Account> saved = accountRepository.saveAll(accounts);
+        accountRepository.flush();
+        for (Account account : saved) {
+            emailFilter.add(account.getEmail());
+        }
+
+        List<AccountEvent> events = new ArrayList<>(saved.size());
+        Set<String> customerIds = new HashSet<>();
+        List<String> newEmails = new ArrayList<>(saved.size());
+        for (int j = 0; j < saved.size(); j++) {
+            Account account = saved.get(j);
+            int i = accountRows.get(j);
+            events.add(buildAccountEvent(account, AccountEvent.AccountEventType.ACCOUNT_CREATED));
+            customerIds.add(account.getCustomerId());
+            newEmails.add(account.getEmail());
+            results[i] = bulkResult(firstIndex + i, rows.get(i), BulkAccountResult.Status.CREATED,
+                    account.getAccountId(), null);
+        }
+        eventOutbox.enqueueAll(events);
+        accountCache.evictCreatedAfterCommit(customerIds, newEmails);
+        log.info("Bulk chunk created: firstIndex={}, created={}", firstIndex, saved.size());
+    }
+
+    private BulkAccountResult createSingle(int index, CreateAccountRequest row) {
+        try {
+            AccountResponse created = transactionTemplate.execute(status -> createAccount(row));
+            return bulkResult(index, row, BulkAccountResult.Status.CREATED, created.getAccountId(), null);
+        } catch (AccountAlreadyExistsException e) {
+            return bulkResult(index, row, BulkAccountResult.Status.DUPLICATE, null,
+                    "Account with email " + row.getEmail() + " already exists");
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                return bulkResult(index, row, BulkAccountResult.Status.DUPLICATE, null,
+                        "Account with email " + row.getEmail() + " already exists");
+            }
+            log.error("Bulk row violated a constraint: index={}", index, e);
+            return bulkResult(index, row, BulkAccountResult.Status.FAILED, null, "An unexpected error occurred");
+        } catch (RuntimeException e) {
+            log.error("Bulk row failed: index={}", index, e);
+            return bulkResult(index, row, BulkAccountResult.Status.FAILED, null, "An unexpected error occurred");
+        }
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String validate(CreateAccountRequest row) {
+        return AccountRules.validate(validator, row);
+    }
+
+    private BulkAccountResult bulkResult(int index, CreateAccountRequest row, BulkAccountResult.Status status,
+                                         String accountId, String error) {
+        return BulkAccountResult.builder()
+                .index(index)
+                .status(status)
+                .email(row != null ? row.getEmail() : null)
+                .accountId(accountId)
+                .error(error)
+                .build();
+    }
+
+    // Cached reads are not @Transactional so a cache hit never borrows a connection;
+    // on a miss the repository call runs in its own read-only transaction.
+    @Timed(value = "account.service.operation", extraTags = {"operation", "get"})
     public AccountResponse getAccount(String accountId) {
-        log.info("Fetching account: accountId={}", accountId);
-        Account account = accountRepository.findById(accountId)
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Fetching account").addKeyValue("accountId", accountId).log();
+        }
+        AccountReadModel readModel = servableReadModel();
+        if (readModel != null) {
+            // A miss may be an account created after the model's position, so ask the database
+            AccountResponse account = readModel.getAccount(accountId);
+            if (account != null) {
+                return account;
+            }
+        }
+        return accountCache.getAccount(accountId, () -> loadAccount(accountId));
+    }
+
+    /**
+     * {@link #getAccount} as ready-to-write JSON, so an unchanged account is neither mapped
+     * nor serialized again. {@code currentVersion} is the account's version when the caller
+     * has just read it, so a cached copy of another version is not used; may be null.
+     */
+    @Timed(value = "account.service.operation", extraTags = {"operation", "get"})
+    public SerializedAccount getAccountJson(String accountId, Long currentVersion) {
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Fetching account").addKeyValue("accountId", accountId).log();
+        }
+        AccountReadModel readModel = servableReadModel();
+        if (readModel != null) {
+            AccountResponse account = readModel.getAccount(accountId);
+            if (account != null) {
+                // Read-model accounts carry no version to key the serialized copy by
+                return serialize(account);
+            }
+        }
+        return accountCache.getAccountJson(accountId, currentVersion, () -> loadAccount(accountId));
+    }
+
+    private AccountResponse loadAccount(String accountId) {
+        return accountRepository.findById(accountId)
+                .map(this::mapToResponse)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
-        return mapToResponse(account);
     }
 
-    @Transactional(readOnly = true)
+    private SerializedAccount serialize(AccountResponse account) {
+        try {
+            return new SerializedAccount(account.getVersion(), objectMapper.writeValueAsBytes(account));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize account " + account.getAccountId(), e);
+        }
+    }
+
+    /**
+     * Version of the account from a version-only query, for answering conditional requests
+     * without loading or mapping the account.
+     */
+    @Timed(value = "account.service.operation", extraTags = {"operation", "get_version"})
+    public long getAccountVersion(String accountId) {
+        return accountRepository.findVersionByAccountId(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+    }
+
+    @Timed(value = "account.service.operation", extraTags = {"operation", "get_versions_by_customer"})
+    public List<AccountVersion> getAccountVersionsByCustomer(String customerId) {
+        return accountRepository.findVersionsByCustomerId(customerId);
+    }
+
+    /**
+     * Resolves many account IDs at once: cached entries first, the rest with chunked
+     * {@code IN} queries. Duplicate IDs are collapsed, and IDs already being loaded by a
+     * concurrent lookup are waited for rather than queried again.
+     */
+    @Timed(value = "account.service.operation", extraTags = {"operation", "lookup"})
+    public AccountLookupResponse lookupAccounts(List<String> accountIds) {
+        Set<String> ids = new LinkedHashSet<>(accountIds);
+        if (ids.size() > lookupMaxIds) {
+            throw new IllegalArgumentException("Lookup of " + ids.size() + " account IDs exceeds the limit of "
+                    + lookupMaxIds);
+        }
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Looking up accounts").addKeyValue("count", ids.size()).log();
+        }
+
+        Map<String, AccountResponse> found = accountCache.getAccounts(ids, this::loadAccountsCoalesced);
+        List<AccountResponse> accounts = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            AccountResponse account = found.get(id);
+            if (account != null) {
+                accounts.add(account);
+            } else {
+                missing.add(id);
+            }
+        }
+        return AccountLookupResponse.builder()
+                .accounts(accounts)
+                .missingAccountIds(missing)
+                .build();
+    }
+
+    private Map<String, AccountResponse> loadAccountsCoalesced(Collection<String> accountIds) {
+        Map<String, CompletableFuture<AccountResponse>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<AccountResponse>> joined = new HashMap<>();
+        for (String id : accountIds) {
+            CompletableFuture<AccountResponse> load = new CompletableFuture<>();
+            CompletableFuture<AccountResponse> existing = inFlightLookups.putIfAbsent(id, load);
+            if (existing == null) {
+                owned.put(id, load);
+            } else {
+                joined.put(id, existing);
+            }
+        }
+
+        Map<String, AccountResponse> result = new HashMap<>();
+        try {
+            List<String> ownedIds = List.copyOf(owned.keySet());
+            for (int from = 0; from < ownedIds.size(); from += lookupChunkSize) {
+                List<String> chunk = ownedIds.subList(from, Math.min(from + lookupChunkSize, ownedIds.size()));
+                for (Account account : accountRepository.findAllById(chunk)) {
+                    result.put(account.getAccountId(), mapToResponse(account));
+                }
+            }
+            // Completes with null for IDs that do not exist
+            owned.forEach((id, load) -> load.complete(result.get(id)));
+        } catch (RuntimeException e) {
+            owned.values().forEach(load -> load.completeExceptionally(e));
+            throw e;
+        } finally {
+            owned.forEach(inFlightLookups::remove);
+        }
+
+        // Only wait on other lookups after finishing our own loads, so two lookups with
+        // overlapping IDs can never wait on each other
+        joined.forEach((id, load) -> {
+            AccountResponse account;
+            try {
+                account = load.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (account != null) {
+                result.put(id, account);
+            }
+        });
+        return result;
+    }
+
+    @Timed(value = "account.service.operation", extraTags = {"operation", "get_by_customer"})
     public List<AccountResponse> getAccountsByCustomer(String customerId) {
-        log.info("Fetching accounts for customer: {}", customerId);
-        List<Account> accounts = accountRepository.findByCustomerId(customerId);
-        return accounts.stream()
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Fetching accounts for customer").addKeyValue("customerId", customerId).log();
+        }
+        AccountReadModel readModel = servableReadModel();
+        if (readModel != null) {
+            return readModel.getAccountsByCustomer(customerId);
+        }
+        return accountCache.getAccountsByCustomer(customerId, () -> accountRepository.findByCustomerId(customerId)
+                .stream()
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
+    /**
+     * Keyset-paginated listing of accounts in a status, ordered by (created_at, account_id).
+     * Pass the previous page's {@code nextCursor} to continue; null starts from the beginning.
+     */
     @Transactional(readOnly = true)
-    public List<AccountResponse> getAccountByCustomerEmail(String email){
-        log.info("Fetching accounts using email; {}", email);
-        Optional<Account> accounts = accountRepository.findByEmail(email);
-        return accounts.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Timed(value = "account.service.operation", extraTags = {"operation", "list_by_status"})
+    public AccountPage listAccountsByStatus(String status, String cursor, int limit) {
+        AccountStatus accountStatus = AccountStatus.valueOf(status);
+        int pageSize = pageSize(limit);
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Listing accounts by status")
+                    .addKeyValue("status", accountStatus)
+                    .addKeyValue("limit", pageSize)
+                    .log();
+        }
+        List<Account> accounts = cursor == null
+                ? accountRepository.findFirstPageByStatus(accountStatus, Limit.of(pageSize + 1))
+                : findPageByStatusAfter(accountStatus, AccountCursor.decode(cursor), pageSize + 1);
+        return AccountMapper.toPage(accounts, pageSize);
+    }
 
+    /**
+     * Keyset-paginated listing of a customer's accounts, ordered by (created_at, account_id).
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "account.service.operation", extraTags = {"operation", "list_by_customer"})
+    public AccountPage listAccountsByCustomer(String customerId, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Listing accounts by customer")
+                    .addKeyValue("customerId", customerId)
+                    .addKeyValue("limit", pageSize)
+                    .log();
+        }
+        List<Account> accounts = cursor == null
+                ? accountRepository.findFirstPageByCustomerId(customerId, Limit.of(pageSize + 1))
+                : findPageByCustomerAfter(customerId, AccountCursor.decode(cursor), pageSize + 1);
+        return AccountMapper.toPage(accounts, pageSize);
     }
 
-    @Transactional
-    public AccountResponse updateAccountStatus(String accountId, UpdateAccountStatusRequest request) {
-        log.info("Updating account status: accountId={}, newStatus={}", accountId, request.getStatus());
+    /**
+     * Writes every account in the given status as a JSON array, one entity at a time.
+     * Rows are streamed from the database with a bounded fetch size and detached as soon
+     * as they are written, so memory stays flat regardless of the result size.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "account.service.operation", extraTags = {"operation", "export_by_status"})
+    public long exportAccountsByStatus(String status, OutputStream out) throws IOException {
+        AccountStatus accountStatus = AccountStatus.valueOf(status);
+        log.info("Exporting accounts by status: status={}", accountStatus);
+        try (Stream<Account> accounts = accountRepository.streamByStatus(accountStatus)) {
+            return writeJsonArray(accounts, out);
+        }
+    }
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+    @Transactional(readOnly = true)
+    @Timed(value = "account.service.operation", extraTags = {"operation", "export_by_customer"})
+    public long exportAccountsByCustomer(String customerId, OutputStream out) throws IOException {
+        log.info("Exporting accounts by customer: customerId={}", customerId);
+        try (Stream<Account> accounts = accountRepository.streamByCustomerId(customerId)) {
+            return writeJsonArray(accounts, out);
+        }
+    }
+
+    // Not @Transactional so callers waiting on a coalesced lookup hold no connection
+    @Timed(value = "account.service.operation", extraTags = {"operation", "get_by_email"})
+    public List<AccountResponse> getAccountByCustomerEmail(String email){
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Fetching accounts by email").addKeyValue("email", email).log();
+        }
+        AccountReadModel readModel = servableReadModel();
+        if (readModel != null) {
+            return readModel.getAccountsByEmail(email);
+        }
+        return accountCache.getAccountsByEmail(email, () -> accountRepository.findByEmail(email)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList()));
+    }
 
-        AccountStatus oldStatus = account.getStatus();
+    /**
+     * Applies the transition with one conditional UPDATE (see AccountStatusUpdates) instead of
+     * read, check and save. Only when it matches no row is the account read, to tell a
+     * missing account, a disallowed transition and a stale expectedVersion apart. If none of
+     * those applies the row changed in between, and the update is retried a bounded number
+     * of times before giving up with 409.
+     *
+     * Each attempt is a transaction of its own: PostgreSQL aborts a transaction after a failed
+     * statement (a deadlock or lock timeout here), so a retry inside it could only fail again.
+     */
+    @Timed(value = "account.service.operation", extraTags = {"operation", "update_status"})
+    public AccountResponse updateAccountStatus(String accountId, UpdateAccountStatusRequest request) {
         AccountStatus newStatus = AccountStatus.valueOf(request.getStatus());
+        Long expectedVersion = request.getExpectedVersion();
 
-        // Validate status transition
-        validateStatusTransition(oldStatus, newStatus);
+        for (int attempt = 1; ; attempt++) {
+            AccountResponse updated;
+            try {
+                updated = transactionTemplate.execute(status -> tryUpdateStatus(accountId, newStatus, expectedVersion));
+            } catch (PessimisticLockingFailureException e) {
+                log.warn("Account status update attempt {} failed: accountId={}, error={}", attempt, accountId,
+                        e.getMessage());
+                updated = null;
+            }
+            if (updated != null) {
+                return updated;
+            }
+            if (attempt >= statusUpdateMaxAttempts) {
+                throw new AccountVersionConflictException("Account " + accountId
+                        + " kept changing during the status update; retry");
+            }
+        }
+    }
 
-        account.setStatus(newStatus);
-        Account updatedAccount = accountRepository.save(account);
+    // One attempt; null when the row changed between the UPDATE and the read
+    private AccountResponse tryUpdateStatus(String accountId, AccountStatus newStatus, Long expectedVersion) {
+        Optional<Account> updated = accountRepository.updateStatusIfAllowed(accountId, newStatus,
+                AccountRules.allowedSources(newStatus), expectedVersion, LocalDateTime.now());
+        if (updated.isPresent()) {
+            return onStatusUpdated(updated.get());
+        }
 
-        // Publish appropriate event based on status change
-        AccountEvent.AccountEventType eventType = mapStatusToEventType(newStatus);
+        Account current = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+        entityManager.detach(current);
+        AccountRules.validateStatusTransition(current.getStatus(), newStatus);
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new AccountVersionConflictException("Account " + accountId + " is at version "
+                    + current.getVersion() + ", not " + expectedVersion);
+        }
+        return null;
+    }
+
+    private AccountResponse onStatusUpdated(Account updatedAccount) {
+        AccountEvent.AccountEventType eventType = mapStatusToEventType(updatedAccount.getStatus());
         AccountEvent event = buildAccountEvent(updatedAccount, eventType);
-        eventProducer.publishAccountEvent(event);
+        eventOutbox.enqueue(event);
+        accountCache.evictAfterCommit(updatedAccount.getAccountId(), updatedAccount.getCustomerId(),
+                updatedAccount.getEmail());
 
-        log.info("Account status updated: accountId={}, oldStatus={}, newStatus={}",
-                accountId, oldStatus, newStatus);
+        if (logSampler.sample()) {
+            log.atInfo().setMessage("Account status updated")
+                    .addKeyValue("accountId", updatedAccount.getAccountId())
+                    .addKeyValue("newStatus", updatedAccount.getStatus())
+                    .addKeyValue("version", updatedAccount.getVersion())
+                    .log();
+        }
 
         return mapToResponse(updatedAccount);
     }
 
-    private String generateAccountId() {
-        // Generate unique account ID with prefix
-        return "ACC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
-
-    private AccountEvent buildAccountEvent(Account account, AccountEvent.AccountEventType eventType) {
-        return AccountEvent.builder()
-                .eventId(UUID.randomUUID().toString())
-                .accountId(account.getAccountId())
-                .customerId(account.getCustomerId())
-                .accountType(account.getAccountType().name())
-                .currency(account.getCurrency())
-                .status(account.getStatus().name())
-                .customerName(account.getCustomerName())
-                .email(account.getEmail())
-                .phoneNumber(account.getPhoneNumber())
-                .createdAt(account.getCreatedAt())
-                .eventType(eventType)
-                .eventTimestamp(LocalDateTime.now())
-                .build();
+    // The read model when it is enabled and fresh enough for this request, otherwise null
+    private AccountReadModel servableReadModel() {
+        AccountReadModel readModel = readModelProvider.getIfAvailable();
+        return readModel != null && readModel.isServable() ? readModel : null;
     }
 
-    private AccountResponse mapToResponse(Account account) {
-        return AccountResponse.builder()
-                .accountId(account.getAccountId())
-                .customerId(account.getCustomerId())
-                .accountType(account.getAccountType().name())
-                .currency(account.getCurrency())
-                .status(account.getStatus().name())
-                .customerName(account.getCustomerName())
-                .email(account.getEmail())
-                .phoneNumber(account.getPhoneNumber())
-                .createdAt(account.getCreatedAt().toString())
-                .updatedAt(account.getUpdatedAt() != null ? account.getUpdatedAt().toString() : null)
-                .build();
+    private List<Account> findPageByStatusAfter(AccountStatus status, AccountCursor cursor, int limit) {
+        return accountRepository.findPageByStatusAfter(status, cursor.createdAt(), cursor.accountId(), Limit.of(limit));
     }
 
-    private void validateStatusTransition(AccountStatus oldStatus, AccountStatus newStatus) {
-        // Business rules for status transitions
-        if (oldStatus == AccountStatus.CLOSED) {
-            throw new IllegalStateException("Cannot change status of a closed account");
-        }
+    private List<Account> findPageByCustomerAfter(String customerId, AccountCursor cursor, int limit) {
+        return accountRepository.findPageByCustomerIdAfter(customerId, cursor.createdAt(), cursor.accountId(),
+                Limit.of(limit));
+    }
 
-        if (oldStatus == newStatus) {
-            throw new IllegalStateException("Account is already in " + newStatus + " status");
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    private long writeJsonArray(Stream<Account> accounts, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The caller owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<Account> iterator = accounts.iterator();
+            while (iterator.hasNext()) {
+                Account account = iterator.next();
+                generator.writeObject(mapToResponse(account));
+                entityManager.detach(account);
+                written++;
+            }
+            generator.writeEndArray();
         }
+        log.info("Account export completed: rows={}", written);
+        return written;
+    }
+
+    String generateAccountId() {
+        // Time-ordered, unique per node; see AccountIdGenerator
+        return accountIdGenerator.nextId();
+    }
+
+    AccountEvent buildAccountEvent(Account account, AccountEvent.AccountEventType eventType) {
+        return AccountMapper.toEvent(account, eventType);
+    }
+
+    AccountResponse mapToResponse(Account account) {
+        return AccountMapper.toResponse(account);
     }
 
-    private AccountEvent.AccountEventType mapStatusToEventType(AccountStatus status) {
-        return switch (status) {
-            case ACTIVE -> AccountEvent.AccountEventType.ACCOUNT_REACTIVATED;
-            case SUSPENDED -> AccountEvent.AccountEventType.ACCOUNT_SUSPENDED;
-            case CLOSED -> AccountEvent.AccountEventType.ACCOUNT_CLOSED;
-            default -> AccountEvent.AccountEventType.ACCOUNT_UPDATED;
-        };
+    AccountEvent.AccountEventType mapStatusToEventType(AccountStatus status) {
+        return AccountMapper.eventTypeFor(status);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,460 @@
+package com.banking.account.service;
+
+import com.banking.account.cache.AccountCache;
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountStatusJob;
+import com.banking.account.dto.BulkStatusJobRequest;
+import com.banking.account.dto.StatusJobResponse;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.exception.StatusJobNotFoundException;
+import com.banking.account.kafka.AccountEventOutbox;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.AccountStatusJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk status transitions for compliance-scale suspend and close operations.
+ *
+ * A job walks its selector keys (account IDs, customer IDs, or the IDs of accounts in a
+ * status) in sorted order, chunk-size keys at a time. Each chunk is one transaction: one
+ * set-based UPDATE that applies the same transition rules as a single PATCH, one batch of
+ * outbox events for the rows it changed, and one cache eviction. Up to parallelism chunks
+ * of a job run at once on the worker pool; the job row's last_key only advances over the
+ * chunks that have all committed, in key order, so a job resumes exactly after the last
+ * such chunk. Re-running a chunk is harmless: accounts it already moved are no longer in an
+ * allowed source status and are counted as skipped.
+ *
+ * An instance runs a job while it holds the job's lease, renewed with every progress write.
+ * Pending jobs and jobs whose lease expired (their instance stopped) are picked up every
+ * resume-interval-ms by whichever instance claims them first.
+ */
+@Service
+@Slf4j
+public class AccountStatusJobService {
+
+    private static final Set<AccountStatusJob.State> RUNNABLE =
+            EnumSet.of(AccountStatusJob.State.PENDING, AccountStatusJob.State.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    // Width of the account_id and customer_id columns, and of last_key
+    private static final int MAX_KEY_LENGTH = 20;
+
+    private final AccountStatusJobRepository jobRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final AccountEventOutbox eventOutbox;
+    private final AccountCache accountCache;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxRunningJobs;
+    private final int maxKeys;
+    private final Duration lease;
+    private final int chunkMaxAttempts;
+    private final ExecutorService coordinators;
+    private final ExecutorService workers;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+    private final Counter updatedAccounts;
+    private final Counter skippedAccounts;
+    private final Counter retriedChunks;
+
+    public AccountStatusJobService(AccountStatusJobRepository jobRepository,
+                                   AccountRepository accountRepository,
+                                   AccountService accountService,
+                                   AccountEventOutbox eventOutbox,
+                                   AccountCache accountCache,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${account.status-jobs.chunk-size:500}") int chunkSize,
+                                   @Value("${account.status-jobs.parallelism:4}") int parallelism,
+                                   @Value("${account.status-jobs.worker-threads:8}") int workerThreads,
+                                   @Value("${account.status-jobs.max-running-jobs:2}") int maxRunningJobs,
+                                   @Value("${account.status-jobs.max-ids:100000}") int maxKeys,
+                                   @Value("${account.status-jobs.lease-ms:60000}") long leaseMs,
+                                   @Value("${account.status-jobs.chunk-max-attempts:3}") int chunkMaxAttempts) {
+        this.jobRepository = jobRepository;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.eventOutbox = eventOutbox;
+        this.accountCache = accountCache;
+        this.transactionTemplate = transactionTemplate;
+        this.instanceId = UUID.randomUUID().toString();
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxRunningJobs = maxRunningJobs;
+        this.maxKeys = maxKeys;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.chunkMaxAttempts = chunkMaxAttempts;
+        this.coordinators = Executors.newCachedThreadPool(daemonThreads("account-status-job-"));
+        this.workers = Executors.newFixedThreadPool(workerThreads, daemonThreads("account-status-job-worker-"));
+        this.updatedAccounts = Counter.builder("account.status-jobs.accounts")
+                .description("Accounts processed by bulk status jobs")
+                .tag("outcome", "updated")
+                .register(meterRegistry);
+        this.skippedAccounts = Counter.builder("account.status-jobs.accounts")
+                .description("Accounts processed by bulk status jobs")
+                .tag("outcome", "skipped")
+                .register(meterRegistry);
+        this.retriedChunks = Counter.builder("account.status-jobs.chunks.retried")
+                .description("Bulk status job chunks retried after a transient database error")
+                .register(meterRegistry);
+        Gauge.builder("account.status-jobs.running", runningJobs, Set::size)
+                .description("Bulk status jobs running on this instance")
+                .register(meterRegistry);
+    }
+
+    private record Chunk(String lastKey, Future<ChunkOutcome> outcome) {
+    }
+
+    private record ChunkOutcome(int matched, int updated) {
+    }
+
+    /**
+     * Validates and stores the job, then starts it on this instance if it has room; otherwise
+     * it stays pending until an instance picks it up.
+     */
+    public StatusJobResponse submit(BulkStatusJobRequest request) {
+        AccountStatus target = AccountStatus.valueOf(request.getStatus());
+        AccountStatusJob.Selector selector;
+        String selectorValues;
+        int selectors = (request.getAccountIds() != null ? 1 : 0) + (request.getCustomerIds() != null ? 1 : 0)
+                + (request.getCurrentStatus() != null ? 1 : 0);
+        if (selectors != 1) {
+            throw new IllegalArgumentException("Exactly one of accountIds, customerIds and currentStatus is required");
+        }
+        if (request.getCurrentStatus() != null) {
+            AccountStatus current = AccountStatus.valueOf(request.getCurrentStatus());
+            if (!AccountRules.allowedSources(target).contains(current)) {
+                throw new IllegalArgumentException("Accounts in " + current + " status cannot move to " + target);
+            }
+            selector = AccountStatusJob.Selector.STATUS;
+            selectorValues = current.name();
+        } else if (request.getAccountIds() != null) {
+            selector = AccountStatusJob.Selector.ACCOUNT_IDS;
+            selectorValues = joinKeys(request.getAccountIds());
+        } else {
+            selector = AccountStatusJob.Selector.CUSTOMER_IDS;
+            selectorValues = joinKeys(request.getCustomerIds());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        AccountStatusJob job = jobRepository.save(AccountStatusJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .targetStatus(target)
+                .selector(selector)
+                .selectorValues(selectorValues)
+                .reason(request.getReason())
+                .state(AccountStatusJob.State.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        log.info("Bulk status job submitted: jobId={}, targetStatus={}, selector={}, reason={}",
+                job.getJobId(), target, selector, request.getReason());
+        start(job.getJobId());
+        return getJob(job.getJobId());
+    }
+
+    public StatusJobResponse getJob(String jobId) {
+        return jobRepository.findById(jobId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new StatusJobNotFoundException("Status job not found: " + jobId));
+    }
+
+    /**
+     * Re-queues a failed job; it continues after the last chunk it committed.
+     */
+    public StatusJobResponse resume(String jobId) {
+        AccountStatusJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new StatusJobNotFoundException("Status job not found: " + jobId));
+        if (jobRepository.reopen(jobId, AccountStatusJob.State.PENDING, AccountStatusJob.State.FAILED,
+                LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Status job " + jobId + " is " + job.getState() + ", not FAILED");
+        }
+        log.info("Bulk status job resumed: jobId={}, lastKey={}", jobId, job.getLastKey());
+        start(jobId);
+        return getJob(jobId);
+    }
+
+    @Scheduled(fixedDelayString = "${account.status-jobs.resume-interval-ms:10000}")
+    public void resumeUnleased() {
+        if (runningJobs.size() >= maxRunningJobs) {
+            return;
+        }
+        try {
+            for (String jobId : jobRepository.findUnleased(RUNNABLE, LocalDateTime.now())) {
+                if (runningJobs.size() >= maxRunningJobs) {
+                    return;
+                }
+                start(jobId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to look for bulk status jobs to resume", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs keep their committed progress and are resumed once the lease expires
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void start(String jobId) {
+        if (runningJobs.size() >= maxRunningJobs || !runningJobs.add(jobId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimed;
+        try {
+            claimed = jobRepository.claim(jobId, instanceId, RUNNABLE, AccountStatusJob.State.RUNNING, now,
+                    now.plus(lease)) == 1;
+        } catch (RuntimeException e) {
+            runningJobs.remove(jobId);
+            throw e;
+        }
+        if (!claimed) {
+            runningJobs.remove(jobId);
+            return;
+        }
+        coordinators.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                runningJobs.remove(jobId);
+            }
+        });
+    }
+
+    private void run(String jobId) {
+        AccountStatusJob job = jobRepository.findById(jobId).orElseThrow();
+        List<String> keys = job.getSelector() == AccountStatusJob.Selector.STATUS
+                ? List.of()
+                : Arrays.asList(job.getSelectorValues().split(","));
+        log.info("Bulk status job running: jobId={}, targetStatus={}, selector={}, lastKey={}",
+                jobId, job.getTargetStatus(), job.getSelector(), job.getLastKey());
+
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        try {
+            if (job.getTotalAccounts() == null) {
+                jobRepository.recordTotal(jobId, instanceId, countMatching(job, keys), LocalDateTime.now());
+            }
+            String nextAfter = job.getLastKey() != null ? job.getLastKey() : "";
+            boolean exhausted = false;
+            while (true) {
+                while (!exhausted && inFlight.size() < parallelism) {
+                    List<String> chunk = nextKeys(job, keys, nextAfter);
+                    if (chunk.isEmpty()) {
+                        exhausted = true;
+                    } else {
+                        nextAfter = chunk.get(chunk.size() - 1);
+                        inFlight.add(new Chunk(nextAfter, workers.submit(() -> applyChunk(job, chunk))));
+                    }
+                }
+                Chunk oldest = inFlight.poll();
+                if (oldest == null) {
+                    break;
+                }
+                ChunkOutcome outcome = oldest.outcome().get();
+                LocalDateTime now = LocalDateTime.now();
+                int skipped = outcome.matched() - outcome.updated();
+                if (jobRepository.recordProgress(jobId, instanceId, oldest.lastKey(), outcome.updated(), skipped,
+                        now, now.plus(lease)) == 0) {
+                    log.warn("Bulk status job lease lost, stopping: jobId={}", jobId);
+                    cancel(inFlight);
+                    return;
+                }
+                updatedAccounts.increment(outcome.updated());
+                skippedAccounts.increment(skipped);
+            }
+            jobRepository.finish(jobId, instanceId, AccountStatusJob.State.COMPLETED, null, LocalDateTime.now());
+            AccountStatusJob finished = jobRepository.findById(jobId).orElseThrow();
+            log.info("Bulk status job completed: jobId={}, updated={}, skipped={}",
+                    jobId, finished.getUpdatedAccounts(), finished.getSkippedAccounts());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(inFlight);
+            log.info("Bulk status job interrupted; it resumes once its lease expires: jobId={}", jobId);
+        } catch (ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            // Chunks after the failed one may have committed; they are re-run (and skipped) on resume
+            cancel(inFlight);
+            log.error("Bulk status job failed: jobId={}", jobId, cause);
+            String error = Objects.toString(cause.getMessage(), cause.getClass().getSimpleName());
+            jobRepository.finish(jobId, instanceId, AccountStatusJob.State.FAILED,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                    LocalDateTime.now());
+        }
+    }
+
+    private List<String> nextKeys(AccountStatusJob job, List<String> keys, String after) {
+        if (job.getSelector() == AccountStatusJob.Selector.STATUS) {
+            return accountRepository.findIdsByStatusAfter(AccountStatus.valueOf(job.getSelectorValues()), after,
+                    Limit.of(chunkSize));
+        }
+        int from = Collections.binarySearch(keys, after);
+        from = from >= 0 ? from + 1 : -from - 1;
+        return keys.subList(from, Math.min(from + chunkSize, keys.size()));
+    }
+
+    private long countMatching(AccountStatusJob job, List<String> keys) {
+        return switch (job.getSelector()) {
+            case ACCOUNT_IDS -> keys.size();
+            case STATUS -> accountRepository.countByStatus(AccountStatus.valueOf(job.getSelectorValues()));
+            case CUSTOMER_IDS -> {
+                long total = 0;
+                for (int from = 0; from < keys.size(); from += chunkSize) {
+                    total += accountRepository.countByCustomerIdIn(keys.subList(from, Math.min(from + chunkSize,
+                            keys.size())));
+                }
+                yield total;
+            }
+        };
+    }
+
+    private ChunkOutcome applyChunk(AccountStatusJob job, List<String> keys) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> transitionChunk(job, keys));
+            } catch (TransientDataAccessException e) {
+                // Deadlocks and lock timeouts against concurrent single-account updates
+                if (attempt >= chunkMaxAttempts) {
+                    throw e;
+                }
+                retriedChunks.increment();
+                log.warn("Bulk status chunk failed, retrying: jobId={}, attempt={}, error={}",
+                        job.getJobId(), attempt, e.getMessage());
+                Thread.sleep(100L * attempt);
+            }
+        }
+    }
+
+    private ChunkOutcome transitionChunk(AccountStatusJob job, List<String> keys) {
+        AccountStatus target = job.getTargetStatus();
+        Set<AccountStatus> allowedFrom = AccountRules.allowedSources(target);
+        LocalDateTime now = LocalDateTime.now();
+        List<Account> updated;
+        int matched;
+        if (job.getSelector() == AccountStatusJob.Selector.CUSTOMER_IDS) {
+            updated = accountRepository.updateCustomerStatusesIfAllowed(keys, target, allowedFrom, now);
+            matched = (int) accountRepository.countByCustomerIdIn(keys);
+        } else {
+            updated = accountRepository.updateStatusesIfAllowed(keys, target, allowedFrom, now);
+            matched = keys.size();
+        }
+        if (updated.isEmpty()) {
+            return new ChunkOutcome(matched, 0);
+        }
+
+        AccountEvent.AccountEventType eventType = accountService.mapStatusToEventType(target);
+        List<AccountEvent> events = new ArrayList<>(updated.size());
+        List<String> accountIds = new ArrayList<>(updated.size());
+        Set<String> customerIds = new HashSet<>();
+        List<String> emails = new ArrayList<>(updated.size());
+        for (Account account : updated) {
+            events.add(accountService.buildAccountEvent(account, eventType));
+            accountIds.add(account.getAccountId());
+            customerIds.add(account.getCustomerId());
+            emails.add(account.getEmail());
+        }
+        eventOutbox.enqueueAll(events);
+        accountCache.evictUpdatedAfterCommit(accountIds, customerIds, emails);
+        log.debug("Bulk status chunk applied: jobId={}, matched={}, updated={}", job.getJobId(), matched,
+                updated.size());
+        return new ChunkOutcome(matched, updated.size());
+    }
+
+    private String joinKeys(List<String> values) {
+        TreeSet<String> keys = new TreeSet<>();
+        for (String value : values) {
+            if (value == null || value.isBlank() || value.contains(",") || value.trim().length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException("Invalid ID in bulk status request: " + value);
+            }
+            keys.add(value.trim());
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID is required");
+        }
+        if (keys.size() > maxKeys) {
+            throw new IllegalArgumentException("Bulk status job of " + keys.size() + " IDs exceeds the limit of "
+                    + maxKeys + "; select by status or split the list");
+        }
+        return String.join(",", keys);
+    }
+
+    private static void cancel(Deque<Chunk> inFlight) {
+        for (Chunk chunk : inFlight) {
+            chunk.outcome().cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    private StatusJobResponse mapToResponse(AccountStatusJob job) {
+        long processed = job.getUpdatedAccounts() + job.getSkippedAccounts();
+        double percent;
+        if (job.getState() == AccountStatusJob.State.COMPLETED) {
+            percent = 100;
+        } else if (job.getTotalAccounts() == null || job.getTotalAccounts() == 0) {
+            percent = 0;
+        } else {
+            // Accounts created after the count can push processed past the total
+            percent = Math.min(100, Math.round(processed * 1000.0 / job.getTotalAccounts()) / 10.0);
+        }
+        return StatusJobResponse.builder()
+                .jobId(job.getJobId())
+                .state(job.getState().name())
+                .targetStatus(job.getTargetStatus().name())
+                .selector(job.getSelector().name())
+                .reason(job.getReason())
+                .totalAccounts(job.getTotalAccounts())
+                .updatedAccounts(job.getUpdatedAccounts())
+                .skippedAccounts(job.getSkippedAccounts())
+                .percentComplete(percent)
+                .error(job.getError())
+                .createdAt(job.getCreatedAt().toString())
+                .startedAt(job.getStartedAt() != null ? job.getStartedAt().toString() : null)
+                .completedAt(job.getCompletedAt() != null ? job.getCompletedAt().toString() : null)
+                .build();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
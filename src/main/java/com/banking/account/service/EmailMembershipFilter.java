@@ -0,0 +1,177 @@
+package com.banking.account.service;
+
+import com.banking.account.repository.AccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over account emails, used to skip the existsByEmail round trip when an
+ * email has definitely never been registered.
+ *
+ * The filter is warmed once at startup by streaming the email column and then kept
+ * current by this instance's own inserts. It only ever answers "definitely absent" or
+ * "maybe present"; emails registered by other instances after warm-up are not in it, so
+ * the unique index on email stays the authoritative check and its violation is mapped
+ * to {@link com.banking.account.exception.AccountAlreadyExistsException}. Until warm-up
+ * completes every email counts as "maybe present", i.e. the database is always asked.
+ *
+ * Bits live in an {@link AtomicLongArray}, so concurrent adds never lose a bit and reads
+ * take no lock. Emails are never removed; accounts are not deleted.
+ */
+@Component
+@Slf4j
+public class EmailMembershipFilter {
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLongArray bits;
+    private volatile boolean warmed;
+
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder definitelyAbsent = new LongAdder();
+    private final LongAdder maybePresent = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public EmailMembershipFilter(AccountRepository accountRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.email-filter.enabled:true}") boolean enabled,
+                                 @Value("${account.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${account.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalStateException("account.email-filter needs expected-insertions > 0"
+                    + " and a false-positive-rate between 0 and 1");
+        }
+        this.accountRepository = accountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        // Optimal sizing: m = -n ln(p) / ln(2)^2 bits and k = (m / n) ln(2) hash functions
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        this.bitCount = enabled ? Math.max(64, (optimalBits + 63) / 64 * 64) : 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) optimalBits / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * Loads every existing email. Runs once the application is ready so startup is not
+     * held up; creates arriving meanwhile fall back to the database check.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long loaded = readOnlyTransaction.execute(status -> {
+            try (Stream<String> emails = accountRepository.streamAllEmails()) {
+                return emails.peek(this::add).count();
+            }
+        });
+        warmed = true;
+        log.info("Email filter warmed: emails={}, bits={}, hashFunctions={}, tookMs={}",
+                loaded, bitCount, hashFunctions, (System.nanoTime() - start) / 1_000_000);
+        if (loaded > expectedInsertions) {
+            log.warn("Email filter holds more emails than account.email-filter.expected-insertions ({});"
+                    + " the false-positive rate will be higher than configured", expectedInsertions);
+        }
+    }
+
+    /**
+     * False means the email is definitely not registered; true means the database has to
+     * be asked.
+     */
+    public boolean mightContain(String email) {
+        if (!enabled || !warmed) {
+            return true;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                definitelyAbsent.increment();
+                return false;
+            }
+        }
+        maybePresent.increment();
+        return true;
+    }
+
+    public void add(String email) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Records emails the filter reported as maybe present that the database did not have.
+     */
+    public void recordFalsePositives(int count) {
+        if (enabled && warmed && count > 0) {
+            falsePositives.add(count);
+        }
+    }
+
+    private long bitIndex(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 64-bit mixer
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("account.email.filter.checks", definitelyAbsent, LongAdder::sum)
+                .tag("result", "absent").register(registry);
+        FunctionCounter.builder("account.email.filter.checks", maybePresent, LongAdder::sum)
+                .tag("result", "maybe").register(registry);
+        FunctionCounter.builder("account.email.filter.false.positives", falsePositives, LongAdder::sum)
+                .description("Emails reported as maybe present that were not registered").register(registry);
+        Gauge.builder("account.email.filter.insertions", insertions, LongAdder::sum).register(registry);
+    }
+}
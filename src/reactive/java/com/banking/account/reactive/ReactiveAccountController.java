@@ -0,0 +1,259 @@
+package com.banking.account.reactive;
+
+import com.banking.account.controller.AccountETags;
+import com.banking.account.dto.AccountLookupRequest;
+import com.banking.account.dto.AccountLookupResponse;
+import com.banking.account.dto.AccountPage;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.BulkAccountResult;
+import com.banking.account.dto.BulkCreateAccountsResponse;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.UpdateAccountStatusRequest;
+import com.banking.account.exception.AccountPreconditionFailedException;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The endpoints of AccountController, with the same paths, status codes, ETags and error
+ * bodies, served without blocking. See AccountController for the full API documentation.
+ *
+ * Not carried over: Idempotency-Key replay (the header is ignored, as with
+ * account.idempotency.enabled=false), X-Consistency-Token (there is no replica routing) and
+ * the outbox backpressure 503, since events are sent directly (see
+ * ReactiveAccountEventPublisher). Bulk status jobs stay on the servlet application.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Account Management", description = "APIs for managing customer accounts")
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    @Operation(summary = "Create a new account",
+            description = "Creates a new customer account and publishes an account creation event to Kafka")
+    public Mono<ResponseEntity<AccountResponse>> createAccount(@Valid @RequestBody CreateAccountRequest request) {
+        log.debug("Received create account request for customer: {}", request.getCustomerId());
+        return accountService.createAccount(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create accounts in bulk",
+            description = "Creates up to account.bulk.max-rows accounts from a JSON array")
+    public Mono<ResponseEntity<BulkCreateAccountsResponse>> createAccounts(
+            @RequestBody List<CreateAccountRequest> requests) {
+        log.info("Received bulk create account request: rows={}", requests.size());
+        return accountService.createAccounts(requests).map(results -> {
+            int created = (int) results.stream()
+                    .filter(result -> result.getStatus() == BulkAccountResult.Status.CREATED)
+                    .count();
+            return ResponseEntity.ok(BulkCreateAccountsResponse.builder()
+                    .total(results.size())
+                    .created(created)
+                    .rejected(results.size() - created)
+                    .results(results)
+                    .build());
+        });
+    }
+
+    @PostMapping(value = "/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create accounts from an NDJSON stream",
+            description = "Streams one CreateAccountRequest per line with no row limit and streams back one "
+                    + "BulkAccountResult per line as each chunk is committed")
+    public Flux<BulkAccountResult> createAccountsStream(@RequestBody Flux<String> lines) {
+        log.info("Received streaming bulk create account request");
+        ObjectReader rowReader = objectMapper.readerFor(CreateAccountRequest.class);
+        return accountService.createAccountStream(lines
+                .filter(line -> !line.isBlank())
+                .map(line -> parseRow(rowReader, line)));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up several accounts by ID",
+            description = "Resolves up to account.lookup.max-ids account IDs in one call; unknown IDs are listed "
+                    + "as missing")
+    public Mono<ResponseEntity<AccountLookupResponse>> lookupAccounts(
+            @Valid @RequestBody AccountLookupRequest request) {
+        log.debug("Received account lookup request: ids={}", request.getAccountIds().size());
+        return accountService.lookupAccounts(request.getAccountIds()).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{accountId}")
+    @Operation(summary = "Get account by ID",
+            description = "Retrieves account details by account ID. The ETag is the account's version; send it "
+                    + "back in If-None-Match to get 304 with no body while the account is unchanged")
+    public Mono<ResponseEntity<AccountResponse>> getAccount(
+            @Parameter(description = "Account ID", example = "ACC123456")
+            @PathVariable String accountId,
+            @Parameter(description = "ETag of the copy the client holds", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received get account request: accountId={}", accountId);
+        Mono<ResponseEntity<AccountResponse>> account = accountService.getAccount(accountId)
+                .map(response -> withETag(ResponseEntity.ok(), AccountETags.forAccount(response)).body(response));
+        if (ifNoneMatch == null) {
+            return account;
+        }
+        // Only the version is read; the account is loaded only if it changed
+        return accountService.getAccountVersion(accountId).flatMap(version -> {
+            String etag = AccountETags.forVersion(version);
+            return AccountETags.noneMatchHits(ifNoneMatch, etag) ? Mono.just(notModified(etag)) : account;
+        });
+    }
+
+    @GetMapping("/customer/{customerId}")
+    @Operation(summary = "Get accounts by customer ID",
+            description = "Retrieves all accounts for a specific customer. The ETag covers the ID and version of "
+                    + "every account; send it back in If-None-Match to get 304 while none was added, removed or changed")
+    public Mono<ResponseEntity<List<AccountResponse>>> getAccountsByCustomer(
+            @Parameter(description = "Customer ID", example = "CUST123")
+            @PathVariable String customerId,
+            @Parameter(description = "ETag of the list the client holds")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received get accounts request for customer: {}", customerId);
+        Mono<ResponseEntity<List<AccountResponse>>> accounts = accountService.getAccountsByCustomer(customerId)
+                .map(response -> withETag(ResponseEntity.ok(), AccountETags.forAccounts(response)).body(response));
+        if (ifNoneMatch == null) {
+            return accounts;
+        }
+        return accountService.getAccountVersionsByCustomer(customerId).flatMap(versions -> {
+            String etag = AccountETags.forVersions(versions);
+            return AccountETags.noneMatchHits(ifNoneMatch, etag) ? Mono.just(notModified(etag)) : accounts;
+        });
+    }
+
+    @GetMapping("/customer/{customerId}/page")
+    @Operation(summary = "List a customer's accounts page by page",
+            description = "Keyset-paginated listing ordered by creation time; pass nextCursor to fetch the next page")
+    public Mono<ResponseEntity<AccountPage>> listAccountsByCustomer(
+            @Parameter(description = "Customer ID", example = "CUST123")
+            @PathVariable String customerId,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by account.listing.max-page-size)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Received list accounts request for customer: {}", customerId);
+        return accountService.listAccountsByCustomer(customerId, cursor, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/customer/{customerId}/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export all of a customer's accounts",
+            description = "Streams every account of the customer as a JSON array without buffering the result set")
+    public Flux<AccountResponse> exportAccountsByCustomer(
+            @Parameter(description = "Customer ID", example = "CUST123")
+            @PathVariable String customerId) {
+        log.info("Received export accounts request for customer: {}", customerId);
+        return accountService.exportAccountsByCustomer(customerId);
+    }
+
+    @GetMapping("/status/{status}")
+    @Operation(summary = "List accounts in a status page by page",
+            description = "Keyset-paginated listing ordered by creation time; pass nextCursor to fetch the next page")
+    public Mono<ResponseEntity<AccountPage>> listAccountsByStatus(
+            @Parameter(description = "Account status", example = "ACTIVE")
+            @PathVariable String status,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by account.listing.max-page-size)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Received list accounts request for status: {}", status);
+        return accountService.listAccountsByStatus(status, cursor, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/status/{status}/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export all accounts in a status",
+            description = "Streams every account in the status as a JSON array without buffering the result set")
+    public Flux<AccountResponse> exportAccountsByStatus(
+            @Parameter(description = "Account status", example = "SUSPENDED")
+            @PathVariable String status) {
+        log.info("Received export accounts request for status: {}", status);
+        return accountService.exportAccountsByStatus(status);
+    }
+
+    @GetMapping("/by-email/{email}")
+    @Operation(summary = "Get Account details by user email id",
+            description = "Retrieves account for a specific customer by email")
+    public Mono<ResponseEntity<List<AccountResponse>>> getAccountsByCustomerEmail(
+            @Parameter(description = "Customer Email", example = "john.doe@gmail.com")
+            @PathVariable String email) {
+        log.debug("Received get accounts request for customer email: {}", email);
+        return accountService.getAccountByCustomerEmail(email).map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/{accountId}/status")
+    @Operation(summary = "Update account status",
+            description = "Updates the status of an account (ACTIVE, INACTIVE, SUSPENDED, CLOSED). With If-Match "
+                    + "set to the ETag from a read, the update applies only if no one changed the account since")
+    public Mono<ResponseEntity<AccountResponse>> updateAccountStatus(
+            @Parameter(description = "Account ID", example = "ACC123456")
+            @PathVariable String accountId,
+            @Parameter(description = "ETag the account must still have", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateAccountStatusRequest request) {
+        log.debug("Received update account status request: accountId={}, newStatus={}",
+                accountId, request.getStatus());
+        Long requiredVersion = AccountETags.requiredVersion(ifMatch);
+        if (requiredVersion != null) {
+            if (request.getExpectedVersion() != null && !request.getExpectedVersion().equals(requiredVersion)) {
+                throw new AccountPreconditionFailedException("If-Match " + ifMatch
+                        + " contradicts expectedVersion " + request.getExpectedVersion());
+            }
+            // The same conditional UPDATE as expectedVersion, so the check and the write are atomic
+            request.setExpectedVersion(requiredVersion);
+        }
+        return accountService.updateAccountStatus(accountId, request)
+                .onErrorMap(e -> requiredVersion != null && e instanceof AccountVersionConflictException,
+                        e -> new AccountPreconditionFailedException(e.getMessage()))
+                .map(response -> withETag(ResponseEntity.ok(), AccountETags.forAccount(response)).body(response));
+    }
+
+    private Optional<CreateAccountRequest> parseRow(ObjectReader rowReader, String line) {
+        try {
+            return Optional.ofNullable(rowReader.readValue(line));
+        } catch (JsonProcessingException e) {
+            // Reported as an INVALID row rather than aborting the stream
+            return Optional.empty();
+        }
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder response, String etag) {
+        return etag != null ? response.eTag(etag) : response;
+    }
+}
@@ -0,0 +1,139 @@
+package com.banking.account.reactive;
+
+import com.banking.account.config.KafkaProducerProfile;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import com.banking.account.kafka.serialization.AccountEventSerializers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+import reactor.kafka.sender.SenderRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends account events with reactor-kafka: same topic, key, payload and content-type header
+ * as the servlet application's outbox relay, and the same producer profile.
+ *
+ * There is no outbox here, so an event is sent after its write has been committed and the
+ * response waits for the broker's ack for at most account.reactive.events.send-timeout-ms.
+ * A failed or timed-out send is logged and counted in account.events.send but does not
+ * fail the request, whose write already happened; the event is lost unless the account is
+ * written again.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAccountEventPublisher implements DisposableBean {
+
+    private final AccountEventSerializers serializers;
+    private final KafkaSender<String, byte[]> sender;
+    private final String accountEventsTopic;
+    private final Duration sendTimeout;
+    private final Timer ackTimer;
+    private final Timer failedAckTimer;
+
+    public ReactiveAccountEventPublisher(KafkaProperties kafkaProperties,
+                                         SslBundles sslBundles,
+                                         AccountEventSerializers serializers,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${kafka.topic.account-events}") String accountEventsTopic,
+                                         @Value("${kafka.producer.profile:balanced}") String producerProfile,
+                                         @Value("${account.reactive.events.enabled:true}") boolean enabled,
+                                         @Value("${account.reactive.events.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.serializers = serializers;
+        this.accountEventsTopic = accountEventsTopic;
+        this.sendTimeout = Duration.ofMillis(sendTimeoutMs);
+        this.ackTimer = sendTimer(meterRegistry, "success");
+        this.failedAckTimer = sendTimer(meterRegistry, "failure");
+        if (enabled) {
+            Map<String, Object> producerProperties = kafkaProperties.buildProducerProperties(sslBundles);
+            // Explicit spring.kafka.producer settings win over the profile, as in KafkaConfig
+            KafkaProducerProfile.fromName(producerProfile).settings().forEach(producerProperties::putIfAbsent);
+            this.sender = KafkaSender.create(SenderOptions.<String, byte[]>create(producerProperties)
+                    .stopOnError(false));
+        } else {
+            log.warn("Account events are disabled (account.reactive.events.enabled=false); nothing is published");
+            this.sender = null;
+        }
+    }
+
+    public Mono<Void> publish(AccountEvent event) {
+        return publishAll(List.of(event));
+    }
+
+    /**
+     * Sends the events in order and completes once every one was acknowledged, failed or
+     * timed out; never completes with an error.
+     */
+    public Mono<Void> publishAll(List<AccountEvent> events) {
+        if (sender == null || events.isEmpty()) {
+            return Mono.empty();
+        }
+        AccountEventSerializer serializer = serializers.active();
+        byte[] contentType = serializer.contentType().getBytes(StandardCharsets.UTF_8);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicInteger completed = new AtomicInteger();
+            Flux<SenderRecord<String, byte[], AccountEvent>> records = Flux.fromIterable(events).map(event -> {
+                ProducerRecord<String, byte[]> record = new ProducerRecord<>(accountEventsTopic,
+                        event.getAccountId(), serializers.serialize(event));
+                record.headers().add(AccountEventSerializer.CONTENT_TYPE_HEADER, contentType);
+                return SenderRecord.create(record, event);
+            });
+            return sender.send(records)
+                    .doOnNext(result -> {
+                        AccountEvent event = result.correlationMetadata();
+                        completed.incrementAndGet();
+                        if (result.exception() == null) {
+                            ackTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        } else {
+                            failedAckTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            log.error("Failed to publish account event: eventId={}, accountId={}, eventType={}",
+                                    event.getEventId(), event.getAccountId(), event.getEventType(),
+                                    result.exception());
+                        }
+                    })
+                    .then()
+                    .timeout(sendTimeout)
+                    .onErrorResume(e -> {
+                        for (int i = completed.get(); i < events.size(); i++) {
+                            failedAckTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                        log.error("Account events not acknowledged: count={}, firstAccountId={}, error={}",
+                                events.size(), events.get(0).getAccountId(), e.toString());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (sender != null) {
+            sender.close();
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("account.events.send")
+                .description("Time from handing an account event to the producer until the broker ack")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
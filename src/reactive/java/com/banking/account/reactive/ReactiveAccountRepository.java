@@ -0,0 +1,233 @@
+package com.banking.account.reactive;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+import com.banking.account.repository.AccountVersion;
+import com.banking.account.service.AccountCursor;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+/**
+ * R2DBC access to the accounts table, with the same queries AccountRepository runs through
+ * JPA. Rows are mapped into detached {@link Account} entities so AccountMapper applies
+ * unchanged; nothing here goes through Hibernate, so created_at, updated_at and version are
+ * set by the statements rather than by entity callbacks.
+ *
+ * The status update is the single conditional UPDATE of AccountStatusUpdatesImpl, returning
+ * the new row with RETURNING on PostgreSQL and a FINAL TABLE query on H2; other databases
+ * fall back to the UPDATE followed by a read.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAccountRepository {
+
+    private static final String COLUMNS = "account_id, customer_id, account_type, currency, status, customer_name,"
+            + " email, phone_number, created_at, updated_at, version";
+    private static final String ORDER = " ORDER BY created_at, account_id";
+    private static final String AFTER_CURSOR =
+            " AND (created_at > :createdAt OR (created_at = :createdAt AND account_id > :accountId))";
+
+    private final DatabaseClient databaseClient;
+    private final String table;
+    private final String select;
+    private final String update;
+    private final String returningUpdate;
+
+    public ReactiveAccountRepository(DatabaseClient databaseClient,
+                                     ConnectionFactory connectionFactory,
+                                     @Value("${account.reactive.table:account_schema.accounts}") String table) {
+        this.databaseClient = databaseClient;
+        this.table = table;
+        this.select = "SELECT " + COLUMNS + " FROM " + table;
+        this.update = "UPDATE " + table
+                + " SET status = :newStatus, version = COALESCE(version, 0) + 1, updated_at = :updatedAt"
+                + " WHERE account_id = :accountId AND status IN (:allowedFrom)"
+                + " AND (:expectedVersion < 0 OR version = :expectedVersion)";
+        String database = connectionFactory.getMetadata().getName();
+        if (database.contains("PostgreSQL")) {
+            this.returningUpdate = update + " RETURNING " + COLUMNS;
+        } else if (database.contains("H2")) {
+            this.returningUpdate = "SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ")";
+        } else {
+            this.returningUpdate = null;
+        }
+        log.info("Reactive account repository: table={}, database={}, single-statement status update={}",
+                table, database, returningUpdate != null);
+    }
+
+    public Mono<Account> findById(String accountId) {
+        return databaseClient.sql(select + " WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .map(ReactiveAccountRepository::toAccount)
+                .one();
+    }
+
+    public Flux<Account> findAllById(Collection<String> accountIds) {
+        return databaseClient.sql(select + " WHERE account_id IN (:accountIds)")
+                .bind("accountIds", accountIds)
+                .map(ReactiveAccountRepository::toAccount)
+                .all();
+    }
+
+    public Flux<Account> findByCustomerId(String customerId) {
+        return databaseClient.sql(select + " WHERE customer_id = :customerId" + ORDER)
+                .bind("customerId", customerId)
+                .map(ReactiveAccountRepository::toAccount)
+                .all();
+    }
+
+    public Mono<Account> findByEmail(String email) {
+        return databaseClient.sql(select + " WHERE email = :email")
+                .bind("email", email)
+                .map(ReactiveAccountRepository::toAccount)
+                .one();
+    }
+
+    public Mono<Long> findVersionByAccountId(String accountId) {
+        return databaseClient.sql("SELECT version FROM " + table + " WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Flux<AccountVersion> findVersionsByCustomerId(String customerId) {
+        return databaseClient.sql("SELECT account_id, version FROM " + table + " WHERE customer_id = :customerId")
+                .bind("customerId", customerId)
+                .map(row -> new AccountVersion(row.get("account_id", String.class), row.get("version", Long.class)))
+                .all();
+    }
+
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("SELECT email FROM " + table + " WHERE email IN (:emails)")
+                .bind("emails", emails)
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    /**
+     * Keyset page of a customer's accounts after the cursor (from the start when null).
+     */
+    public Flux<Account> findPageByCustomerId(String customerId, AccountCursor cursor, int limit) {
+        return page("customer_id = :customerId", cursor, limit)
+                .bind("customerId", customerId)
+                .map(ReactiveAccountRepository::toAccount)
+                .all();
+    }
+
+    public Flux<Account> findPageByStatus(AccountStatus status, AccountCursor cursor, int limit) {
+        return page("status = :status", cursor, limit)
+                .bind("status", status.name())
+                .map(ReactiveAccountRepository::toAccount)
+                .all();
+    }
+
+    /**
+     * Every account in the status, emitted as rows arrive and only as fast as the subscriber
+     * (the export response) requests them.
+     */
+    public Flux<Account> streamByStatus(AccountStatus status) {
+        return databaseClient.sql(select + " WHERE status = :status" + ORDER)
+                .bind("status", status.name())
+                .map(ReactiveAccountRepository::toAccount)
+                .all();
+    }
+
+    /**
+     * Inserts a new account at version 0 and returns it with the timestamps it was stored
+     * with. A duplicate email fails with the DataIntegrityViolationException of idx_email.
+     */
+    public Mono<Account> insert(Account account) {
+        // Truncated to what the timestamp columns store, so the response matches later reads
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        account.setCreatedAt(now);
+        account.setUpdatedAt(now);
+        account.setVersion(0L);
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("INSERT INTO " + table + " (" + COLUMNS + ")"
+                        + " VALUES (:accountId, :customerId, :accountType, :currency, :status, :customerName,"
+                        + " :email, :phoneNumber, :createdAt, :updatedAt, :version)")
+                .bind("accountId", account.getAccountId())
+                .bind("customerId", account.getCustomerId())
+                .bind("accountType", account.getAccountType().name())
+                .bind("currency", account.getCurrency())
+                .bind("status", account.getStatus().name())
+                .bind("customerName", account.getCustomerName())
+                .bind("email", account.getEmail())
+                .bind("createdAt", now)
+                .bind("updatedAt", now)
+                .bind("version", 0L);
+        insert = account.getPhoneNumber() != null
+                ? insert.bind("phoneNumber", account.getPhoneNumber())
+                : insert.bindNull("phoneNumber", String.class);
+        return insert.fetch().rowsUpdated().thenReturn(account);
+    }
+
+    /**
+     * Moves the account to newStatus if it is in one of allowedFrom and, when expectedVersion
+     * is given, still at that version. Empty when no row matched.
+     */
+    public Mono<Account> updateStatusIfAllowed(String accountId, AccountStatus newStatus,
+                                               Collection<AccountStatus> allowedFrom, Long expectedVersion,
+                                               LocalDateTime updatedAt) {
+        if (returningUpdate != null) {
+            return bindUpdate(databaseClient.sql(returningUpdate), accountId, newStatus, allowedFrom,
+                    expectedVersion, updatedAt)
+                    .map(ReactiveAccountRepository::toAccount)
+                    .one();
+        }
+        return bindUpdate(databaseClient.sql(update), accountId, newStatus, allowedFrom, expectedVersion, updatedAt)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0 ? findById(accountId) : Mono.empty());
+    }
+
+    private DatabaseClient.GenericExecuteSpec page(String condition, AccountCursor cursor, int limit) {
+        String sql = select + " WHERE " + condition + (cursor != null ? AFTER_CURSOR : "") + ORDER + " LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("limit", limit);
+        if (cursor != null) {
+            spec = spec.bind("createdAt", cursor.createdAt()).bind("accountId", cursor.accountId());
+        }
+        return spec;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindUpdate(DatabaseClient.GenericExecuteSpec spec,
+                                                                String accountId, AccountStatus newStatus,
+                                                                Collection<AccountStatus> allowedFrom,
+                                                                Long expectedVersion, LocalDateTime updatedAt) {
+        return spec.bind("newStatus", newStatus.name())
+                .bind("allowedFrom", allowedFrom.stream().map(AccountStatus::name).toList())
+                .bind("accountId", accountId)
+                .bind("expectedVersion", expectedVersion != null ? expectedVersion : -1L)
+                .bind("updatedAt", updatedAt);
+    }
+
+    private static Account toAccount(Readable row) {
+        String accountType = row.get("account_type", String.class);
+        String status = row.get("status", String.class);
+        return Account.builder()
+                .accountId(row.get("account_id", String.class))
+                .customerId(row.get("customer_id", String.class))
+                .accountType(accountType != null ? AccountType.valueOf(accountType) : null)
+                .currency(row.get("currency", String.class))
+                .status(status != null ? AccountStatus.valueOf(status) : null)
+                .customerName(row.get("customer_name", String.class))
+                .email(row.get("email", String.class))
+                .phoneNumber(row.get("phone_number", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
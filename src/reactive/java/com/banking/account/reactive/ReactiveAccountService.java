@@ -0,0 +1,356 @@
+package com.banking.account.reactive;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.dto.AccountLookupResponse;
+import com.banking.account.dto.AccountPage;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.BulkAccountResult;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.UpdateAccountStatusRequest;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.exception.AccountAlreadyExistsException;
+import com.banking.account.exception.AccountNotFoundException;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.banking.account.repository.AccountVersion;
+import com.banking.account.service.AccountCursor;
+import com.banking.account.service.AccountIdGenerator;
+import com.banking.account.service.AccountMapper;
+import com.banking.account.service.AccountRules;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * AccountService on R2DBC: the same rules, limits and response shapes, built from the
+ * shared AccountMapper and AccountRules, with every database and Kafka call non-blocking.
+ *
+ * The cache, the read model, the email Bloom filter and lookup coalescing of the servlet
+ * service are not used: each request goes to the database, and a duplicate email is caught
+ * by the unique index rather than by a query ahead of the insert.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAccountService {
+
+    private static final String EMAIL_UNIQUE_INDEX = "idx_email";
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveAccountEventPublisher eventPublisher;
+    private final AccountIdGenerator accountIdGenerator;
+    private final Validator validator;
+
+    @Value("${account.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${account.bulk.max-rows:10000}")
+    private int bulkMaxRows;
+
+    @Value("${account.reactive.bulk.insert-concurrency:8}")
+    private int bulkInsertConcurrency;
+
+    @Value("${account.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${account.lookup.max-ids:1000}")
+    private int lookupMaxIds;
+
+    @Value("${account.lookup.chunk-size:500}")
+    private int lookupChunkSize;
+
+    @Value("${account.status-update.max-attempts:3}")
+    private int statusUpdateMaxAttempts;
+
+    public Mono<AccountResponse> createAccount(CreateAccountRequest request) {
+        Account account = AccountMapper.toAccount(accountIdGenerator.nextId(), request);
+        return accountRepository.insert(account)
+                .onErrorMap(ReactiveAccountService::isEmailConflict, e -> new AccountAlreadyExistsException(
+                        "Account with email " + request.getEmail() + " already exists"))
+                .flatMap(saved -> {
+                    log.debug("Account created: accountId={}, customerId={}", saved.getAccountId(),
+                            saved.getCustomerId());
+                    return eventPublisher.publish(AccountMapper.toEvent(saved,
+                                    AccountEvent.AccountEventType.ACCOUNT_CREATED))
+                            .thenReturn(AccountMapper.toResponse(saved));
+                });
+    }
+
+    /**
+     * Creates a batch of up to account.bulk.max-rows accounts; see {@link #createAccountStream}.
+     */
+    public Mono<List<BulkAccountResult>> createAccounts(List<CreateAccountRequest> requests) {
+        if (requests.size() > bulkMaxRows) {
+            return Mono.error(new IllegalArgumentException("Batch of " + requests.size()
+                    + " rows exceeds the limit of " + bulkMaxRows + "; use the NDJSON stream for larger loads"));
+        }
+        log.info("Creating accounts in bulk: rows={}", requests.size());
+        // Wrapped before Flux sees them, since it rejects the null rows a JSON array may contain
+        return createAccountStream(Flux.fromIterable(requests.stream().map(Optional::ofNullable).toList()))
+                .collectList();
+    }
+
+    /**
+     * Creates accounts from a stream of any length, one chunk of account.bulk.chunk-size rows
+     * at a time, emitting one result per row in order. The next chunk is only requested once
+     * the previous one is done, so a fast upload cannot outrun the database. Empty rows
+     * (null in a JSON array, or an unparseable NDJSON line) are reported as INVALID.
+     */
+    public Flux<BulkAccountResult> createAccountStream(Flux<Optional<CreateAccountRequest>> rows) {
+        return rows
+                .buffer(bulkChunkSize)
+                .index()
+                .concatMap(chunk -> createAccountChunk((int) (chunk.getT1() * bulkChunkSize),
+                        chunk.getT2().stream().map(row -> row.orElse(null)).collect(Collectors.toList())));
+    }
+
+    private Flux<BulkAccountResult> createAccountChunk(int firstIndex, List<CreateAccountRequest> rows) {
+        BulkAccountResult[] results = new BulkAccountResult[rows.size()];
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateAccountRequest row = rows.get(i);
+            String violation = AccountRules.validate(validator, row);
+            if (violation != null) {
+                results[i] = bulkResult(firstIndex + i, row, BulkAccountResult.Status.INVALID, null, violation);
+            } else if (!emails.add(row.getEmail())) {
+                results[i] = bulkResult(firstIndex + i, row, BulkAccountResult.Status.DUPLICATE, null,
+                        "Email " + row.getEmail() + " appears more than once in the batch");
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+
+        List<AccountEvent> events = new ArrayList<>(candidates.size());
+        return accountRepository.findExistingEmails(emails)
+                .collectList()
+                .map(HashSet::new)
+                .flatMapMany(existing -> Flux.fromIterable(candidates)
+                        .flatMap(i -> createRow(firstIndex + i, rows.get(i), existing, events), bulkInsertConcurrency))
+                .doOnNext(result -> results[result.getIndex() - firstIndex] = result)
+                .then(Mono.defer(() -> {
+                    log.info("Bulk chunk created: firstIndex={}, created={}", firstIndex, events.size());
+                    return eventPublisher.publishAll(events);
+                }))
+                .thenMany(Flux.defer(() -> Flux.fromArray(results)));
+    }
+
+    private Mono<BulkAccountResult> createRow(int index, CreateAccountRequest row, Set<String> existing,
+                                              List<AccountEvent> events) {
+        if (existing.contains(row.getEmail())) {
+            return Mono.just(bulkResult(index, row, BulkAccountResult.Status.DUPLICATE, null,
+                    "Account with email " + row.getEmail() + " already exists"));
+        }
+        return accountRepository.insert(AccountMapper.toAccount(accountIdGenerator.nextId(), row))
+                .map(saved -> {
+                    synchronized (events) {
+                        events.add(AccountMapper.toEvent(saved, AccountEvent.AccountEventType.ACCOUNT_CREATED));
+                    }
+                    return bulkResult(index, row, BulkAccountResult.Status.CREATED, saved.getAccountId(), null);
+                })
+                .onErrorResume(e -> {
+                    if (isEmailConflict(e)) {
+                        // A concurrent writer took the email after the lookup
+                        return Mono.just(bulkResult(index, row, BulkAccountResult.Status.DUPLICATE, null,
+                                "Account with email " + row.getEmail() + " already exists"));
+                    }
+                    log.error("Bulk row failed: index={}", index, e);
+                    return Mono.just(bulkResult(index, row, BulkAccountResult.Status.FAILED, null,
+                            "An unexpected error occurred"));
+                });
+    }
+
+    public Mono<AccountResponse> getAccount(String accountId) {
+        return accountRepository.findById(accountId)
+                .map(AccountMapper::toResponse)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found: " + accountId)));
+    }
+
+    /**
+     * Version of the account from a version-only query, for answering conditional requests.
+     */
+    public Mono<Long> getAccountVersion(String accountId) {
+        return accountRepository.findVersionByAccountId(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found: " + accountId)));
+    }
+
+    public Mono<List<AccountVersion>> getAccountVersionsByCustomer(String customerId) {
+        return accountRepository.findVersionsByCustomerId(customerId).collectList();
+    }
+
+    /**
+     * Resolves many account IDs with chunked IN queries; duplicate IDs are collapsed and
+     * unknown ones listed as missing, in request order.
+     */
+    public Mono<AccountLookupResponse> lookupAccounts(List<String> accountIds) {
+        Set<String> ids = new LinkedHashSet<>(accountIds);
+        if (ids.size() > lookupMaxIds) {
+            return Mono.error(new IllegalArgumentException("Lookup of " + ids.size()
+                    + " account IDs exceeds the limit of " + lookupMaxIds));
+        }
+        return Flux.fromIterable(ids)
+                .buffer(lookupChunkSize)
+                .concatMap(accountRepository::findAllById)
+                .collectMap(Account::getAccountId, AccountMapper::toResponse)
+                .map(found -> {
+                    List<AccountResponse> accounts = new ArrayList<>(found.size());
+                    List<String> missing = new ArrayList<>();
+                    for (String id : ids) {
+                        AccountResponse account = found.get(id);
+                        if (account != null) {
+                            accounts.add(account);
+                        } else {
+                            missing.add(id);
+                        }
+                    }
+                    return AccountLookupResponse.builder()
+                            .accounts(accounts)
+                            .missingAccountIds(missing)
+                            .build();
+                });
+    }
+
+    public Mono<List<AccountResponse>> getAccountsByCustomer(String customerId) {
+        return accountRepository.findByCustomerId(customerId)
+                .map(AccountMapper::toResponse)
+                .collectList();
+    }
+
+    public Mono<List<AccountResponse>> getAccountByCustomerEmail(String email) {
+        return accountRepository.findByEmail(email)
+                .map(AccountMapper::toResponse)
+                .flux()
+                .collectList();
+    }
+
+    /**
+     * Keyset-paginated listing of accounts in a status, ordered by (created_at, account_id).
+     */
+    public Mono<AccountPage> listAccountsByStatus(String status, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = pageSize(limit);
+            return accountRepository.findPageByStatus(AccountStatus.valueOf(status), decode(cursor), pageSize + 1)
+                    .collectList()
+                    .map(accounts -> AccountMapper.toPage(accounts, pageSize));
+        });
+    }
+
+    public Mono<AccountPage> listAccountsByCustomer(String customerId, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = pageSize(limit);
+            return accountRepository.findPageByCustomerId(customerId, decode(cursor), pageSize + 1)
+                    .collectList()
+                    .map(accounts -> AccountMapper.toPage(accounts, pageSize));
+        });
+    }
+
+    /**
+     * Every account in the status, read from the database only as fast as the response
+     * is written.
+     */
+    public Flux<AccountResponse> exportAccountsByStatus(String status) {
+        return Flux.defer(() -> {
+            AccountStatus accountStatus = AccountStatus.valueOf(status);
+            log.info("Exporting accounts by status: status={}", accountStatus);
+            return accountRepository.streamByStatus(accountStatus).map(AccountMapper::toResponse);
+        });
+    }
+
+    public Flux<AccountResponse> exportAccountsByCustomer(String customerId) {
+        log.info("Exporting accounts by customer: customerId={}", customerId);
+        return accountRepository.findByCustomerId(customerId).map(AccountMapper::toResponse);
+    }
+
+    /**
+     * Applies the transition with one conditional UPDATE, reading the account only when it
+     * matched no row; retried a bounded number of times when the account changed in between,
+     * exactly as AccountService.updateAccountStatus.
+     */
+    public Mono<AccountResponse> updateAccountStatus(String accountId, UpdateAccountStatusRequest request) {
+        return Mono.defer(() -> updateAccountStatus(accountId, AccountStatus.valueOf(request.getStatus()),
+                request.getExpectedVersion(), 1));
+    }
+
+    private Mono<AccountResponse> updateAccountStatus(String accountId, AccountStatus newStatus,
+                                                      Long expectedVersion, int attempt) {
+        return accountRepository.updateStatusIfAllowed(accountId, newStatus, AccountRules.allowedSources(newStatus),
+                        expectedVersion, LocalDateTime.now())
+                .flatMap(this::onStatusUpdated)
+                .switchIfEmpty(Mono.defer(() -> accountRepository.findById(accountId)
+                        .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found: " + accountId)))
+                        .flatMap(current -> {
+                            AccountRules.validateStatusTransition(current.getStatus(), newStatus);
+                            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                                return Mono.error(new AccountVersionConflictException("Account " + accountId
+                                        + " is at version " + current.getVersion() + ", not " + expectedVersion));
+                            }
+                            if (attempt >= statusUpdateMaxAttempts) {
+                                return Mono.error(new AccountVersionConflictException("Account " + accountId
+                                        + " kept changing during the status update; retry"));
+                            }
+                            return updateAccountStatus(accountId, newStatus, expectedVersion, attempt + 1);
+                        })));
+    }
+
+    private Mono<AccountResponse> onStatusUpdated(Account updatedAccount) {
+        log.debug("Account status updated: accountId={}, newStatus={}, version={}",
+                updatedAccount.getAccountId(), updatedAccount.getStatus(), updatedAccount.getVersion());
+        AccountEvent event = AccountMapper.toEvent(updatedAccount,
+                AccountMapper.eventTypeFor(updatedAccount.getStatus()));
+        return eventPublisher.publish(event).thenReturn(AccountMapper.toResponse(updatedAccount));
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    private static AccountCursor decode(String cursor) {
+        return cursor != null ? AccountCursor.decode(cursor) : null;
+    }
+
+    private static BulkAccountResult bulkResult(int index, CreateAccountRequest row, BulkAccountResult.Status status,
+                                                String accountId, String error) {
+        return BulkAccountResult.builder()
+                .index(index)
+                .status(status)
+                .email(row != null ? row.getEmail() : null)
+                .accountId(accountId)
+                .error(error)
+                .build();
+    }
+
+    // R2DBC drivers report the violated index only in the message
+    private static boolean isEmailConflict(Throwable e) {
+        if (!(e instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
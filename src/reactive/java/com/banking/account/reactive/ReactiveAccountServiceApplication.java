@@ -0,0 +1,58 @@
+package com.banking.account.reactive;
+
+import com.banking.account.exception.GlobalExceptionHandler;
+import com.banking.account.kafka.serialization.AccountEventSerializers;
+import com.banking.account.kafka.serialization.BinaryAccountEventSerializer;
+import com.banking.account.kafka.serialization.JsonAccountEventSerializer;
+import com.banking.account.service.AccountIdGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking variant of the account API: the endpoints of AccountController on WebFlux
+ * (Netty), with accounts read and written through R2DBC and events sent with reactor-kafka.
+ * Requests hold no thread while they wait on the database, Kafka or a slow client.
+ *
+ * Only this package is scanned; of the servlet application it imports the ID generator,
+ * the event serializers and the exception mapping, and it shares DTOs, validation and
+ * mapping through AccountMapper and AccountRules. The schema is still owned by the
+ * Liquibase changelog, which the servlet application applies. Runs with the reactive
+ * profile on top of the environment's profiles (see application-reactive.yml).
+ *
+ * The servlet application's scan covers this package too; the condition keeps it from
+ * registering this class and with it these auto-configuration excludes.
+ */
+@SpringBootApplication(
+        scanBasePackages = "com.banking.account.reactive",
+        excludeName = {
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+                "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+                "org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration"
+        })
+@Import({
+        AccountIdGenerator.class,
+        AccountEventSerializers.class,
+        JsonAccountEventSerializer.class,
+        BinaryAccountEventSerializer.class,
+        GlobalExceptionHandler.class
+})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountServiceApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveAccountServiceApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
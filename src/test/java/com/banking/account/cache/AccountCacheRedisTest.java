@@ -0,0 +1,182 @@
+package com.banking.account.cache;
+
+import com.banking.account.dto.AccountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs several {@link AccountCache} instances, standing in for service instances, against one
+ * embedded Redis and checks that no instance reads the old status after a status change.
+ */
+class AccountCacheRedisTest {
+
+    private static final String CHANNEL = "account-cache-invalidation-test";
+    private static final String ACCOUNT_ID = "ACC1";
+
+    private static RedisServer redisServer;
+    private static JedisConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    // Stands in for the accounts table
+    private final AtomicReference<AccountResponse> database = new AtomicReference<>();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new JedisConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        database.set(account("ACTIVE", 0L));
+    }
+
+    @Test
+    void everyInstanceReadsTheNewStatusAfterAStatusChange() throws Exception {
+        AccountCache writer = newCache();
+        AccountCache reader = newCache();
+        RedisMessageListenerContainer readerListener = listen(reader);
+        try {
+            assertThat(writer.getAccount(ACCOUNT_ID, database::get).getStatus()).isEqualTo("ACTIVE");
+            assertThat(reader.getAccount(ACCOUNT_ID, () -> {
+                throw new AssertionError("expected a Redis hit");
+            }).getStatus()).isEqualTo("ACTIVE");
+
+            database.set(account("SUSPENDED", 1L));
+            writer.evictAfterCommit(ACCOUNT_ID, "CUST1", "jane@example.com");
+
+            assertThat(writer.getAccount(ACCOUNT_ID, database::get).getStatus()).isEqualTo("SUSPENDED");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!"SUSPENDED".equals(reader.getAccount(ACCOUNT_ID, database::get).getStatus())) {
+                assertThat(System.nanoTime()).as("invalidation reached the other instance").isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            assertThat(newCache().getAccount(ACCOUNT_ID, database::get).getStatus()).isEqualTo("SUSPENDED");
+        } finally {
+            readerListener.stop();
+        }
+    }
+
+    @Test
+    void loadThatRacedACommitOnAnotherInstanceIsNotWrittenToRedis() throws Exception {
+        AccountCache writer = newCache();
+        // No invalidation listener: only the Redis fence can stop this instance's stale write
+        AccountCache racingReader = newCache();
+
+        CountDownLatch loadedOldRow = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        CompletableFuture<AccountResponse> racingLoad = CompletableFuture.supplyAsync(() ->
+                racingReader.getAccount(ACCOUNT_ID, () -> {
+                    AccountResponse beforeCommit = database.get();
+                    loadedOldRow.countDown();
+                    await(committed);
+                    return beforeCommit;
+                }));
+
+        assertThat(loadedOldRow.await(5, TimeUnit.SECONDS)).isTrue();
+        database.set(account("SUSPENDED", 1L));
+        writer.evictAfterCommit(ACCOUNT_ID, "CUST1", "jane@example.com");
+        committed.countDown();
+
+        assertThat(racingLoad.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo("ACTIVE");
+        assertThat(redisTemplate.opsForValue().get("test:account:" + ACCOUNT_ID)).isNull();
+        assertThat(newCache().getAccount(ACCOUNT_ID, database::get).getStatus()).isEqualTo("SUSPENDED");
+    }
+
+    @Test
+    void multiGetDoesNotWriteRowsLoadedBeforeACommitToRedis() {
+        AccountCache writer = newCache();
+        AccountCache racingReader = newCache();
+
+        racingReader.getAccounts(List.of(ACCOUNT_ID), ids -> {
+            AccountResponse beforeCommit = database.get();
+            database.set(account("SUSPENDED", 1L));
+            writer.evictAfterCommit(ACCOUNT_ID, "CUST1", "jane@example.com");
+            return Map.of(ACCOUNT_ID, beforeCommit);
+        });
+
+        assertThat(redisTemplate.opsForValue().get("test:account:" + ACCOUNT_ID)).isNull();
+        assertThat(newCache().getAccounts(List.of(ACCOUNT_ID),
+                ids -> Map.of(ACCOUNT_ID, database.get())).get(ACCOUNT_ID).getStatus())
+                .isEqualTo("SUSPENDED");
+    }
+
+    private AccountCache newCache() {
+        return new AccountCache(redisTemplate, objectMapper, new SimpleMeterRegistry(),
+                true, 1000, 60, false, true, 300, "test:", CHANNEL,
+                true, 100, 2000, 0, true, 1 << 20);
+    }
+
+    private RedisMessageListenerContainer listen(AccountCache cache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new AccountCacheInvalidationListener(cache), new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    private static AccountResponse account(String status, long version) {
+        return AccountResponse.builder()
+                .accountId(ACCOUNT_ID)
+                .customerId("CUST1")
+                .accountType("SAVINGS")
+                .currency("USD")
+                .status(status)
+                .customerName("Jane Doe")
+                .email("jane@example.com")
+                .version(version)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new AssertionError("timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
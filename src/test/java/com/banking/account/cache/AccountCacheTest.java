@@ -0,0 +1,70 @@
+package com.banking.account.cache;
+
+import com.banking.account.dto.AccountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AccountCache} with Redis off: the local tiers only run when explicitly marked as a
+ * single instance, since no other instance would hear of an eviction.
+ */
+class AccountCacheTest {
+
+    private static final String ACCOUNT_ID = "ACC1";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void withoutRedisEveryReadGoesToTheLoader() {
+        AccountCache cache = newCache(false);
+
+        assertThat(cache.getAccount(ACCOUNT_ID, this::load).getStatus()).isEqualTo("ACTIVE");
+        assertThat(cache.getAccount(ACCOUNT_ID, this::load).getStatus()).isEqualTo("ACTIVE");
+        cache.getAccounts(List.of(ACCOUNT_ID), ids -> Map.of(ACCOUNT_ID, load()));
+        cache.getAccountJson(ACCOUNT_ID, null, this::load);
+        cache.getAccountJson(ACCOUNT_ID, null, this::load);
+
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void singleInstanceKeepsTheLocalTierWithoutRedis() {
+        AccountCache cache = newCache(true);
+
+        cache.getAccount(ACCOUNT_ID, this::load);
+        cache.getAccount(ACCOUNT_ID, this::load);
+        cache.getAccounts(List.of(ACCOUNT_ID), ids -> Map.of(ACCOUNT_ID, load()));
+        assertThat(loads).hasValue(1);
+
+        cache.evictAfterCommit(ACCOUNT_ID, "CUST1", "jane@example.com");
+        cache.getAccount(ACCOUNT_ID, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    private AccountResponse load() {
+        loads.incrementAndGet();
+        return AccountResponse.builder()
+                .accountId(ACCOUNT_ID)
+                .customerId("CUST1")
+                .accountType("SAVINGS")
+                .currency("USD")
+                .status("ACTIVE")
+                .customerName("Jane Doe")
+                .email("jane@example.com")
+                .version(0L)
+                .build();
+    }
+
+    private static AccountCache newCache(boolean singleInstance) {
+        return new AccountCache(null, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+                true, 1000, 60, singleInstance, false, 300, "test:", "unused",
+                true, 100, 2000, 0, true, 1 << 20);
+    }
+}
@@ -0,0 +1,72 @@
+package com.banking.account.config;
+
+import com.banking.account.datasource.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadConfigTest {
+
+    @Test
+    void limitsEveryPoolToItsOwnSizeUnlessConfigured() {
+        BeanPostProcessor postProcessor = VirtualThreadConfig.concurrencyLimitedDataSourcePostProcessor(
+                new MockEnvironment().withProperty("account.datasource.concurrency-limit.max-concurrent", "4"));
+
+        Object primary = postProcessor.postProcessAfterInitialization(pool(10), "primaryDataSource");
+        Object replica = postProcessor.postProcessAfterInitialization(pool(20), "replicaDataSource");
+        Object routing = postProcessor.postProcessAfterInitialization(new Object(), "dataSource");
+
+        assertThat(primary).isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class,
+                limiter -> assertThat(limiter.getMaxConcurrent()).isEqualTo(4));
+        assertThat(replica).isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class,
+                limiter -> assertThat(limiter.getMaxConcurrent()).isEqualTo(20));
+        assertThat(routing).isNotInstanceOf(ConcurrencyLimitedDataSource.class);
+    }
+
+    @Test
+    void poolWithoutAConfiguredSizeGetsHikarisDefault() {
+        BeanPostProcessor postProcessor = VirtualThreadConfig.concurrencyLimitedDataSourcePostProcessor(
+                new MockEnvironment());
+
+        Object dataSource = postProcessor.postProcessAfterInitialization(new HikariDataSource(), "dataSource");
+
+        assertThat(dataSource).isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class,
+                limiter -> assertThat(limiter.getMaxConcurrent()).isEqualTo(10));
+    }
+
+    @Test
+    void callerBeyondTheLimitTimesOutUntilAConnectionIsClosed() throws Exception {
+        HikariDataSource pool = pool(5);
+        pool.setJdbcUrl("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        ConcurrencyLimitedDataSource limiter = new ConcurrencyLimitedDataSource(pool, 2, 50);
+        try {
+            Connection first = limiter.getConnection();
+            Connection second = limiter.getConnection();
+            assertThat(limiter.getActive()).isEqualTo(2);
+            assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+            first.close();
+            first.close();
+            Connection third = limiter.getConnection();
+            assertThat(limiter.getActive()).isEqualTo(2);
+            third.close();
+            second.close();
+            assertThat(limiter.getActive()).isZero();
+        } finally {
+            pool.close();
+        }
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+}
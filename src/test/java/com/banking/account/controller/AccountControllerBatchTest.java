@@ -0,0 +1,76 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.idempotency.IdempotencyStore;
+import com.banking.account.kafka.OutboxBackpressure;
+import com.banking.account.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AccountControllerBatchTest {
+
+    private final AccountService accountService = mock(AccountService.class);
+    private AccountController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AccountController(accountService, new ObjectMapper(), mock(OutboxBackpressure.class),
+                mock(IdempotencyStore.class));
+        ReflectionTestUtils.setField(controller, "bulkMaxRows", 2);
+        when(accountService.createAccounts(anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void parsesRowsUpToTheLimit() throws Exception {
+        controller.createAccounts(request("[{\"email\":\"a@example.com\"},{\"email\":\"b@example.com\"}]"));
+
+        ArgumentCaptor<List<CreateAccountRequest>> rows = ArgumentCaptor.forClass(List.class);
+        verify(accountService).createAccounts(rows.capture());
+        assertThat(rows.getValue()).extracting(CreateAccountRequest::getEmail)
+                .containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void rejectsABatchOverTheLimitBeforeReadingTheRest() {
+        // The trailing garbage is never reached: parsing stops at the first row over the limit
+        String body = "[{\"email\":\"a@example.com\"},{\"email\":\"b@example.com\"},{\"email\":\"c@example.com\"},"
+                + "not json";
+
+        assertThatThrownBy(() -> controller.createAccounts(request(body)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the limit of 2 rows");
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void rejectsABodyThatIsNotAJsonArray() {
+        assertThatThrownBy(() -> controller.createAccounts(request("{\"email\":\"a@example.com\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> controller.createAccounts(request("[{\"email\":\"a@example.com\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(accountService);
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts/batch");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,159 @@
+package com.banking.account.datasource;
+
+import com.banking.account.config.ReadReplicaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing through the real wiring (JPA transaction manager, lazy connection proxy, routing
+ * DataSource), with two H2 databases standing in for the primary and the replica. Each read
+ * reports the database it ran on.
+ */
+@DataJpaTest(properties = {
+        "account.datasource.replica.enabled=true",
+        "account.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "account.datasource.replica.username=sa",
+        "account.datasource.replica.password=",
+        "account.datasource.replica.max-lag-ms=5000",
+        "account.datasource.replica.lag-query=SELECT ms FROM replica_lag"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadReplicaConfig.class, ReplicaRoutingTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "TESTDB";
+    private static final String REPLICA = "REPLICA";
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (ms bigint)");
+        replica.update("DELETE FROM replica_lag");
+        setLag(0);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndEverythingElseToThePrimary() {
+        assertThat(database(true)).isEqualTo(REPLICA);
+        assertThat(database(false)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLagsOrCannotBeReached() {
+        double lagging = reads("primary", "replica_lagging");
+        setLag(10_000);
+        assertThat(database(true)).isEqualTo(PRIMARY);
+
+        setLag(100);
+        assertThat(database(true)).isEqualTo(REPLICA);
+
+        replica.execute("DROP TABLE replica_lag");
+        lagMonitor.poll();
+        assertThat(database(true)).isEqualTo(PRIMARY);
+        assertThat(reads("primary", "replica_lagging") - lagging).isEqualTo(2);
+    }
+
+    @Test
+    void tokenNewerThanTheReplicaKeepsTheRequestOnThePrimary() throws Exception {
+        double readYourWrites = reads("primary", "read_your_writes");
+        long replayedUpTo = System.currentTimeMillis();
+        setLag(0);
+
+        assertThat(databaseFor(Long.toString(replayedUpTo + 60_000))).isEqualTo(PRIMARY);
+        assertThat(databaseFor(Long.toString(replayedUpTo - 1_000))).isEqualTo(REPLICA);
+        assertThat(databaseFor("not-a-token")).isEqualTo(REPLICA);
+        assertThat(reads("primary", "read_your_writes") - readYourWrites).isEqualTo(1);
+        assertThat(ConsistencyToken.requested()).isFalse();
+    }
+
+    @Test
+    void tokenIssuedForAWriteIsHonouredOnTheNextRead() throws Exception {
+        // The write commits after the replica's last reported position
+        Thread.sleep(5);
+        String token = ConsistencyToken.issue();
+        assertThat(databaseFor(token)).isEqualTo(PRIMARY);
+
+        // Once the replica reports it has replayed past the write, the same token reads from it
+        Thread.sleep(5);
+        setLag(0);
+        assertThat(databaseFor(token)).isEqualTo(REPLICA);
+    }
+
+    private String databaseFor(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/ACC1");
+        request.addHeader(ConsistencyToken.HEADER, token);
+        AtomicReference<String> database = new AtomicReference<>();
+        new ConsistencyTokenFilter().doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> database.set(database(true)));
+        return database.get();
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult());
+    }
+
+    private void setLag(long ms) {
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (ms) VALUES (?)", ms);
+        lagMonitor.poll();
+    }
+
+    private double reads(String target, String reason) {
+        return meterRegistry.get("account.datasource.reads").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+}
@@ -0,0 +1,214 @@
+package com.banking.account.idempotency;
+
+import com.banking.account.exception.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private static final int THREADS = 8;
+
+    record Created(String accountId) {
+    }
+
+    private static RedisServer redisServer;
+    private static JedisConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new JedisConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheRequestOnce() throws Exception {
+        IdempotencyStore store = store(null, false);
+
+        List<ResponseEntity<Created>> responses = concurrently(List.of(store), () -> create("ACC1", 100));
+
+        assertThat(executions).hasValue(1);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).isEqualTo(new Created("ACC1"));
+        });
+        assertThat(responses).filteredOn(response -> response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER))
+                .hasSize(THREADS - 1);
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        IdempotencyStore store = store(null, false);
+        store.execute("create", "key-1", "body-a", Created.class, () -> create("ACC1", 0));
+
+        assertThatThrownBy(() -> store.execute("create", "key-1", "body-b", Created.class, () -> create("ACC2", 0)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithTheSameKey() {
+        IdempotencyStore store = store(null, false);
+
+        assertThatThrownBy(() -> store.execute("create", "key-1", "body", Created.class, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        ResponseEntity<?> error = store.execute("create", "key-1", "body", Created.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        });
+        ResponseEntity<Created> retried = store.execute("create", "key-1", "body", Created.class,
+                () -> create("ACC1", 0));
+
+        assertThat(error.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retried.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    void duplicatesOnOtherInstancesWaitForTheFirstAndReplayIt() throws Exception {
+        List<IdempotencyStore> instances = List.of(store(redisTemplate, true), store(redisTemplate, true),
+                store(redisTemplate, true));
+
+        List<ResponseEntity<Created>> responses = concurrently(instances, () -> create("ACC1", 200));
+
+        assertThat(executions).hasValue(1);
+        assertThat(responses).extracting(ResponseEntity::getBody).containsOnly(new Created("ACC1"));
+        // A later retry on an instance that never saw the key is answered from Redis
+        assertThat(store(redisTemplate, true).execute("create", "key-1", "body", Created.class,
+                () -> create("ACC2", 0)).getBody()).isEqualTo(new Created("ACC1"));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void requestsAreServedWhileRedisIsDown() throws Exception {
+        StringRedisTemplate unreachable = mock(StringRedisTemplate.class);
+        when(unreachable.opsForValue()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        IdempotencyStore store = store(unreachable, true);
+
+        List<ResponseEntity<Created>> responses = concurrently(List.of(store), () -> create("ACC1", 100));
+
+        // Duplicates are still coalesced on this instance, and nobody gets 409
+        assertThat(executions).hasValue(1);
+        assertThat(responses).extracting(ResponseEntity::getStatusCode).containsOnly(HttpStatus.CREATED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requestRunsWhenRedisFailsWhileWaitingForAnotherInstance() {
+        StringRedisTemplate failing = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(failing.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(values.get(anyString()))
+                .thenReturn(null)
+                .thenThrow(new RedisConnectionFailureException("Connection reset"));
+        IdempotencyStore store = store(failing, true);
+
+        ResponseEntity<Created> response = store.execute("create", "key-1", "body", Created.class,
+                () -> create("ACC1", 0));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions).hasValue(1);
+    }
+
+    private ResponseEntity<Created> create(String accountId, long millis) {
+        executions.incrementAndGet();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(new Created(accountId));
+    }
+
+    // THREADS callers spread over the given instances, all sending the same key and body
+    private static List<ResponseEntity<Created>> concurrently(List<IdempotencyStore> instances,
+                                                             Supplier<ResponseEntity<Created>> action)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<Created>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                IdempotencyStore store = instances.get(i % instances.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute("create", "key-1", "body", Created.class, action);
+                }));
+            }
+            start.countDown();
+            List<ResponseEntity<Created>> responses = new ArrayList<>();
+            for (Future<ResponseEntity<Created>> future : futures) {
+                responses.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private IdempotencyStore store(StringRedisTemplate redis, boolean redisEnabled) {
+        return new IdempotencyStore(redis, objectMapper, new SimpleMeterRegistry(), true, 1000, 60,
+                redisEnabled, 5000, 5000, 255, "account-service-test:");
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.account.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stalls the worker of a {@link CountingAsyncAppender} on its first event so the queue fills
+ * up, then checks which of the following events are counted as discarded and as overflow.
+ */
+class CountingAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 4;
+    private static final int DISCARDING_THRESHOLD = 2;
+
+    // The running context, which has the MDC adapter events need when they are queued
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = context.getLogger(CountingAsyncAppenderTest.class);
+    private final CountDownLatch workerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+    private final CountingAsyncAppender appender = new CountingAsyncAppender();
+
+    @BeforeEach
+    void startAppender() {
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                workerBlocked.countDown();
+                try {
+                    releaseWorker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalled.setContext(context);
+        stalled.start();
+
+        appender.setContext(context);
+        appender.setQueueSize(QUEUE_SIZE);
+        appender.setDiscardingThreshold(DISCARDING_THRESHOLD);
+        appender.setNeverBlock(true);
+        appender.setMaxFlushTime(1000);
+        appender.addAppender(stalled);
+        appender.start();
+    }
+
+    @AfterEach
+    void stopAppender() {
+        releaseWorker.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void countsEventsDroppedAboveTheThresholdAndWhenFull() throws InterruptedException {
+        appender.doAppend(event(Level.WARN));
+        assertThat(workerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        long discarded = CountingAsyncAppender.discardedCount();
+        long overflow = CountingAsyncAppender.overflowCount();
+
+        // One slot left, below the discarding threshold
+        for (int i = 0; i < QUEUE_SIZE - 1; i++) {
+            appender.doAppend(event(Level.WARN));
+        }
+        assertThat(CountingAsyncAppender.discardedCount()).isEqualTo(discarded);
+        assertThat(CountingAsyncAppender.overflowCount()).isEqualTo(overflow);
+
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.DEBUG));
+        assertThat(CountingAsyncAppender.discardedCount()).isEqualTo(discarded + 2);
+        assertThat(appender.getRemainingCapacity()).isEqualTo(1);
+
+        // WARN is not discardable: it takes the last slot, and the next ones find the queue full
+        appender.doAppend(event(Level.WARN));
+        appender.doAppend(event(Level.WARN));
+        appender.doAppend(event(Level.ERROR));
+        assertThat(appender.getRemainingCapacity()).isZero();
+        assertThat(CountingAsyncAppender.overflowCount()).isEqualTo(overflow + 2);
+        assertThat(CountingAsyncAppender.discardedCount()).isEqualTo(discarded + 2);
+    }
+
+    private ILoggingEvent event(Level level) {
+        return new LoggingEvent(CountingAsyncAppenderTest.class.getName(), logger, level, "event", null, null);
+    }
+}
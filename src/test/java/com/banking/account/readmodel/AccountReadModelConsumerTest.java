@@ -0,0 +1,287 @@
+package com.banking.account.readmodel;
+
+import com.banking.account.datasource.ConsistencyToken;
+import com.banking.account.datasource.ConsistencyTokenFilter;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.kafka.serialization.AccountEventSerializer;
+import com.banking.account.kafka.serialization.AccountEventSerializers;
+import com.banking.account.kafka.serialization.BinaryAccountEventSerializer;
+import com.banking.account.kafka.serialization.JsonAccountEventSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read model fed from an embedded Kafka broker: rebuilding from the topic, restoring a
+ * snapshot, and the staleness gate that decides whether reads may be answered from it.
+ */
+class AccountReadModelConsumerTest {
+
+    private static EmbeddedKafkaBroker broker;
+    private static KafkaProducer<String, byte[]> producer;
+
+    private final AccountEventSerializers serializers = new AccountEventSerializers(
+            List.of(new BinaryAccountEventSerializer(), new JsonAccountEventSerializer(new ObjectMapper().findAndRegisterModules())),
+            new SimpleMeterRegistry(), "binary");
+    private final List<AccountReadModelConsumer> consumers = new ArrayList<>();
+    private String topic;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 2);
+        broker.afterPropertiesSet();
+        producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 0));
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        producer.close();
+        broker.destroy();
+    }
+
+    @BeforeEach
+    void createTopic() {
+        topic = "account-events-" + UUID.randomUUID();
+        broker.addTopics(new NewTopic(topic, 2, (short) 1));
+    }
+
+    @AfterEach
+    void stopConsumers() throws InterruptedException {
+        for (AccountReadModelConsumer consumer : consumers) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void rebuildsTheModelFromTheTopic() throws Exception {
+        send(event("ACC1", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC2", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC3", "CUST2", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC1", "CUST1", "SUSPENDED", AccountEvent.AccountEventType.ACCOUNT_SUSPENDED));
+        AccountReadModel model = model(new SimpleMeterRegistry(), 60_000);
+
+        start(model, null);
+        await(() -> model.size() == 3 && model.isServable());
+
+        assertThat(model.getAccount("ACC1").getStatus()).isEqualTo("SUSPENDED");
+        assertThat(model.getAccountsByCustomer("CUST1")).extracting("accountId")
+                .containsExactlyInAnyOrder("ACC1", "ACC2");
+        assertThat(model.getAccountsByEmail("acc3@example.com")).extracting("accountId").containsExactly("ACC3");
+    }
+
+    @Test
+    void restartReplaysOnlyTheEventsAfterTheSnapshot(@TempDir Path snapshots) throws Exception {
+        send(event("ACC1", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC2", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC3", "CUST2", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        AccountReadModel first = model(new SimpleMeterRegistry(), 60_000);
+        AccountReadModelConsumer firstConsumer = start(first, snapshots);
+        await(() -> first.size() == 3 && first.isServable());
+        // Stopping writes the final snapshot
+        firstConsumer.stop();
+        assertThat(snapshots.resolve("accounts.snapshot")).exists();
+
+        send(event("ACC4", "CUST2", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC2", "CUST1", "CLOSED", AccountEvent.AccountEventType.ACCOUNT_CLOSED));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AccountReadModel restarted = model(registry, 60_000);
+        start(restarted, snapshots);
+        await(() -> restarted.size() == 4 && restarted.isServable());
+
+        assertThat(applied(registry)).isEqualTo(2);
+        assertThat(restarted.getAccount("ACC1").getStatus()).isEqualTo("ACTIVE");
+        assertThat(restarted.getAccount("ACC2").getStatus()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    void unreadableSnapshotIsIgnoredAndTheModelRebuiltFromTheTopic(@TempDir Path snapshots) throws Exception {
+        send(event("ACC1", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        send(event("ACC2", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        Files.write(snapshots.resolve("accounts.snapshot"), "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AccountReadModel model = model(registry, 60_000);
+
+        start(model, snapshots);
+        await(() -> model.size() == 2 && model.isServable());
+
+        assertThat(applied(registry)).isEqualTo(2);
+    }
+
+    @Test
+    void everyEventAcknowledgedBeforeTheConsistencyTimeIsVisible() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AccountReadModel model = model(registry, 60_000);
+        start(model, null);
+        await(model::isServable);
+
+        // Other accounts keep changing, so the lag is rarely zero at a check
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicReference<Exception> noiseFailure = new AtomicReference<>();
+        Thread noise = new Thread(() -> {
+            try {
+                for (int i = 0; producing.get(); i++) {
+                    send(event("NOISE" + (i % 50), "CUSTN", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_UPDATED));
+                }
+            } catch (Exception e) {
+                noiseFailure.set(e);
+            }
+        });
+        noise.start();
+        try {
+            for (int i = 0; i < 5; i++) {
+                String accountId = "ACC" + i;
+                send(event(accountId, "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+                long acknowledgedAt = System.currentTimeMillis();
+
+                await(() -> consistentAsOf(registry) >= acknowledgedAt);
+                assertThat(model.getAccount(accountId)).as("%s once consistent past its ack", accountId).isNotNull();
+            }
+        } finally {
+            producing.set(false);
+            noise.join();
+        }
+        assertThat(noiseFailure.get()).isNull();
+    }
+
+    @Test
+    void modelIsNotServedBeforeItCatchesUpOrOnceItFallsBehind() throws Exception {
+        send(event("ACC1", "CUST1", "ACTIVE", AccountEvent.AccountEventType.ACCOUNT_CREATED));
+        AccountReadModel model = model(new SimpleMeterRegistry(), 500);
+        assertThat(model.isServable()).isFalse();
+
+        AccountReadModelConsumer consumer = start(model, null);
+        await(model::isServable);
+
+        consumer.stop();
+        Thread.sleep(700);
+        assertThat(model.isServable()).isFalse();
+    }
+
+    @Test
+    void requestWithAConsistencyTokenIsNotServedFromTheModel() throws Exception {
+        AccountReadModel model = model(new SimpleMeterRegistry(), 60_000);
+        model.recordLag(0, System.currentTimeMillis());
+        assertThat(model.isServable()).isTrue();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/ACC1");
+        request.addHeader(ConsistencyToken.HEADER, ConsistencyToken.issue());
+        AtomicBoolean servable = new AtomicBoolean(true);
+        new ConsistencyTokenFilter().doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> servable.set(model.isServable()));
+
+        assertThat(servable).isFalse();
+    }
+
+    @Test
+    void consistencyTimeNeverMovesBack() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AccountReadModel model = model(registry, 1_000);
+        long now = System.currentTimeMillis();
+
+        model.recordLag(0, now);
+        // A check that has not passed the previous one's end offsets, and an older one
+        model.recordLag(10, 0);
+        model.recordLag(0, now - 5_000);
+
+        assertThat(consistentAsOf(registry)).isGreaterThanOrEqualTo(now - 1);
+        assertThat(model.isServable()).isTrue();
+
+        AccountReadModel behind = model(new SimpleMeterRegistry(), 1_000);
+        behind.recordLag(10, now - 5_000);
+        assertThat(behind.isServable()).isFalse();
+    }
+
+    private AccountReadModel model(MeterRegistry registry, long maxStalenessMs) {
+        return new AccountReadModel(registry, maxStalenessMs, AccountStore.create("heap", 1024));
+    }
+
+    private AccountReadModelConsumer start(AccountReadModel model, Path snapshots) {
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                Map.of(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()));
+        AccountReadModelConsumer consumer = new AccountReadModelConsumer(model, serializers, consumerFactory,
+                new SimpleMeterRegistry(), topic, snapshots != null ? snapshots.toString() : "", 60_000, 50, 50, 500);
+        consumers.add(consumer);
+        consumer.start();
+        return consumer;
+    }
+
+    private void send(AccountEvent event) throws Exception {
+        AccountEventSerializer serializer = serializers.active();
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, event.getAccountId(),
+                serializers.serialize(event));
+        record.headers().add(AccountEventSerializer.CONTENT_TYPE_HEADER,
+                serializer.contentType().getBytes(StandardCharsets.UTF_8));
+        producer.send(record).get();
+    }
+
+    private static AccountEvent event(String accountId, String customerId, String status,
+                                      AccountEvent.AccountEventType type) {
+        return AccountEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .accountId(accountId)
+                .customerId(customerId)
+                .accountType("SAVINGS")
+                .currency("EUR")
+                .status(status)
+                .customerName("Customer " + accountId)
+                .email(accountId.toLowerCase() + "@example.com")
+                .createdAt(LocalDateTime.now())
+                .eventType(type)
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+    }
+
+    // Read before the clock, so the result never runs ahead of the model's actual value
+    private static long consistentAsOf(MeterRegistry registry) {
+        double staleness = registry.get("account.read-model.staleness").gauge().value();
+        return Double.isNaN(staleness) ? 0 : System.currentTimeMillis() - (long) staleness;
+    }
+
+    private static double applied(MeterRegistry registry) {
+        return registry.get("account.read-model.events.applied").functionCounter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met within 30 s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void claimsOnlyTheEarliestWrittenEventOfEachAccountEvenWhenItsIdIsHigher() {
+        // Written in this order by two instances holding different id blocks
+        insert(100, "ACC1");
+        insert(5, "ACC1");
+        insert(7, "ACC2");
+
+        List<OutboxEvent> claimable = outboxEventRepository.lockClaimable(LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(claimable).extracting(OutboxEvent::getId).containsExactly(100L, 7L);
+    }
+
+    @Test
+    void nextEventOfAnAccountBecomesClaimableOnceTheEarlierOneIsPublished() {
+        insert(100, "ACC1");
+        insert(5, "ACC1");
+        outboxEventRepository.markPublished(List.of(100L), LocalDateTime.now());
+
+        List<OutboxEvent> claimable = outboxEventRepository.lockClaimable(LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertThat(claimable).extracting(OutboxEvent::getId).containsExactly(5L);
+    }
+
+    @Test
+    void claimedEventsAreSkippedUntilTheClaimExpiresOrIsReleased() {
+        insert(1, "ACC1");
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.claim(List.of(1L), now.plusSeconds(60));
+        entityManager.clear();
+
+        assertThat(outboxEventRepository.lockClaimable(now, PageRequest.of(0, 10))).isEmpty();
+        assertThat(outboxEventRepository.lockClaimable(now.plusSeconds(61), PageRequest.of(0, 10))).hasSize(1);
+
+        outboxEventRepository.releaseClaims(List.of(1L));
+        entityManager.clear();
+        assertThat(outboxEventRepository.lockClaimable(now, PageRequest.of(0, 10))).hasSize(1);
+    }
+
+    // Explicit ids, as the relay would see rows written by instances with different id blocks
+    private void insert(long id, String aggregateId) {
+        entityManager.createNativeQuery("INSERT INTO account_outbox"
+                        + " (id, event_id, aggregate_id, event_type, content_type, payload, created_at)"
+                        + " VALUES (?, ?, ?, 'ACCOUNT_CREATED', 'application/json', ?, ?)")
+                .setParameter(1, id)
+                .setParameter(2, UUID.randomUUID().toString())
+                .setParameter(3, aggregateId)
+                .setParameter(4, "{}".getBytes())
+                .setParameter(5, LocalDateTime.now())
+                .executeUpdate();
+    }
+}
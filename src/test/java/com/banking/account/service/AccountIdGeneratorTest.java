@@ -0,0 +1,138 @@
+package com.banking.account.service;
+
+import com.banking.account.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccountIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void concurrentCallersGetUniqueIdsInIncreasingOrderPerThread() throws Exception {
+        AccountIdGenerator generator = new AccountIdGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    String[] ids = new String[IDS_PER_THREAD];
+                    start.await();
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            List<String[]> perThread = new ArrayList<>();
+            for (Future<String[]> result : results) {
+                perThread.add(result.get());
+            }
+            double idsPerSecond = THREADS * IDS_PER_THREAD / ((System.nanoTime() - begin) / 1e9);
+
+            Set<String> unique = new HashSet<>(THREADS * IDS_PER_THREAD);
+            for (String[] ids : perThread) {
+                for (int i = 0; i < ids.length; i++) {
+                    assertThat(ids[i]).hasSize(16).startsWith("ACC");
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                    unique.add(ids[i]);
+                }
+            }
+            assertThat(unique).hasSize(THREADS * IDS_PER_THREAD);
+            // A generous floor: the generator does several million IDs per second on one core
+            assertThat(idsPerSecond).isGreaterThan(200_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsANodeIdOutOfRange() {
+        assertThatThrownBy(() -> new AccountIdGenerator(1024)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new AccountIdGenerator(-1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failsToStartWithoutANodeIdOrALease() {
+        ObjectProvider<AccountIdNodeLease> noLease = mock(ObjectProvider.class);
+
+        assertThatThrownBy(() -> new AccountIdGenerator(-1, noLease))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("account.id.node-id is not set");
+    }
+
+    @Test
+    void leasedNodeContinuesAfterThePreviousHolder() {
+        long previousHolderUntil = System.currentTimeMillis() + 60_000;
+        AccountIdNodeLease lease = lease(3, previousHolderUntil, previousHolderUntil + 60_000);
+
+        String leased = generator(lease).nextId();
+
+        // Same node, stamped with the current time: sorts before anything the leased generator issues
+        assertThat(leased).isGreaterThan(new AccountIdGenerator(3).nextId());
+    }
+
+    @Test
+    void stopsIssuingOnceTheLeaseIsNoLongerRenewed() {
+        long now = System.currentTimeMillis();
+        AccountIdNodeLease lease = lease(3, 0, now + 60_000);
+        AccountIdGenerator generator = generator(lease);
+        generator.nextId();
+
+        when(lease.validUntilMillis()).thenReturn(now - 1);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void releasesTheLeaseFencedPastTheLastIssuedId() {
+        long now = System.currentTimeMillis();
+        AccountIdNodeLease lease = lease(3, 0, now + 60_000);
+        AccountIdGenerator generator = generator(lease);
+        generator.nextId();
+
+        generator.releaseNodeLease();
+
+        var order = inOrder(lease);
+        order.verify(lease).stopIssuing();
+        order.verify(lease).release(longThat(until -> until > now));
+    }
+
+    private static AccountIdNodeLease lease(int nodeId, long notBefore, long validUntil) {
+        AccountIdNodeLease lease = mock(AccountIdNodeLease.class);
+        when(lease.acquire()).thenReturn(nodeId);
+        when(lease.notBeforeMillis()).thenReturn(notBefore);
+        when(lease.validUntilMillis()).thenReturn(validUntil);
+        return lease;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AccountIdGenerator generator(AccountIdNodeLease lease) {
+        ObjectProvider<AccountIdNodeLease> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(lease);
+        return new AccountIdGenerator(-1, provider);
+    }
+}
@@ -0,0 +1,90 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.AccountIdNode;
+import com.banking.account.repository.AccountIdNodeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AccountIdNodeLeaseTest {
+
+    @Autowired
+    private AccountIdNodeRepository nodeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        nodeRepository.save(new AccountIdNode(0, null, 0));
+        nodeRepository.save(new AccountIdNode(1, null, 0));
+        entityManager.flush();
+    }
+
+    @Test
+    void instancesLeaseDistinctNodesAndFailToStartWhenNoneIsFree() {
+        assertThat(lease(60_000).acquire()).isEqualTo(0);
+        entityManager.clear();
+        assertThat(lease(60_000).acquire()).isEqualTo(1);
+        entityManager.clear();
+
+        assertThatThrownBy(() -> lease(60_000).acquire())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no node ID is free");
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndTheStalledHolderLosesIt() throws Exception {
+        AccountIdNodeLease stalled = lease(100);
+        stalled.acquire();
+        lease(60_000).acquire();
+        entityManager.clear();
+        long stalledUntil = stalled.validUntilMillis();
+        Thread.sleep(150);
+
+        AccountIdNodeLease next = lease(60_000);
+        assertThat(next.acquire()).isEqualTo(0);
+        assertThat(next.notBeforeMillis()).isEqualTo(stalledUntil);
+        entityManager.clear();
+
+        stalled.renew();
+        assertThat(stalled.validUntilMillis()).isEqualTo(stalledUntil);
+        next.renew();
+        assertThat(next.validUntilMillis()).isGreaterThan(stalledUntil);
+    }
+
+    @Test
+    void releasedNodeIsFreeAtOnceAndFencedAtTheLastIssuedId() {
+        AccountIdNodeLease first = lease(60_000);
+        first.acquire();
+        lease(60_000).acquire();
+        long issuedUntil = System.currentTimeMillis() + 1;
+        first.stopIssuing();
+        first.release(issuedUntil);
+        entityManager.clear();
+
+        AccountIdNodeLease next = lease(60_000);
+        assertThat(next.acquire()).isEqualTo(0);
+        assertThat(next.notBeforeMillis()).isEqualTo(issuedUntil);
+    }
+
+    @Test
+    void renewIntervalMustBeShorterThanTheLease() {
+        assertThatThrownBy(() -> new AccountIdNodeLease(nodeRepository, 10_000, 10_000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private AccountIdNodeLease lease(long ttlMs) {
+        return new AccountIdNodeLease(nodeRepository, ttlMs, ttlMs / 2);
+    }
+}
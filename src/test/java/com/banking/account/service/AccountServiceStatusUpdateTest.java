@@ -0,0 +1,100 @@
+package com.banking.account.service;
+
+import com.banking.account.cache.AccountCache;
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountStatus;
+import com.banking.account.domain.AccountType;
+import com.banking.account.dto.UpdateAccountStatusRequest;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.banking.account.kafka.AccountEventOutbox;
+import com.banking.account.logging.HotPathLogSampler;
+import com.banking.account.repository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountServiceStatusUpdateTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private AccountService accountService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        accountService = new AccountService(accountRepository, mock(AccountEventOutbox.class), mock(AccountCache.class),
+                new AccountIdGenerator(0), mock(EmailMembershipFilter.class), new TransactionTemplate(transactionManager),
+                mock(Validator.class), new ObjectMapper(), mock(EntityManager.class), mock(HotPathLogSampler.class),
+                mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(accountService, "statusUpdateMaxAttempts", 3);
+    }
+
+    @Test
+    void lockFailureIsRetriedInANewTransaction() {
+        when(accountRepository.updateStatusIfAllowed(eq("ACC1"), eq(AccountStatus.SUSPENDED), anyCollection(),
+                isNull(), any(LocalDateTime.class)))
+                .thenThrow(new CannotAcquireLockException("deadlock detected"))
+                .thenReturn(Optional.of(account()));
+
+        assertThat(accountService.updateAccountStatus("ACC1", suspend()).getStatus()).isEqualTo("SUSPENDED");
+
+        // The failed attempt's transaction is rolled back, not reused
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any(TransactionStatus.class));
+        verify(transactionManager).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    void givesUpWith409AfterTheConfiguredAttempts() {
+        when(accountRepository.updateStatusIfAllowed(eq("ACC1"), eq(AccountStatus.SUSPENDED), anyCollection(),
+                isNull(), any(LocalDateTime.class)))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        assertThatThrownBy(() -> accountService.updateAccountStatus("ACC1", suspend()))
+                .isInstanceOf(AccountVersionConflictException.class);
+        verify(transactionManager, times(3)).rollback(any(TransactionStatus.class));
+    }
+
+    private static UpdateAccountStatusRequest suspend() {
+        return UpdateAccountStatusRequest.builder().status("SUSPENDED").build();
+    }
+
+    private static Account account() {
+        Account account = new Account();
+        account.setAccountId("ACC1");
+        account.setCustomerId("CUST1");
+        account.setAccountType(AccountType.SAVINGS);
+        account.setCurrency("EUR");
+        account.setCustomerName("Customer");
+        account.setEmail("a@example.com");
+        account.setStatus(AccountStatus.SUSPENDED);
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+        account.setVersion(2L);
+        return account;
+    }
+}
@@ -0,0 +1,136 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.OutboxEvent;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.UpdateAccountStatusRequest;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.exception.AccountVersionConflictException;
+import com.banking.account.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent status updates of one account through the conditional UPDATE, each attempt in
+ * a transaction of its own. Runs on H2; {@link AccountStatusUpdatePostgresTest} runs the same
+ * cases against PostgreSQL, where the update uses UPDATE ... RETURNING.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.kafka.bootstrap-servers=localhost:9092",
+        "spring.kafka.admin.auto-create=false",
+        "outbox.relay.enabled=false",
+        "account.cache.enabled=false"
+})
+@ActiveProfiles("test")
+class AccountStatusUpdateConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void concurrentUpdatesExpectingTheSameVersionLetExactlyOneThrough() throws Exception {
+        AccountResponse account = createAccount();
+
+        List<Boolean> results = concurrently(THREADS, 1, (thread, i) ->
+                update(account.getAccountId(), "SUSPENDED", account.getVersion()));
+
+        assertThat(results).containsOnlyOnce(true);
+        assertThat(accountService.getAccount(account.getAccountId()).getVersion())
+                .isEqualTo(account.getVersion() + 1);
+        assertThat(statusEvents(account.getAccountId())).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentTogglesAreNeitherLostNorAppliedTwice() throws Exception {
+        AccountResponse account = createAccount();
+
+        List<Boolean> results = concurrently(THREADS, 20, (thread, i) ->
+                update(account.getAccountId(), (thread + i) % 2 == 0 ? "SUSPENDED" : "ACTIVE", null));
+
+        long applied = results.stream().filter(Boolean::booleanValue).count();
+        assertThat(applied).isPositive();
+        assertThat(accountService.getAccount(account.getAccountId()).getVersion())
+                .isEqualTo(account.getVersion() + applied);
+        assertThat(statusEvents(account.getAccountId())).isEqualTo(applied);
+    }
+
+    // True when the update was applied; false when it was refused as a no-op or a conflict
+    private boolean update(String accountId, String status, Long expectedVersion) {
+        try {
+            accountService.updateAccountStatus(accountId, UpdateAccountStatusRequest.builder()
+                    .status(status)
+                    .expectedVersion(expectedVersion)
+                    .build());
+            return true;
+        } catch (IllegalStateException | AccountVersionConflictException e) {
+            return false;
+        }
+    }
+
+    private AccountResponse createAccount() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return accountService.createAccount(CreateAccountRequest.builder()
+                .customerId("CUST" + suffix)
+                .accountType("SAVINGS")
+                .currency("EUR")
+                .customerName("Concurrent Customer")
+                .email(suffix + "@example.com")
+                .build());
+    }
+
+    private long statusEvents(String accountId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(accountId))
+                .map(OutboxEvent::getEventType)
+                .filter(type -> type != AccountEvent.AccountEventType.ACCOUNT_CREATED)
+                .count();
+    }
+
+    private interface Call {
+        boolean run(int thread, int iteration);
+    }
+
+    private static List<Boolean> concurrently(int threads, int iterations, Call call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Boolean>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Boolean> results = new ArrayList<>();
+                    for (int i = 0; i < iterations; i++) {
+                        results.add(call.run(thread, i));
+                    }
+                    return results;
+                }));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<List<Boolean>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.account.service;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The concurrency cases against PostgreSQL with the Liquibase schema, so the native
+ * UPDATE ... RETURNING and PostgreSQL's row locking are what is exercised. Skipped where
+ * Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class AccountStatusUpdatePostgresTest extends AccountStatusUpdateConcurrencyTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/testcontainers/create-account-schema.sql");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.default_schema", () -> "account_schema");
+        registry.add("spring.liquibase.enabled", () -> "true");
+    }
+}